@@ -0,0 +1,109 @@
+package nl.codevs.dndinventory.benchmarks;
+
+import nl.codevs.dndinventory.data.Dice;
+import nl.codevs.dndinventory.data.DiceRoller;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk dice rolls, compared to rolling every die separately.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiceBenchmark {
+
+    /**
+     * The dice to roll.
+     */
+    @Param({"9d10+3", "3d6", "100d6", "1000d20"})
+    public String notation;
+
+    /**
+     * The amount of rolls.
+     */
+    @Param({"10000"})
+    public int rolls;
+
+    /**
+     * The dice.
+     */
+    private Dice dice;
+
+    /**
+     * The roller.
+     */
+    private DiceRoller roller;
+
+    /**
+     * Random numbers for rolling every die separately.
+     */
+    private SplittableRandom random;
+
+    /**
+     * The results.
+     */
+    private int[] results;
+
+    /**
+     * Parse the dice, and create the roller.
+     */
+    @Setup
+    public void setup() {
+        dice = Dice.fromString(notation);
+        roller = new DiceRoller(1);
+        random = new SplittableRandom(1);
+        results = new int[rolls];
+    }
+
+    /**
+     * Roll with the roller.
+     * @return the results
+     */
+    @Benchmark
+    public int[] roll() {
+        roller.roll(dice, results, 0, results.length);
+        return results;
+    }
+
+    /**
+     * Roll with the roller, in parallel.
+     * @return the results
+     */
+    @Benchmark
+    public int[] rollParallel() {
+        roller.rollParallel(dice, results);
+        return results;
+    }
+
+    /**
+     * Roll every die separately, as a baseline.
+     * @return the results
+     */
+    @Benchmark
+    public int[] rollEachDie() {
+        for (int i = 0; i < results.length; i++) {
+            int sum = dice.additional();
+            for (int die = 0; die < dice.amount(); die++) {
+                sum += random.nextInt(dice.sides()) + 1;
+            }
+            results[i] = sum;
+        }
+        return results;
+    }
+}
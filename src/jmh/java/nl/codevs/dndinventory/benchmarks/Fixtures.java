@@ -0,0 +1,70 @@
+package nl.codevs.dndinventory.benchmarks;
+
+import nl.codevs.dndinventory.data.Item;
+import nl.codevs.dndinventory.data.Money;
+import nl.codevs.dndinventory.inventories.Inventory;
+import nl.codevs.dndinventory.inventories.PlayerInventory;
+import nl.codevs.dndinventory.inventories.interfaces.ILevel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data shared by the benchmarks.
+ */
+final class Fixtures {
+
+    /**
+     * Create {@link SyntheticData synthetic} items that are not added to the database.
+     * @param count the amount of items
+     * @param seed the seed of the generated items
+     * @return the items
+     */
+    static List<Item> items(final int count, final long seed) {
+        SyntheticData data = new SyntheticData(seed);
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            SyntheticData.Row row = data.item(i);
+            items.add(Item.makeGetItem(row.type(), row.name(), new Money(row.value()), row.weight(), row.stats(), false));
+        }
+        return items;
+    }
+
+    /**
+     * Create inventory items for items.
+     * @param items the items
+     * @param amount the amount of each item
+     * @return an inventory item per item
+     */
+    static List<Inventory.InventoryItem> inventoryItems(final List<Item> items, final int amount) {
+        List<Inventory.InventoryItem> inventoryItems = new ArrayList<>(items.size());
+        items.forEach(item -> inventoryItems.add(new Inventory.InventoryItem(item, amount)));
+        return inventoryItems;
+    }
+
+    /**
+     * Create a player inventory that is not registered as loaded.
+     * @param name the inventory name
+     * @param items the items in the inventory
+     * @param characterClass the character class
+     * @param experience the experience
+     * @return the inventory
+     */
+    static PlayerInventory player(
+            final String name,
+            final List<Inventory.InventoryItem> items,
+            final ILevel.CharacterClass characterClass,
+            final int experience
+    ) {
+        PlayerInventory player = new PlayerInventory(
+                name, new ArrayList<>(items), new Money(100), characterClass,
+                experience, 1, 10, 10, 10, 10, 10, 10, 10, 10
+        );
+        Inventory.LOADED_INVENTORIES.remove(player);
+        return player;
+    }
+
+    private Fixtures() {
+        // Never called
+    }
+}
@@ -0,0 +1,158 @@
+package nl.codevs.dndinventory.benchmarks;
+
+import nl.codevs.dndinventory.data.Item;
+import nl.codevs.dndinventory.inventories.Inventory;
+import nl.codevs.dndinventory.inventories.PlayerInventory;
+import nl.codevs.dndinventory.inventories.interfaces.ILevel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inventory modification, rendering and serialization.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InventoryBenchmark {
+
+    /**
+     * Amount of different items in the inventory.
+     */
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    /**
+     * The items in the inventory.
+     */
+    private List<Item> items;
+
+    /**
+     * An inventory holding one of each item, not modified by the benchmarks.
+     */
+    private PlayerInventory full;
+
+    /**
+     * {@link #full} as Json.
+     */
+    private String json;
+
+    /**
+     * An empty inventory, recreated before each invocation.
+     */
+    private PlayerInventory empty;
+
+    /**
+     * A copy of {@link #full}, recreated before each invocation.
+     */
+    private PlayerInventory copy;
+
+    /**
+     * Inventory items for each item, recreated before each invocation.
+     */
+    private List<Inventory.InventoryItem> inventoryItems;
+
+    /**
+     * Create the items and the full inventory.
+     */
+    @Setup
+    public void setup() {
+        items = Fixtures.items(size, 7);
+        full = Fixtures.player("Inventory benchmark", Fixtures.inventoryItems(items, 1), ILevel.CharacterClass.FIGHTER, 0);
+        json = full.toJson(false);
+    }
+
+    /**
+     * Create fresh inventories and inventory items, as the benchmarks modify them.
+     */
+    @Setup(Level.Invocation)
+    public void setupInvocation() {
+        empty = Fixtures.player("Empty benchmark", new ArrayList<>(), ILevel.CharacterClass.FIGHTER, 0);
+        copy = Fixtures.player("Copy benchmark", Fixtures.inventoryItems(items, 1), ILevel.CharacterClass.FIGHTER, 0);
+        inventoryItems = Fixtures.inventoryItems(items, 1);
+    }
+
+    /**
+     * Add all items to an empty inventory.
+     * @return the inventory
+     */
+    @Benchmark
+    public Inventory addItems() {
+        empty.addItems(inventoryItems);
+        return empty;
+    }
+
+    /**
+     * Add all items to an inventory already holding them.
+     * @return the inventory
+     */
+    @Benchmark
+    public Inventory addItemsMerge() {
+        copy.addItems(inventoryItems);
+        return copy;
+    }
+
+    /**
+     * Remove all items from an inventory.
+     * @return the items that could not be removed
+     */
+    @Benchmark
+    public List<Inventory.InventoryItem> removeItemsBulk() {
+        return copy.removeItemsBulk(inventoryItems);
+    }
+
+    /**
+     * Render the table of an inventory that did not change since it was last rendered.
+     * @return the table
+     */
+    @Benchmark
+    public String toStringCached() {
+        return full.toString();
+    }
+
+    /**
+     * Render the table of an inventory for the first time.
+     * @return the table
+     */
+    @Benchmark
+    public String toStringFresh() {
+        return copy.toString();
+    }
+
+    /**
+     * Serialize an inventory.
+     * @return the Json
+     */
+    @Benchmark
+    public String toJson() {
+        return full.toJson(false);
+    }
+
+    /**
+     * Deserialize an inventory.
+     * The inventory is unregistered again, which is included in the measurement.
+     * @return the inventory
+     */
+    @Benchmark
+    public Inventory fromJson() {
+        Inventory inventory = Inventory.fromJson(json);
+        Inventory.LOADED_INVENTORIES.remove(inventory);
+        return inventory;
+    }
+}
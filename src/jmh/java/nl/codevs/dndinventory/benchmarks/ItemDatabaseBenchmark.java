@@ -0,0 +1,54 @@
+package nl.codevs.dndinventory.benchmarks;
+
+import nl.codevs.dndinventory.data.Item;
+import nl.codevs.dndinventory.data.ItemDatabase;
+import nl.codevs.dndinventory.data.ItemType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Item matching against the item database ({@code DNDInventories/databases/itemdb.csv}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemDatabaseBenchmark {
+
+    /**
+     * The input matched against the item names.
+     */
+    @Param({"ro", "rope", "long sword", "hooded lanturn"})
+    public String query;
+
+    /**
+     * Match against all items.
+     * @return the matching items
+     */
+    @Benchmark
+    public List<Item> match() {
+        return ItemDatabase.match(query);
+    }
+
+    /**
+     * Match against a single category, keeping the best few.
+     * @return the best matching items
+     */
+    @Benchmark
+    public List<Item> matchCategory() {
+        return ItemDatabase.match(ItemType.MISC, query, 0.1, 10);
+    }
+}
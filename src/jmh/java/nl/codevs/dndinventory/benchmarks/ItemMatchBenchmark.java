@@ -0,0 +1,73 @@
+package nl.codevs.dndinventory.benchmarks;
+
+import nl.codevs.dndinventory.data.Item;
+import nl.codevs.dndinventory.data.ItemDatabase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Item name matching against catalogues of several sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemMatchBenchmark {
+
+    /**
+     * Amount of items in the catalogue.
+     */
+    @Param({"1000", "10000", "100000"})
+    public int catalogueSize;
+
+    /**
+     * The input matched against the item names.
+     */
+    @Param({"rope", "long sword", "hooded lanturn"})
+    public String query;
+
+    /**
+     * The catalogue.
+     */
+    private List<Item> catalogue;
+
+    /**
+     * Create the catalogue.
+     */
+    @Setup
+    public void setup() {
+        catalogue = Fixtures.items(catalogueSize, 42);
+    }
+
+    /**
+     * Sort the whole catalogue by match.
+     * @return the sorted items
+     */
+    @Benchmark
+    public List<Item> sortByNGram() {
+        return ItemDatabase.sortByNGram(query, catalogue, 0.1);
+    }
+
+    /**
+     * Select the best matches from the catalogue.
+     * @return the best items
+     */
+    @Benchmark
+    public List<Item> topByNGram() {
+        return ItemDatabase.topByNGram(query, catalogue, 0.1, 10);
+    }
+}
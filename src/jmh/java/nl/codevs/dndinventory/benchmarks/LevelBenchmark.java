@@ -0,0 +1,64 @@
+package nl.codevs.dndinventory.benchmarks;
+
+import nl.codevs.dndinventory.inventories.PlayerInventory;
+import nl.codevs.dndinventory.inventories.interfaces.ILevel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Level lookups from experience.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LevelBenchmark {
+
+    /**
+     * The character class.
+     */
+    @Param({"FIGHTER", "DRUID", "THIEF"})
+    public ILevel.CharacterClass characterClass;
+
+    /**
+     * The experience of the character.
+     */
+    @Param({"0", "50000", "1000000"})
+    public int experience;
+
+    /**
+     * The character.
+     */
+    private PlayerInventory player;
+
+    /**
+     * Create the character.
+     */
+    @Setup
+    public void setup() {
+        player = Fixtures.player("Level benchmark", new ArrayList<>(), characterClass, experience);
+    }
+
+    /**
+     * Get the level the character can train to.
+     * @return the level
+     */
+    @Benchmark
+    public int getPotentialLevel() {
+        return player.getPotentialLevel();
+    }
+}
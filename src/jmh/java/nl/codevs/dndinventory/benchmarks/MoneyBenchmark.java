@@ -0,0 +1,51 @@
+package nl.codevs.dndinventory.benchmarks;
+
+import nl.codevs.dndinventory.data.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing money.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+
+    /**
+     * The input to parse.
+     */
+    @Param({"3", "15gp", "12.75 gp", "1pp 2gp 3ep 4sp 5cp"})
+    public String input;
+
+    /**
+     * Parse and simplify.
+     * @return the money
+     */
+    @Benchmark
+    public Money fromString() {
+        return Money.fromString(input);
+    }
+
+    /**
+     * Parse, keeping the coins as written.
+     * @return the money
+     */
+    @Benchmark
+    public Money fromStringNotSimplified() {
+        return Money.fromString(input, false);
+    }
+}
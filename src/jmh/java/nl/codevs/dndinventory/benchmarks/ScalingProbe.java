@@ -0,0 +1,158 @@
+package nl.codevs.dndinventory.benchmarks;
+
+import nl.codevs.dndinventory.data.Item;
+import nl.codevs.dndinventory.data.ItemDatabase;
+import nl.codevs.dndinventory.inventories.Inventory;
+import nl.codevs.dndinventory.inventories.InventoryIndex;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Measurements of a single process working on the data in its working directory.
+ * Started by the {@link ScalingReport} in a fresh JVM per run, so startup includes all class initialization.
+ * Prints each measurement as a {@code result <key> <value>} line.
+ */
+public final class ScalingProbe {
+
+    /**
+     * Maximum amount of search queries.
+     */
+    private static final int MAX_QUERIES = 500;
+
+    /**
+     * Maximum time spent on search queries, in nanoseconds.
+     */
+    private static final long MAX_QUERY_NANOS = 30_000_000_000L;
+
+    /**
+     * Run the measurements.
+     * @param args unused
+     * @throws IOException if an inventory cannot be saved
+     */
+    public static void main(final String[] args) throws IOException {
+        long start = System.nanoTime();
+        int items = ItemDatabase.get().size();
+        long databaseLoaded = System.nanoTime();
+        // Initializing Inventory indexes the inventory files
+        Inventory.LOADED_INVENTORIES.size();
+        int indexed = InventoryIndex.getEntries().size();
+        long indexLoaded = System.nanoTime();
+        InventoryIndex.warm().join();
+        long warmed = System.nanoTime();
+        result("items", items);
+        result("inventories", indexed);
+        result("databaseLoadMs", millis(databaseLoaded - start));
+        result("indexMs", millis(indexLoaded - databaseLoaded));
+        result("warmMs", millis(warmed - indexLoaded));
+        result("startupMs", millis(warmed - start));
+
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        result("heapMb", ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed() / (1024.0 * 1024));
+
+        search(ItemDatabase.get().values());
+        save();
+
+        // Wait for the database snapshot written after loading the CSV, so the next run can use it
+        File snapshot = new File("./DNDInventories/databases/itemdb.bin");
+        for (int i = 0; i < 600 && !snapshot.exists(); i++) {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        System.exit(0);
+    }
+
+    /**
+     * Measure search latency, with queries made from catalogue item names with a typo.
+     * @param catalogue the items in the database
+     */
+    private static void search(final List<Item> catalogue) {
+        if (catalogue.isEmpty()) {
+            return;
+        }
+        SplittableRandom random = new SplittableRandom(3);
+        long[] latencies = new long[MAX_QUERIES];
+        int queries = 0;
+        long deadline = System.nanoTime() + MAX_QUERY_NANOS;
+        while (queries < MAX_QUERIES && System.nanoTime() < deadline) {
+            String name = catalogue.get(random.nextInt(catalogue.size())).getName().toLowerCase(Locale.ROOT);
+            int typo = random.nextInt(name.length());
+            String query = name.substring(0, typo) + name.substring(Math.min(name.length(), typo + 1));
+            long before = System.nanoTime();
+            ItemDatabase.match(null, query, 0.1, 10);
+            latencies[queries++] = System.nanoTime() - before;
+        }
+        Arrays.sort(latencies, 0, queries);
+        result("searchQueries", queries);
+        result("searchP50Us", percentile(latencies, queries, 0.50) / 1_000.0);
+        result("searchP90Us", percentile(latencies, queries, 0.90) / 1_000.0);
+        result("searchP99Us", percentile(latencies, queries, 0.99) / 1_000.0);
+        result("searchMaxUs", latencies[queries - 1] / 1_000.0);
+    }
+
+    /**
+     * Measure save throughput, saving every loaded inventory once.
+     * @throws IOException if an inventory cannot be saved
+     */
+    private static void save() throws IOException {
+        List<Inventory> inventories = Inventory.LOADED_INVENTORIES.all();
+        long bytes = 0;
+        long before = System.nanoTime();
+        for (Inventory inventory : inventories) {
+            inventory.save(true);
+        }
+        long nanos = System.nanoTime() - before;
+        for (Inventory inventory : inventories) {
+            bytes += new File(Inventory.INVENTORY_DIRECTORY + "/playerinventory/"
+                    + inventory.getName().toLowerCase(Locale.ROOT) + ".json").length();
+        }
+        double seconds = nanos / 1e9;
+        result("saveMs", millis(nanos));
+        result("savesPerSecond", inventories.size() / seconds);
+        result("saveMbPerSecond", bytes / (1024.0 * 1024) / seconds);
+    }
+
+    /**
+     * Get a percentile of sorted values.
+     * @param sorted the sorted values
+     * @param count the amount of values
+     * @param percentile the percentile, between 0 and 1
+     * @return the value at the percentile
+     */
+    private static long percentile(final long[] sorted, final int count, final double percentile) {
+        return sorted[Math.min(count - 1, (int) Math.ceil(percentile * count) - 1)];
+    }
+
+    /**
+     * Convert nanoseconds to milliseconds.
+     * @param nanos the nanoseconds
+     * @return the milliseconds
+     */
+    private static double millis(final long nanos) {
+        return nanos / 1e6;
+    }
+
+    /**
+     * Print a measurement.
+     * @param key the measurement name
+     * @param value the value
+     */
+    private static void result(final String key, final double value) {
+        System.out.println("result " + key + " " + (value == Math.rint(value) ? String.valueOf((long) value) : String.format(Locale.ROOT, "%.2f", value)));
+    }
+
+    private ScalingProbe() {
+        // Never called
+    }
+}
@@ -0,0 +1,148 @@
+package nl.codevs.dndinventory.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Report how the bot scales with the amount of items and inventories.
+ * <p>
+ * For each scale, generates a catalogue and inventory directory with {@link SyntheticData}
+ * (in {@code items-<scale>} under the working directory, reused when it exists),
+ * then runs the {@link ScalingProbe} in a fresh JVM twice:
+ * first loading the catalogue from CSV, then from the database snapshot written by the first run.
+ * Results are printed as a table and written to {@code scaling-report.csv}.
+ * <p>
+ * Arguments are the catalogue sizes, default {@code 1000 10000 100000 1000000}.
+ * The amount of inventories is set with {@code -Dscaling.inventories} (default 2000),
+ * the maximum heap of the probes with {@code -Dscaling.heap} (default {@code 2g}).
+ */
+public final class ScalingReport {
+
+    /**
+     * Seed of the generated data.
+     */
+    private static final long SEED = 1;
+
+    /**
+     * Generate the data and run the probes.
+     * @param args the catalogue sizes
+     * @throws IOException if data or the report cannot be written, or a probe cannot be started
+     * @throws InterruptedException if interrupted while waiting for a probe
+     */
+    public static void main(final String[] args) throws IOException, InterruptedException {
+        List<Integer> scales = new ArrayList<>();
+        for (String arg : args.length == 0 ? new String[]{"1000", "10000", "100000", "1000000"} : args) {
+            scales.add(Integer.parseInt(arg.replace("_", "")));
+        }
+        int inventories = Integer.getInteger("scaling.inventories", 2_000);
+        String heap = System.getProperty("scaling.heap", "2g");
+        SyntheticData data = new SyntheticData(SEED);
+
+        List<Map<String, String>> runs = new ArrayList<>();
+        for (int scale : scales) {
+            File directory = new File("items-" + scale);
+            File inventoryDirectory = new File(directory, "DNDInventories");
+            File databases = new File(inventoryDirectory, "databases");
+            File catalogue = new File(databases, "itemdb.csv");
+            if (!catalogue.exists()) {
+                System.out.println("Generating " + scale + " items and " + inventories + " inventories in " + directory);
+                data.writeInventories(inventoryDirectory, inventories, scale);
+                data.writeCatalogue(catalogue, scale);
+            }
+            // Start from the CSV, without the snapshot and journal of earlier runs
+            new File(databases, "itemdb.bin").delete();
+            new File(databases, "itemdb.journal.csv").delete();
+
+            for (String start : new String[]{"csv", "snapshot"}) {
+                System.out.println("Probing " + scale + " items (" + start + ")");
+                Map<String, String> run = new LinkedHashMap<>();
+                run.put("scale", String.valueOf(scale));
+                run.put("start", start);
+                run.putAll(probe(directory, heap));
+                runs.add(run);
+            }
+        }
+
+        report(runs);
+    }
+
+    /**
+     * Run the probe in a fresh JVM.
+     * @param directory the working directory of the probe
+     * @param heap the maximum heap of the probe
+     * @return the measurements, or an {@code error} if the probe failed
+     * @throws IOException if the probe cannot be started
+     * @throws InterruptedException if interrupted while waiting for the probe
+     */
+    private static Map<String, String> probe(final File directory, final String heap)
+            throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(
+                ProcessHandle.current().info().command().orElse("java"),
+                "-Xmx" + heap,
+                "-cp", System.getProperty("java.class.path"),
+                ScalingProbe.class.getName()
+        ).directory(directory).redirectErrorStream(true).start();
+
+        Map<String, String> results = new LinkedHashMap<>();
+        String last = "";
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split(" ");
+                if (parts.length == 3 && parts[0].equals("result")) {
+                    results.put(parts[1], parts[2]);
+                } else {
+                    last = line;
+                }
+            }
+        }
+        int exit = process.waitFor();
+        if (exit != 0) {
+            System.out.println("Probe failed with exit code " + exit + ": " + last);
+            results.put("error", "exit " + exit + ": " + last.replace(',', ';'));
+        }
+        return results;
+    }
+
+    /**
+     * Print the runs as a table, and write them to {@code scaling-report.csv}.
+     * @param runs the measurements of each run
+     * @throws IOException if the report cannot be written
+     */
+    private static void report(final List<Map<String, String>> runs) throws IOException {
+        Set<String> columns = new LinkedHashSet<>();
+        runs.forEach(run -> columns.addAll(run.keySet()));
+
+        StringBuilder table = new StringBuilder();
+        for (String column : columns) {
+            table.append(String.format("%-16s", column));
+            for (Map<String, String> run : runs) {
+                table.append(String.format("%16s", run.getOrDefault(column, "-")));
+            }
+            table.append('\n');
+        }
+        System.out.println(table);
+
+        try (PrintWriter out = new PrintWriter(new FileWriter("scaling-report.csv"))) {
+            out.println(String.join(",", columns));
+            for (Map<String, String> run : runs) {
+                out.println(String.join(",", columns.stream().map(c -> run.getOrDefault(c, "")).toList()));
+            }
+        }
+        System.out.println("Written to " + new File("scaling-report.csv").getAbsolutePath());
+    }
+
+    private ScalingReport() {
+        // Never called
+    }
+}
@@ -0,0 +1,272 @@
+package nl.codevs.dndinventory.benchmarks;
+
+import com.google.gson.stream.JsonWriter;
+import nl.codevs.dndinventory.data.ItemType;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Generator of synthetic item catalogues and inventory directories.
+ * <p>
+ * Every item and inventory is derived from the seed and its index only,
+ * so any item can be recomputed without generating the items before it, and runs are reproducible.
+ * Item names combine a quality, a noun typical for the item type and, past the first few items,
+ * a place of origin, so names are unique and share words the way real catalogue names do.
+ * Item types, values and weights follow rough per-type distributions.
+ */
+public final class SyntheticData {
+
+    /**
+     * Qualities item names start with.
+     */
+    private static final String[] QUALITIES = {
+            "Fine", "Common", "Sturdy", "Worn", "Gilded", "Elven", "Dwarven", "Masterwork",
+            "Old", "Silver", "Iron", "Bronze", "Oaken", "Padded", "Ornate", "Plain",
+            "Traveler's", "Noble's", "Hunter's", "Sailor's", "Blessed", "Cursed", "Ancient", "Small"
+    };
+
+    /**
+     * Places of origin item names may end with.
+     */
+    private static final String[] PLACES = {
+            "Waterdeep", "Baldur's Gate", "Neverwinter", "Greyhawk", "Calimport", "Luskan", "Silverymoon", "Mirabar",
+            "Athkatla", "Amn", "Tethyr", "Cormyr", "Sembia", "Thay", "Rashemen", "Mulhorand",
+            "the North", "the Dales", "the Moonsea", "the Sword Coast", "the Underdark", "the Feywild", "Icewind Dale",
+            "Chult", "Kara-Tur", "Zakhara", "Halruaa", "Aglarond", "Impiltur", "Damara", "Vaasa", "Narfell",
+            "Turmish", "Chessenta", "Unther", "Lantan", "Evermeet", "Moonshae", "Anauroch", "Cormanthor"
+    };
+
+    /**
+     * Nouns per item type.
+     */
+    private static final Map<ItemType, String[]> NOUNS = new EnumMap<>(ItemType.class);
+
+    static {
+        NOUNS.put(ItemType.ANIMALS, new String[]{"Mule", "Pony", "Riding horse", "War horse", "Hunting dog", "Falcon", "Ox", "Goat", "Boar", "Camel"});
+        NOUNS.put(ItemType.ARMOR, new String[]{"Chain mail", "Plate mail", "Leather armor", "Ring mail", "Scale mail", "Shield", "Helm", "Bracers", "Gauntlets", "Banded mail"});
+        NOUNS.put(ItemType.CLOTHING, new String[]{"Cloak", "Boots", "Robe", "Tunic", "Belt", "Hat", "Gloves", "Breeches", "Sash", "Hood"});
+        NOUNS.put(ItemType.WEAPONS, new String[]{"Long sword", "Short sword", "Dagger", "Battle axe", "Long bow", "Short bow", "Mace", "Spear", "Crossbow", "Quarterstaff", "Flail", "Halberd"});
+        NOUNS.put(ItemType.FOOD_LODGING, new String[]{"Ale", "Wine", "Bread", "Cheese", "Meal", "Room", "Stew", "Mead", "Bath", "Stabling"});
+        NOUNS.put(ItemType.HARNESS, new String[]{"Saddle", "Bridle", "Saddle bags", "Horseshoes", "Cart", "Wagon", "Harness", "Barding", "Yoke", "Feed bag"});
+        NOUNS.put(ItemType.MAGIC, new String[]{"Potion of healing", "Scroll", "Wand", "Ring", "Amulet", "Staff", "Rod", "Cloak of protection", "Bag of holding", "Figurine"});
+        NOUNS.put(ItemType.MISC, new String[]{"Rope", "Lantern", "Backpack", "Torch", "Bedroll", "Tinderbox", "Grappling hook", "Mirror", "Chain", "Tent", "Lock", "Spyglass"});
+        NOUNS.put(ItemType.PROVISIONS, new String[]{"Candles", "Soap", "Flour", "Salt", "Oil flask", "Blanket", "Pot", "Kettle", "Firewood", "Chest"});
+        NOUNS.put(ItemType.GEMSTONES, new String[]{"Ruby", "Pearl", "Emerald", "Sapphire", "Diamond", "Opal", "Jade", "Amethyst", "Topaz", "Garnet"});
+    }
+
+    /**
+     * Relative frequency of each item type.
+     */
+    private static final Map<ItemType, Integer> TYPE_WEIGHTS = new EnumMap<>(Map.of(
+            ItemType.ANIMALS, 4,
+            ItemType.ARMOR, 8,
+            ItemType.CLOTHING, 8,
+            ItemType.WEAPONS, 15,
+            ItemType.FOOD_LODGING, 8,
+            ItemType.HARNESS, 4,
+            ItemType.MAGIC, 15,
+            ItemType.MISC, 25,
+            ItemType.PROVISIONS, 10,
+            ItemType.GEMSTONES, 3
+    ));
+
+    /**
+     * Median value per item type, in GP.
+     */
+    private static final Map<ItemType, Double> MEDIAN_VALUES = new EnumMap<>(Map.of(
+            ItemType.ANIMALS, 20.0,
+            ItemType.ARMOR, 30.0,
+            ItemType.CLOTHING, 1.0,
+            ItemType.WEAPONS, 10.0,
+            ItemType.FOOD_LODGING, 0.05,
+            ItemType.HARNESS, 10.0,
+            ItemType.MAGIC, 500.0,
+            ItemType.MISC, 1.0,
+            ItemType.PROVISIONS, 0.1,
+            ItemType.GEMSTONES, 100.0
+    ));
+
+    /**
+     * Median weight per item type, absent for types without weight.
+     */
+    private static final Map<ItemType, Double> MEDIAN_WEIGHTS = new EnumMap<>(Map.of(
+            ItemType.ARMOR, 25.0,
+            ItemType.CLOTHING, 2.0,
+            ItemType.WEAPONS, 5.0,
+            ItemType.HARNESS, 15.0,
+            ItemType.MAGIC, 1.0,
+            ItemType.MISC, 3.0,
+            ItemType.PROVISIONS, 2.0,
+            ItemType.GEMSTONES, 0.1
+    ));
+
+    /**
+     * Sum of the {@link #TYPE_WEIGHTS}.
+     */
+    private static final int TOTAL_TYPE_WEIGHT = TYPE_WEIGHTS.values().stream().mapToInt(Integer::intValue).sum();
+
+    /**
+     * The seed everything is derived from.
+     */
+    private final long seed;
+
+    /**
+     * Create a generator.
+     * @param generatorSeed the seed everything is derived from
+     */
+    public SyntheticData(final long generatorSeed) {
+        seed = generatorSeed;
+    }
+
+    /**
+     * A generated catalogue item.
+     * @param type the item type
+     * @param name the item name, unique within the catalogue
+     * @param value the value, in GP
+     * @param weight the weight, or null if the item has no weight
+     * @param stats the item stats
+     */
+    public record Row(ItemType type, String name, double value, @Nullable Double weight, String stats) { }
+
+    /**
+     * Generate a catalogue item.
+     * @param index the index of the item in the catalogue
+     * @return the item
+     */
+    public Row item(final int index) {
+        SplittableRandom random = random(index, 0x1fe6);
+        ItemType type = type(random.nextInt(TOTAL_TYPE_WEIGHT));
+        String[] nouns = NOUNS.get(type);
+
+        // The quality and place are derived from the index, which makes names unique
+        int variant = index / QUALITIES.length;
+        String name = QUALITIES[index % QUALITIES.length] + " " + nouns[random.nextInt(nouns.length)].toLowerCase(Locale.ROOT);
+        if (variant > 0) {
+            name += " of " + PLACES[(variant - 1) % PLACES.length];
+            if (variant > PLACES.length) {
+                name += " " + (variant - 1) / PLACES.length;
+            }
+        }
+
+        // Log-normal values around the median of the type, rounded to CP
+        double value = Math.max(0.01, Math.round(MEDIAN_VALUES.get(type) * Math.exp(random.nextGaussian()) * 100) / 100.0);
+        Double medianWeight = MEDIAN_WEIGHTS.get(type);
+        Double weight = medianWeight == null
+                ? null
+                : Math.round(medianWeight * Math.exp(random.nextGaussian() / 2) * 10) / 10.0;
+        String stats = type == ItemType.WEAPONS
+                ? "(SM) 1d" + (4 + 2 * random.nextInt(4)) + " (L) 1d" + (6 + 2 * random.nextInt(4))
+                : type == ItemType.ARMOR ? "AC " + (2 + random.nextInt(8)) : "";
+        return new Row(type, name, value, weight, stats);
+    }
+
+    /**
+     * Write a catalogue in the item database CSV format.
+     * @param file the file to write
+     * @param items the amount of items
+     * @throws IOException if the file cannot be written
+     */
+    public void writeCatalogue(final File file, final int items) throws IOException {
+        file.getParentFile().mkdirs();
+        try (Writer out = new BufferedWriter(new FileWriter(file))) {
+            out.write("Category,Name,Value,Weight,Stats\n");
+            for (int i = 0; i < items; i++) {
+                Row row = item(i);
+                out.write(row.type().name() + "," + row.name() + "," + row.value() + "," + row.weight() + "," + row.stats() + "\n");
+            }
+        }
+    }
+
+    /**
+     * Write player inventory files holding items of a catalogue.
+     * Popular (low index) items are picked more often than others.
+     * @param directory the inventory directory (containing the {@code playerinventory} folder)
+     * @param inventories the amount of inventories
+     * @param catalogueSize the amount of items in the catalogue
+     * @throws IOException if a file cannot be written
+     */
+    public void writeInventories(final File directory, final int inventories, final int catalogueSize)
+            throws IOException {
+        File folder = new File(directory, "playerinventory");
+        folder.mkdirs();
+        for (int i = 0; i < inventories; i++) {
+            SplittableRandom random = random(i, 0x17e7);
+            String name = "Synthetic player " + i;
+            try (JsonWriter out = new JsonWriter(new BufferedWriter(
+                    new FileWriter(new File(folder, name.toLowerCase(Locale.ROOT) + ".json"))
+            ))) {
+                out.beginObject();
+                out.name("type").value("playerinventory");
+                out.name("name").value(name);
+                out.name("items").beginArray();
+                int items = 5 + random.nextInt(56);
+                for (int j = 0; j < items; j++) {
+                    // Cubing a uniform number skews the picks to the start of the catalogue
+                    double u = random.nextDouble();
+                    Row row = item((int) (catalogueSize * u * u * u));
+                    out.beginObject();
+                    out.name("item").beginObject();
+                    out.name("category").value(row.type().name());
+                    out.name("name").value(row.name());
+                    out.endObject();
+                    out.name("amount").value(1 + random.nextInt(20));
+                    out.name("loot").value(false);
+                    out.endObject();
+                }
+                out.endArray();
+                out.name("money").beginObject();
+                out.name("cp").value(random.nextInt(100));
+                out.name("sp").value(random.nextInt(100));
+                out.name("ep").value(0);
+                out.name("gp").value(random.nextInt(1_000));
+                out.name("pp").value(random.nextInt(10));
+                out.name("simplify").value(false);
+                out.endObject();
+                for (String stat : new String[]{"str", "dex", "con", "intl", "wis", "chr", "com"}) {
+                    out.name(stat).value(3 + random.nextInt(16));
+                }
+                out.name("health").value(0);
+                out.name("mHp").value(10 + random.nextInt(60));
+                out.name("cc").value("FIGHTER");
+                out.name("exp").value(random.nextInt(250_000));
+                out.name("realLvl").value(1);
+                out.endObject();
+            }
+        }
+    }
+
+    /**
+     * Get the item type for a number below {@link #TOTAL_TYPE_WEIGHT}.
+     * @param weight the number
+     * @return the item type
+     */
+    private static ItemType type(final int weight) {
+        int remaining = weight;
+        for (ItemType type : ItemType.values()) {
+            remaining -= TYPE_WEIGHTS.get(type);
+            if (remaining < 0) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Weight out of range: " + weight);
+    }
+
+    /**
+     * Get the random numbers for an index.
+     * @param index the index
+     * @param stream distinguishes the numbers for different kinds of data with the same index
+     * @return the random number generator
+     */
+    private SplittableRandom random(final int index, final long stream) {
+        return new SplittableRandom(seed * 0x9E3779B97F4A7C15L + stream * 0xBF58476D1CE4E5B9L + index);
+    }
+}
@@ -1,10 +1,14 @@
 package nl.codevs.dndinventory;
 
 import nl.codevs.dndinventory.discord.Bot;
+import nl.codevs.dndinventory.discord.CommandDispatcher;
 import nl.codevs.dndinventory.discord.Commands;
 import nl.codevs.dndinventory.discord.expansions.InventoryParameter;
 import nl.codevs.dndinventory.discord.expansions.ItemParameter;
 import nl.codevs.dndinventory.inventories.Inventory;
+import nl.codevs.dndinventory.inventories.InventoryIndex;
+import nl.codevs.dndinventory.inventories.interfaces.ILevel;
+import nl.codevs.dndinventory.metrics.PrometheusExporter;
 import nl.codevs.strinput.examples.discord.DiscordCenter;
 import nl.codevs.strinput.system.StrInput;
 import nl.codevs.strinput.system.StrUser;
@@ -15,9 +19,16 @@ import org.jetbrains.annotations.NotNull;
 
 import javax.security.auth.login.LoginException;
 import java.io.*;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
 
 public final class DnDInventory {
 
+    /**
+     * Default port of the metrics endpoint, set with {@code -Ddndinventory.metrics.port} (negative disables it).
+     */
+    private static final int METRICS_PORT = 9464;
+
     private static Bot bot = null;
 
     private static final DiscordCenter center = new DiscordCenter(
@@ -106,14 +117,34 @@ public final class DnDInventory {
      */
     public static void main(final String[] args) {
 
-        Inventory.LOADED_INVENTORIES.forEach(i -> System.out.println(i.getName()));
+        int metricsPort = Integer.getInteger("dndinventory.metrics.port", METRICS_PORT);
+        if (metricsPort >= 0) {
+            try {
+                System.out.println("Metrics on http://localhost:" + PrometheusExporter.start(
+                        new InetSocketAddress(InetAddress.getLoopbackAddress(), metricsPort)
+                ).getAddress().getPort() + "/metrics");
+            } catch (IOException e) {
+                e.printStackTrace();
+                System.out.println("Failed to start metrics exporter on port " + metricsPort);
+            }
+        }
+
+        ILevel.precomputeHitPointDistributions();
+
+        InventoryIndex.names().forEach(System.out::println);
+        InventoryIndex.warm().thenRun(() -> System.out.println(
+                "Loaded " + Inventory.LOADED_INVENTORIES.size() + " inventories"
+        ));
 
         try {
             bot = new Bot(
                     new BufferedReader(new FileReader("token.txt")).readLine(),
                     "!",
                     Commands.class.getDeclaredAnnotation(StrInput.class).name(),
-                    center
+                    center,
+                    new CommandDispatcher(Integer.getInteger(
+                            "dndinventory.commands.maxInFlight", CommandDispatcher.DEFAULT_MAX_IN_FLIGHT
+                    ))
             );
         } catch (LoginException | InterruptedException | IOException e) {
             e.printStackTrace();
@@ -1,33 +1,91 @@
 package nl.codevs.dndinventory.data;
 
 import okhttp3.internal.annotations.EverythingIsNonNull;
+import org.jetbrains.annotations.Contract;
 
+import java.security.InvalidParameterException;
+
+/**
+ * Dice to roll: {@code amount} dice with {@code sides} sides each, with {@code additional} added to their sum.
+ * Roll with a {@link DiceRoller}.
+ * @param sides the amount of sides of each die, at least 1
+ * @param amount the amount of dice, at least 0
+ * @param additional the amount added to the sum of the dice
+ */
 @EverythingIsNonNull
 public record Dice(int sides, int amount, int additional) {
+
     /**
-     * Returns a string representation of the record.
-     * In accordance with the general contract of {@link Object#toString()},
-     * the {@code toString} method returns a string that
-     * "textually represents" this record. The result should
-     * be a concise but informative representation that is easy for a
-     * person to read.
+     * Create dice.
+     * @throws IllegalArgumentException if there are less than 1 sides or less than 0 dice
+     */
+    public Dice {
+        if (sides < 1) {
+            throw new IllegalArgumentException("Dice must have at least 1 side, but have " + sides);
+        }
+        if (amount < 0) {
+            throw new IllegalArgumentException("Amount of dice cannot be negative, but is " + amount);
+        }
+    }
+
+    /**
+     * <p>Create dice from standard dice notation.</p><br>
+     * <h3>Format examples:</h3>
+     * <ul>
+     *     <li>3d6+2</li>
+     *     <li>9d10 + 3</li>
+     *     <li>d20 <i>A single die</i></li>
+     *     <li>2d4-1</li>
+     *     <li>1d8 + 2 - 1 <i>Modifiers are added up to +1</i></li>
+     * </ul>
      * <p>
-     * In addition to this general contract, record classes must further
-     * participate in the invariant that any two records which are
-     * {@linkplain Record#equals(Object) equal} must produce equal
-     * strings.  This invariant is necessarily relaxed in the rare
-     * case where corresponding equal component values might fail
-     * to produce equal strings for themselves.
-     *
+     *     The input is read in a single pass, see {@link DiceParser}.
+     *     Whitespace is ignored, and {@link #toString()} output can be read back.
+     * </p>
+     * @param value the dice notation
+     * @return the dice
+     * @throws InvalidParameterException when the input is invalid, with the position of the problem
+     */
+    @Contract("_ -> new")
+    public static Dice fromString(final String value) throws InvalidParameterException {
+        return DiceParser.parse(value);
+    }
+
+    /**
+     * Get the lowest possible roll.
+     * @return the lowest roll
+     */
+    public long min() {
+        return (long) amount + additional;
+    }
+
+    /**
+     * Get the highest possible roll.
+     * @return the highest roll
+     */
+    public long max() {
+        return (long) amount * sides + additional;
+    }
+
+    /**
+     * Get the average roll.
+     * @return the mean roll
+     */
+    public double mean() {
+        return amount * (sides + 1) / 2.0 + additional;
+    }
+
+    /**
+     * Get the same dice, without the additional amount.
+     * @return the dice without additional amount
+     */
+    public Dice withoutAdditional() {
+        return additional == 0 ? this : new Dice(sides, amount, 0);
+    }
+
+    /**
+     * Returns a string representation of the dice, in notation that {@link #fromString(String)} reads.
      * @return a string representation of the object.
-     * @implSpec The implicitly provided implementation returns a string which
-     * contains the name of the record class, the names of components
-     * of the record, and string representations of component values,
-     * so as to fulfill the contract of this method.
-     * The precise format produced by this implicitly provided implementation
-     * is subject to change, so the present syntax should not be parsed
-     * by applications to recover record component values.
-     * @see Object#toString()
      */
     @Override
     public String toString() {
@@ -0,0 +1,350 @@
+package nl.codevs.dndinventory.data;
+
+import okhttp3.internal.annotations.EverythingIsNonNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The exact probability distribution of the result of {@link Dice}.
+ * <p>
+ * The distribution of a sum of dice is the single die polynomial ({@code (x + x^2 + ... + x^sides) / sides})
+ * raised to the amount of dice. Sums with up to {@link #FFT_THRESHOLD} outcomes are convolved directly,
+ * larger sums are raised to the power in the frequency domain with an FFT.
+ * <p>
+ * Distributions are memoized per dice, so repeated lookups are answered from cache.
+ */
+@EverythingIsNonNull
+public final class DiceDistribution {
+
+    /**
+     * Amount of outcomes above which the distribution is computed with an FFT.
+     */
+    static final int FFT_THRESHOLD = 1 << 11;
+
+    /**
+     * Computed distributions by dice.
+     */
+    private static final Map<Dice, DiceDistribution> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * The dice.
+     */
+    private final Dice dice;
+
+    /**
+     * Probability of each result, from the lowest roll up.
+     */
+    private final double[] pmf;
+
+    /**
+     * Probability of each result or lower, from the lowest roll up.
+     */
+    private final double[] cdf;
+
+    /**
+     * Mean result.
+     */
+    private final double mean;
+
+    /**
+     * Variance of the result.
+     */
+    private final double variance;
+
+    /**
+     * Create a distribution.
+     * @param distributionDice the dice
+     * @param probabilities the probability of each result, from the lowest roll up
+     */
+    private DiceDistribution(final Dice distributionDice, final double[] probabilities) {
+        dice = distributionDice;
+        pmf = probabilities;
+        cdf = new double[pmf.length];
+        double cumulative = 0;
+        for (int i = 0; i < pmf.length; i++) {
+            cumulative += pmf[i];
+            cdf[i] = cumulative;
+        }
+        // Exact for independent dice, (s^2 - 1) / 12 per die
+        mean = dice.mean();
+        variance = dice.amount() * ((double) dice.sides() * dice.sides() - 1) / 12;
+    }
+
+    /**
+     * Get the distribution of dice.
+     * @param dice the dice
+     * @return the distribution, computed on first use
+     * @throws IllegalArgumentException if the dice have more outcomes than fit in an array
+     */
+    public static DiceDistribution of(final Dice dice) throws IllegalArgumentException {
+        DiceDistribution distribution = CACHE.get(dice);
+        if (distribution != null) {
+            return distribution;
+        }
+        // Computed outside the map, so computations of other dice do not wait.
+        // The probabilities do not depend on the additional amount, so they are shared.
+        double[] probabilities = dice.additional() == 0
+                ? sumDistribution(dice)
+                : of(dice.withoutAdditional()).pmf;
+        return CACHE.computeIfAbsent(dice, d -> new DiceDistribution(d, probabilities));
+    }
+
+    /**
+     * Get the amount of distributions in the cache.
+     * @return the amount of cached distributions
+     */
+    public static int cached() {
+        return CACHE.size();
+    }
+
+    /**
+     * Get the dice.
+     * @return the dice
+     */
+    public Dice getDice() {
+        return dice;
+    }
+
+    /**
+     * Get the lowest result.
+     * @return the lowest result
+     */
+    public long getMin() {
+        return dice.min();
+    }
+
+    /**
+     * Get the highest result.
+     * @return the highest result
+     */
+    public long getMax() {
+        return dice.max();
+    }
+
+    /**
+     * Get the mean result.
+     * @return the mean
+     */
+    public double getMean() {
+        return mean;
+    }
+
+    /**
+     * Get the variance of the result.
+     * @return the variance
+     */
+    public double getVariance() {
+        return variance;
+    }
+
+    /**
+     * Get the standard deviation of the result.
+     * @return the standard deviation
+     */
+    public double getStandardDeviation() {
+        return Math.sqrt(variance);
+    }
+
+    /**
+     * Get the probability of a result.
+     * @param result the result
+     * @return the probability, 0 if the result is impossible
+     */
+    public double probability(final long result) {
+        long index = result - dice.min();
+        return index < 0 || index >= pmf.length ? 0 : pmf[(int) index];
+    }
+
+    /**
+     * Get the probability of a result or lower.
+     * @param result the result
+     * @return the cumulative probability
+     */
+    public double cumulative(final long result) {
+        long index = result - dice.min();
+        return index < 0 ? 0 : index >= cdf.length ? 1 : Math.min(1, cdf[(int) index]);
+    }
+
+    /**
+     * Get the lowest result with at least some probability of rolling that result or lower.
+     * @param percentile the probability, between 0 and 1
+     * @return the result at the percentile
+     * @throws IllegalArgumentException if the percentile is not between 0 and 1
+     */
+    public long percentile(final double percentile) throws IllegalArgumentException {
+        if (!(percentile >= 0 && percentile <= 1)) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 1, but is " + percentile);
+        }
+        int low = 0;
+        int high = cdf.length - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            // Tolerate rounding in the cumulative sum, so the median of symmetric dice is exact
+            if (cdf[middle] >= percentile - 1e-12) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return dice.min() + low;
+    }
+
+    /**
+     * Get the probability of each result.
+     * @return the probabilities, from the lowest result ({@link #getMin()}) up. A copy.
+     */
+    public double[] getPmf() {
+        return pmf.clone();
+    }
+
+    /**
+     * Get the probability of each result, without copying.
+     * @return the probabilities, from the lowest result up
+     */
+    double[] pmf() {
+        return pmf;
+    }
+
+    /**
+     * Calculate the distribution of a sum of dice.
+     * @param dice the dice, without additional amount
+     * @return the probability of each sum, from {@code amount} to {@code amount * sides}
+     * @throws IllegalArgumentException if the dice have more outcomes than fit in an array
+     */
+    static double[] sumDistribution(final Dice dice) throws IllegalArgumentException {
+        long outcomes = (long) dice.amount() * (dice.sides() - 1) + 1;
+        if (outcomes > Integer.MAX_VALUE / 4) {
+            throw new IllegalArgumentException(dice + " has too many outcomes for a distribution: " + outcomes);
+        }
+        if (dice.amount() == 0 || dice.sides() == 1) {
+            return new double[]{1};
+        }
+        return outcomes > FFT_THRESHOLD ? fftPower(dice, (int) outcomes) : convolve(dice);
+    }
+
+    /**
+     * Calculate the distribution of a sum of dice by repeated convolution with a single die.
+     * A die has equal probabilities, so each convolution is a sliding window average.
+     * @param dice the dice
+     * @return the probability of each sum
+     */
+    private static double[] convolve(final Dice dice) {
+        int sides = dice.sides();
+        double[] distribution = {1};
+        for (int die = 0; die < dice.amount(); die++) {
+            double[] next = new double[distribution.length + sides - 1];
+            double window = 0;
+            for (int i = 0; i < next.length; i++) {
+                if (i < distribution.length) {
+                    window += distribution[i];
+                }
+                if (i >= sides) {
+                    window -= distribution[i - sides];
+                }
+                next[i] = window / sides;
+            }
+            distribution = next;
+        }
+        return distribution;
+    }
+
+    /**
+     * Calculate the distribution of a sum of dice by raising the single die polynomial to the amount of dice,
+     * pointwise in the frequency domain.
+     * Rounding leaves noise of about 1e-14 on each probability; negative noise is clamped and the sum normalized.
+     * @param dice the dice
+     * @param outcomes the amount of outcomes
+     * @return the probability of each sum
+     */
+    private static double[] fftPower(final Dice dice, final int outcomes) {
+        int size = Integer.highestOneBit(outcomes - 1) << 1;
+        double[] real = new double[size];
+        double[] imaginary = new double[size];
+        for (int i = 0; i < dice.sides(); i++) {
+            real[i] = 1.0 / dice.sides();
+        }
+        fft(real, imaginary, false);
+        for (int i = 0; i < size; i++) {
+            // Polar form, so the power is exact up to rounding
+            double magnitude = Math.pow(Math.hypot(real[i], imaginary[i]), dice.amount());
+            double angle = Math.atan2(imaginary[i], real[i]) * dice.amount();
+            real[i] = magnitude * Math.cos(angle);
+            imaginary[i] = magnitude * Math.sin(angle);
+        }
+        fft(real, imaginary, true);
+
+        double[] distribution = new double[outcomes];
+        double total = 0;
+        for (int i = 0; i < outcomes; i++) {
+            distribution[i] = Math.max(0, real[i]);
+            total += distribution[i];
+        }
+        for (int i = 0; i < outcomes; i++) {
+            distribution[i] /= total;
+        }
+        return distribution;
+    }
+
+    /**
+     * In-place iterative radix-2 fast Fourier transform.
+     * @param real the real parts, length a power of 2
+     * @param imaginary the imaginary parts, same length
+     * @param inverse true for the inverse transform (scaled by 1 / length)
+     */
+    private static void fft(final double[] real, final double[] imaginary, final boolean inverse) {
+        int n = real.length;
+        for (int i = 1, j = 0; i < n; i++) {
+            int bit = n >> 1;
+            for (; (j & bit) != 0; bit >>= 1) {
+                j ^= bit;
+            }
+            j ^= bit;
+            if (i < j) {
+                double t = real[i];
+                real[i] = real[j];
+                real[j] = t;
+                t = imaginary[i];
+                imaginary[i] = imaginary[j];
+                imaginary[j] = t;
+            }
+        }
+        for (int length = 2; length <= n; length <<= 1) {
+            double angle = 2 * Math.PI / length * (inverse ? 1 : -1);
+            double stepReal = Math.cos(angle);
+            double stepImaginary = Math.sin(angle);
+            for (int start = 0; start < n; start += length) {
+                double wReal = 1;
+                double wImaginary = 0;
+                for (int k = 0; k < length / 2; k++) {
+                    int even = start + k;
+                    int odd = even + length / 2;
+                    double oddReal = real[odd] * wReal - imaginary[odd] * wImaginary;
+                    double oddImaginary = real[odd] * wImaginary + imaginary[odd] * wReal;
+                    real[odd] = real[even] - oddReal;
+                    imaginary[odd] = imaginary[even] - oddImaginary;
+                    real[even] += oddReal;
+                    imaginary[even] += oddImaginary;
+                    double nextReal = wReal * stepReal - wImaginary * stepImaginary;
+                    wImaginary = wReal * stepImaginary + wImaginary * stepReal;
+                    wReal = nextReal;
+                }
+            }
+        }
+        if (inverse) {
+            for (int i = 0; i < n; i++) {
+                real[i] /= n;
+                imaginary[i] /= n;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DiceDistribution{"
+                + "dice=" + dice
+                + ", mean=" + mean
+                + ", standardDeviation=" + getStandardDeviation()
+                + "}";
+    }
+}
@@ -0,0 +1,127 @@
+package nl.codevs.dndinventory.data;
+
+import okhttp3.internal.annotations.EverythingIsNonNull;
+
+import java.security.InvalidParameterException;
+
+/**
+ * Single-pass parser for {@link Dice#fromString(String)}.
+ * <p>
+ * The input is an optional amount of dice, {@code d} (in any case) and the amount of sides,
+ * followed by any amount of modifiers: {@code +} or {@code -} and a number, which may itself be negative.
+ * Whitespace is ignored.
+ */
+@EverythingIsNonNull
+final class DiceParser {
+
+    /**
+     * Parse dice notation.
+     * @param value the string to parse
+     * @return the parsed dice
+     * @throws InvalidParameterException when the input is invalid, with the position of the problem
+     */
+    static Dice parse(final String value) throws InvalidParameterException {
+        int i = skipWhitespace(value, 0);
+        if (i == value.length()) {
+            throw error(value, i, "no dice");
+        }
+
+        try {
+            // Amount, 1 if omitted
+            long amount = 1;
+            if (isDigit(value, i)) {
+                amount = 0;
+                while (isDigit(value, i)) {
+                    amount = Math.addExact(Math.multiplyExact(amount, 10), value.charAt(i++) - '0');
+                }
+                i = skipWhitespace(value, i);
+            }
+            if (i == value.length() || Character.toLowerCase(value.charAt(i)) != 'd') {
+                throw error(value, i, "expected d");
+            }
+            i = skipWhitespace(value, i + 1);
+
+            // Sides
+            if (!isDigit(value, i)) {
+                throw error(value, i, "expected the amount of sides");
+            }
+            long sides = 0;
+            int sidesStart = i;
+            while (isDigit(value, i)) {
+                sides = Math.addExact(Math.multiplyExact(sides, 10), value.charAt(i++) - '0');
+            }
+            if (sides == 0) {
+                throw error(value, sidesStart, "dice must have at least 1 side");
+            }
+            i = skipWhitespace(value, i);
+
+            // Modifiers
+            long additional = 0;
+            while (i < value.length()) {
+                char operator = value.charAt(i);
+                if (operator != '+' && operator != '-') {
+                    throw error(value, i, "expected + or -");
+                }
+                i = skipWhitespace(value, i + 1);
+                boolean negative = operator == '-';
+                if (i < value.length() && value.charAt(i) == '-') {
+                    negative = !negative;
+                    i = skipWhitespace(value, i + 1);
+                }
+                if (!isDigit(value, i)) {
+                    throw error(value, i, "expected a number");
+                }
+                long modifier = 0;
+                while (isDigit(value, i)) {
+                    modifier = Math.addExact(Math.multiplyExact(modifier, 10), value.charAt(i++) - '0');
+                }
+                additional = Math.addExact(additional, negative ? -modifier : modifier);
+                i = skipWhitespace(value, i);
+            }
+
+            return new Dice(Math.toIntExact(sides), Math.toIntExact(amount), Math.toIntExact(additional));
+        } catch (ArithmeticException e) {
+            throw new InvalidParameterException("Input " + value + " is too large");
+        }
+    }
+
+    /**
+     * Whether the character at an index is a digit.
+     * @param value the string
+     * @param index the index, may be the length of the string
+     * @return true if there is a digit at the index
+     */
+    private static boolean isDigit(final String value, final int index) {
+        return index < value.length() && value.charAt(index) >= '0' && value.charAt(index) <= '9';
+    }
+
+    /**
+     * Skip whitespace.
+     * @param value the string
+     * @param from the index to start at
+     * @return the index of the first non-whitespace character at or after {@code from}, or the length of the string
+     */
+    private static int skipWhitespace(final String value, final int from) {
+        int i = from;
+        while (i < value.length() && Character.isWhitespace(value.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Create a parse error.
+     * @param value the input
+     * @param index the index of the problem in the input
+     * @param reason what is wrong
+     * @return the exception
+     */
+    private static InvalidParameterException error(final String value, final int index, final String reason) {
+        return new InvalidParameterException("Input " + value + " not in valid Dice format at position " + (index + 1)
+                + " (" + reason + "): " + value.substring(0, index) + ">>" + value.substring(index));
+    }
+
+    private DiceParser() {
+        // Never called
+    }
+}
@@ -0,0 +1,363 @@
+package nl.codevs.dndinventory.data;
+
+import okhttp3.internal.annotations.EverythingIsNonNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * Rolls {@link Dice}, one at a time or in bulk into primitive arrays.
+ * <p>
+ * Rolls come from a {@link SplittableRandom}, so a roller created with a seed always rolls the same results,
+ * and {@link #split()} creates independent rollers for other threads. A roller itself is not thread-safe.
+ * <p>
+ * Rolling does not take a random number per die:
+ * <ul>
+ *     <li>Sums are drawn from alias tables of their exact {@link DiceDistribution}, with one random number per roll.
+ *     Sums with more than {@link #MAX_TABLE_OUTCOMES} outcomes are split into blocks of dice that fit in a table,
+ *     with one random number per block. Tables are built once per amount and sides, and shared by all rollers.</li>
+ *     <li>Single faces take one random number per group of dice,
+ *     as many dice as fit in an int ({@code sides^k}), which are then split into faces.</li>
+ * </ul>
+ */
+@EverythingIsNonNull
+public final class DiceRoller {
+
+    /**
+     * Maximum amount of outcomes of a sum drawn from an alias table.
+     */
+    public static final int MAX_TABLE_OUTCOMES = 1 << 12;
+
+    /**
+     * Amount of rolls per task of {@link #rollParallel(Dice, int[])}.
+     */
+    private static final int PARALLEL_CHUNK = 1 << 14;
+
+    /**
+     * Alias tables by dice without additional amount.
+     */
+    private static final Map<Dice, AliasTable> TABLES = new ConcurrentHashMap<>();
+
+    /**
+     * The random numbers.
+     */
+    private final SplittableRandom random;
+
+    /**
+     * Create a roller with an unpredictable seed.
+     */
+    public DiceRoller() {
+        this(new SplittableRandom());
+    }
+
+    /**
+     * Create a roller that always rolls the same results.
+     * @param seed the seed
+     */
+    public DiceRoller(final long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    /**
+     * Create a roller.
+     * @param randomNumbers the random numbers
+     */
+    private DiceRoller(final SplittableRandom randomNumbers) {
+        random = randomNumbers;
+    }
+
+    /**
+     * Create a new roller, independent of this one, for use on another thread.
+     * Its results are determined by the state of this roller.
+     * @return the new roller
+     */
+    public DiceRoller split() {
+        return new DiceRoller(random.split());
+    }
+
+    /**
+     * Roll dice.
+     * @param dice the dice
+     * @return the sum of the dice and the additional amount
+     * @throws IllegalArgumentException if the result may not fit in an int
+     */
+    public int roll(final Dice dice) throws IllegalArgumentException {
+        checkRange(dice);
+        if (dice.amount() == 0 || dice.sides() == 1) {
+            return (int) dice.min();
+        }
+        return dice.additional() + sum(dice.sides(), dice.amount(), Blocks.of(dice));
+    }
+
+    /**
+     * Roll dice many times.
+     * @param dice the dice
+     * @param count the amount of rolls
+     * @return the results of the rolls
+     * @throws IllegalArgumentException if a result may not fit in an int
+     */
+    public int[] roll(final Dice dice, final int count) throws IllegalArgumentException {
+        int[] results = new int[count];
+        roll(dice, results, 0, count);
+        return results;
+    }
+
+    /**
+     * Roll dice for every element of an array.
+     * @param dice the dice
+     * @param results the array to fill with results
+     * @param from the first index to fill (inclusive)
+     * @param to the last index to fill (exclusive)
+     * @throws IllegalArgumentException if a result may not fit in an int
+     */
+    public void roll(final Dice dice, final int[] results, final int from, final int to)
+            throws IllegalArgumentException {
+        checkRange(dice);
+        int min = (int) dice.min();
+        if (dice.amount() == 0 || dice.sides() == 1) {
+            for (int i = from; i < to; i++) {
+                results[i] = min;
+            }
+            return;
+        }
+        Blocks blocks = Blocks.of(dice);
+        if (blocks.full == 1 && blocks.rest == null) {
+            // A single table covers all dice, the common case
+            for (int i = from; i < to; i++) {
+                results[i] = min + blocks.table.sample(random.nextLong());
+            }
+            return;
+        }
+        for (int i = from; i < to; i++) {
+            results[i] = dice.additional() + sum(dice.sides(), dice.amount(), blocks);
+        }
+    }
+
+    /**
+     * Roll dice for every element of an array, in parallel.
+     * The array is split into chunks, each rolled by a roller {@link #split() split} from this one in order,
+     * so the results only depend on the state of this roller.
+     * @param dice the dice
+     * @param results the array to fill with results
+     * @throws IllegalArgumentException if a result may not fit in an int
+     */
+    public void rollParallel(final Dice dice, final int[] results) throws IllegalArgumentException {
+        checkRange(dice);
+        int chunks = (results.length + PARALLEL_CHUNK - 1) / PARALLEL_CHUNK;
+        DiceRoller[] rollers = new DiceRoller[chunks];
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            rollers[chunk] = split();
+        }
+        IntStream.range(0, chunks).parallel().forEach(chunk -> rollers[chunk].roll(
+                dice,
+                results,
+                chunk * PARALLEL_CHUNK,
+                Math.min(results.length, (chunk + 1) * PARALLEL_CHUNK)
+        ));
+    }
+
+    /**
+     * Roll single dice for every element of an array.
+     * @param sides the amount of sides of the dice
+     * @param faces the array to fill with the rolled faces, from 1 to {@code sides}
+     * @throws IllegalArgumentException if there are less than 1 sides
+     */
+    public void rollFaces(final int sides, final int[] faces) throws IllegalArgumentException {
+        if (sides < 1) {
+            throw new IllegalArgumentException("Dice must have at least 1 side, but have " + sides);
+        }
+        Packing packing = new Packing(sides);
+        int i = 0;
+        while (i < faces.length) {
+            int group = Math.min(packing.perDraw, faces.length - i);
+            int draw = random.nextInt(packing.bounds[group]);
+            for (int end = i + group; i < end; i++) {
+                faces[i] = draw % sides + 1;
+                draw /= sides;
+            }
+        }
+    }
+
+    /**
+     * Roll a sum of dice, drawing one random number per block of dice.
+     * @param sides the amount of sides of each die, at least 2
+     * @param amount the amount of dice
+     * @param blocks the blocks of the dice
+     * @return the sum of the dice
+     */
+    private int sum(final int sides, final int amount, final Blocks blocks) {
+        if (blocks.table == null) {
+            // Dice with too many sides for a table
+            int sum = 0;
+            for (int die = 0; die < amount; die++) {
+                sum += random.nextInt(sides) + 1;
+            }
+            return sum;
+        }
+        int sum = amount;
+        for (int block = 0; block < blocks.full; block++) {
+            sum += blocks.table.sample(random.nextLong());
+        }
+        if (blocks.rest != null) {
+            sum += blocks.rest.sample(random.nextLong());
+        }
+        return sum;
+    }
+
+    /**
+     * Check that all results of dice fit in an int.
+     * @param dice the dice
+     * @throws IllegalArgumentException if a result may not fit in an int
+     */
+    private static void checkRange(final Dice dice) throws IllegalArgumentException {
+        if (dice.max() > Integer.MAX_VALUE || dice.min() < Integer.MIN_VALUE) {
+            throw new IllegalArgumentException("Results of " + dice + " do not fit in an int");
+        }
+    }
+
+    /**
+     * Get the alias table of a sum of dice.
+     * @param sides the amount of sides of each die, at least 2
+     * @param amount the amount of dice, with at most {@link #MAX_TABLE_OUTCOMES} outcomes
+     * @return the table
+     */
+    private static AliasTable table(final int sides, final int amount) {
+        return TABLES.computeIfAbsent(
+                new Dice(sides, amount, 0),
+                d -> new AliasTable(DiceDistribution.of(d).pmf())
+        );
+    }
+
+    /**
+     * A sum of dice split into blocks small enough for an alias table.
+     * The sum of the blocks has the same distribution as the sum of the dice, as dice are independent.
+     * @param table the table of a full block, null if the dice have too many sides for a table
+     * @param full the amount of full blocks
+     * @param rest the table of the remaining dice, null if there are none
+     */
+    private record Blocks(@Nullable AliasTable table, int full, @Nullable AliasTable rest) {
+
+        /**
+         * Split dice into blocks.
+         * @param dice the dice, with at least 2 sides and 1 die
+         * @return the blocks
+         */
+        private static Blocks of(final Dice dice) {
+            int perBlock = Math.min(dice.amount(), (MAX_TABLE_OUTCOMES - 1) / (dice.sides() - 1));
+            if (perBlock == 0) {
+                return new Blocks(null, 0, null);
+            }
+            int rest = dice.amount() % perBlock;
+            return new Blocks(
+                    DiceRoller.table(dice.sides(), perBlock),
+                    dice.amount() / perBlock,
+                    rest == 0 ? null : DiceRoller.table(dice.sides(), rest)
+            );
+        }
+    }
+
+    /**
+     * How many dice of a kind are drawn from one random int.
+     */
+    private static final class Packing {
+
+        /**
+         * Maximum amount of dice per random number.
+         */
+        private final int perDraw;
+
+        /**
+         * Bound of the random number for each amount of dice: {@code sides^amount}.
+         */
+        private final int[] bounds;
+
+        /**
+         * Calculate the packing of dice.
+         * @param sides the amount of sides of the dice
+         */
+        private Packing(final int sides) {
+            int amount = 1;
+            long bound = sides;
+            while (sides > 1 && bound * sides <= Integer.MAX_VALUE) {
+                bound *= sides;
+                amount++;
+            }
+            perDraw = amount;
+            bounds = new int[amount + 1];
+            bounds[0] = 1;
+            for (int i = 1; i <= amount; i++) {
+                bounds[i] = bounds[i - 1] * sides;
+            }
+        }
+    }
+
+    /**
+     * Alias table (Vose's method) to draw from a discrete distribution with one random number.
+     */
+    private static final class AliasTable {
+
+        /**
+         * Scale of the thresholds, 2^32.
+         */
+        private static final double SCALE = 0x1p32;
+
+        /**
+         * Per column, the threshold below which the column itself is drawn, scaled by 2^32.
+         */
+        private final long[] thresholds;
+
+        /**
+         * Per column, the outcome drawn at or above the threshold.
+         */
+        private final int[] aliases;
+
+        /**
+         * Build an alias table.
+         * @param distribution the probability of each outcome, adding up to 1
+         */
+        private AliasTable(final double[] distribution) {
+            int n = distribution.length;
+            thresholds = new long[n];
+            aliases = new int[n];
+            double[] scaled = new double[n];
+            ArrayDeque<Integer> small = new ArrayDeque<>();
+            ArrayDeque<Integer> large = new ArrayDeque<>();
+            for (int i = 0; i < n; i++) {
+                scaled[i] = distribution[i] * n;
+                (scaled[i] < 1 ? small : large).add(i);
+            }
+            while (!small.isEmpty() && !large.isEmpty()) {
+                int less = small.poll();
+                int more = large.poll();
+                thresholds[less] = (long) (scaled[less] * SCALE);
+                aliases[less] = more;
+                scaled[more] += scaled[less] - 1;
+                (scaled[more] < 1 ? small : large).add(more);
+            }
+            // Left over columns are (up to rounding) full
+            for (int i : large) {
+                thresholds[i] = (long) SCALE;
+                aliases[i] = i;
+            }
+            for (int i : small) {
+                thresholds[i] = (long) SCALE;
+                aliases[i] = i;
+            }
+        }
+
+        /**
+         * Draw an outcome.
+         * The high half of the random number picks the column, the low half decides between the column and its alias.
+         * @param randomNumber a uniformly random number
+         * @return the outcome, the index in the distribution
+         */
+        private int sample(final long randomNumber) {
+            int column = (int) (((randomNumber >>> 32) * thresholds.length) >>> 32);
+            return (randomNumber & 0xFFFFFFFFL) < thresholds[column] ? column : aliases[column];
+        }
+    }
+}
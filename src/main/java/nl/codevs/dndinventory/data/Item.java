@@ -5,7 +5,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import javax.management.InstanceAlreadyExistsException;
-import java.util.HashMap;
+import java.util.Objects;
 
 @EverythingIsNonNull
 public class Item implements Comparable<Item> {
@@ -15,6 +15,26 @@ public class Item implements Comparable<Item> {
     @Nullable public final Double weight;
     public final String details;
 
+    /**
+     * Canonical instances of all items, see {@link #intern(Item)}.
+     */
+    private static final ItemCatalogue INTERNED = new ItemCatalogue();
+
+    /**
+     * FNV-1a 64-bit offset basis.
+     */
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+
+    /**
+     * FNV-1a 64-bit prime.
+     */
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /**
+     * Content fingerprint of this item.
+     */
+    private final long fingerprint;
+
     /**
      * Get the item name.
      * @return the item name
@@ -45,6 +65,41 @@ public class Item implements Comparable<Item> {
         this.worth = itemWorth;
         this.weight = itemWeight;
         this.details = itemStats;
+        this.fingerprint = fingerprint(categoryName, itemName, itemWorth, itemWeight, itemStats);
+    }
+
+    /**
+     * Get the content fingerprint of this item.
+     * Items with the same contents have the same fingerprint, across runs.
+     * @return the 64-bit fingerprint
+     */
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Whether an item has the same contents as this item.
+     * Worth is compared by value, so 1gp equals 10sp.
+     * @param other the other item
+     * @return true if category, name, worth, weight and details are equal
+     */
+    public boolean hasSameContents(final Item other) {
+        return fingerprint == other.fingerprint
+                && category == other.category
+                && name.equals(other.name)
+                && worth.getValue() == other.worth.getValue()
+                && Objects.equals(weight, other.weight)
+                && details.equals(other.details);
+    }
+
+    /**
+     * Get the canonical instance of an item.
+     * Items are only equal to themselves, so every item should be interned (as {@link #makeGetItem} does).
+     * @param item the item
+     * @return the first interned item with the same contents, or the item itself if it is the first
+     */
+    static Item intern(final Item item) {
+        return INTERNED.intern(item);
     }
 
     /**
@@ -82,17 +137,12 @@ public class Item implements Comparable<Item> {
             final String itemStats,
             final boolean saveToDatabase
     ) {
-        int hash = hashCode(categoryName, itemName, itemWorth, itemWeight, itemStats);
-        if (ItemDatabase.get().containsKey(hash)) {
-            return ItemDatabase.get().get(hash);
-        }
-        Item result = new Item(categoryName, itemName, itemWorth, itemWeight, itemStats);
-        if (saveToDatabase) {
+        Item result = intern(new Item(categoryName, itemName, itemWorth, itemWeight, itemStats));
+        if (saveToDatabase && !ItemDatabase.get().contains(result)) {
             try {
                 ItemDatabase.add(result);
             } catch (InstanceAlreadyExistsException e) {
-                System.out.println("Somehow the item did not exist, but did exist when trying to add it?");
-                e.printStackTrace();
+                // Added by another thread in the meantime
             }
         }
         return result;
@@ -107,105 +157,70 @@ public class Item implements Comparable<Item> {
     }
 
     /**
-     * Returns a hash code value for the object. This method is
-     * supported for the benefit of hash tables such as those provided by
-     * {@link HashMap}.
-     * <p>
-     * The general contract of {@code hashCode} is:
-     * <ul>
-     * <li>Whenever it is invoked on the same object more than once during
-     *     an execution of a Java application, the {@code hashCode} method
-     *     must consistently return the same integer, provided no information
-     *     used in {@code equals} comparisons on the object is modified.
-     *     This integer need not remain consistent from one execution of an
-     *     application to another execution of the same application.
-     * <li>If two objects are equal according to the {@code equals(Object)}
-     *     method, then calling the {@code hashCode} method on each of
-     *     the two objects must produce the same integer result.
-     * <li>It is <em>not</em> required that if two objects are unequal
-     *     according to the {@link Object#equals(Object)}
-     *     method, then calling the {@code hashCode} method on each of the
-     *     two objects must produce distinct integer results.  However, the
-     *     programmer should be aware that producing distinct integer results
-     *     for unequal objects may improve the performance of hash tables.
-     * </ul>
-     *
-     * @return a hash code value for this object.
-     * @implSpec As far as is reasonably practical, the {@code hashCode} method defined
-     * by class {@code Object} returns distinct integers for distinct objects.
-     * @see Object#equals(Object)
-     * @see System#identityHashCode
+     * Hash code derived from the {@link #getFingerprint() fingerprint}.
+     * @return a hash code value for this object
      */
     @Override
     public int hashCode() {
-        return hashCode(category, name, worth, weight, details);
+        return Long.hashCode(fingerprint);
     }
 
     /**
-     * Compute hashcode without instance
+     * Compute the content fingerprint of an item (64-bit FNV-1a over its contents).
      * @param category item category
      * @param name item name
      * @param worth item worth {@link Money}
      * @param weight item weight
      * @param details item details
-     * @return hashcode based on aforementioned details
+     * @return the fingerprint
      */
-    public static int hashCode(ItemType category, String name, Money worth, @Nullable Double weight, String details) {
-        return category.getName().hashCode() + name.hashCode() + worth.getAsCP() + ((Double) (weight == null ? 0 : weight)).hashCode() + details.hashCode();
+    public static long fingerprint(ItemType category, String name, Money worth, @Nullable Double weight, String details) {
+        long hash = FNV_OFFSET;
+        hash = fingerprint(hash, category.name());
+        hash = fingerprint(hash, name);
+        hash = fingerprint(hash, worth.getValue());
+        hash = fingerprint(hash, weight == null ? 1 : 0);
+        hash = fingerprint(hash, weight == null ? 0 : Double.doubleToLongBits(weight));
+        return fingerprint(hash, details);
     }
 
     /**
-     * Indicates whether some other object is "equal to" this one.
-     * <p>
-     * The {@code equals} method implements an equivalence relation
-     * on non-null object references:
-     * <ul>
-     * <li>It is <i>reflexive</i>: for any non-null reference value
-     *     {@code x}, {@code x.equals(x)} should return
-     *     {@code true}.
-     * <li>It is <i>symmetric</i>: for any non-null reference values
-     *     {@code x} and {@code y}, {@code x.equals(y)}
-     *     should return {@code true} if and only if
-     *     {@code y.equals(x)} returns {@code true}.
-     * <li>It is <i>transitive</i>: for any non-null reference values
-     *     {@code x}, {@code y}, and {@code z}, if
-     *     {@code x.equals(y)} returns {@code true} and
-     *     {@code y.equals(z)} returns {@code true}, then
-     *     {@code x.equals(z)} should return {@code true}.
-     * <li>It is <i>consistent</i>: for any non-null reference values
-     *     {@code x} and {@code y}, multiple invocations of
-     *     {@code x.equals(y)} consistently return {@code true}
-     *     or consistently return {@code false}, provided no
-     *     information used in {@code equals} comparisons on the
-     *     objects is modified.
-     * <li>For any non-null reference value {@code x},
-     *     {@code x.equals(null)} should return {@code false}.
-     * </ul>
-     * <p>
-     * The {@code equals} method for class {@code Object} implements
-     * the most discriminating possible equivalence relation on objects;
-     * that is, for any non-null reference values {@code x} and
-     * {@code y}, this method returns {@code true} if and only
-     * if {@code x} and {@code y} refer to the same object
-     * ({@code x == y} has the value {@code true}).
-     * <p>
-     * Note that it is generally necessary to override the {@code hashCode}
-     * method whenever this method is overridden, so as to maintain the
-     * general contract for the {@code hashCode} method, which states
-     * that equal objects must have equal hash codes.
-     *
+     * Add a string to a fingerprint.
+     * The length is included, so field boundaries cannot shift.
+     * @param hash the fingerprint so far
+     * @param value the string
+     * @return the new fingerprint
+     */
+    private static long fingerprint(long hash, final String value) {
+        hash = fingerprint(hash, value.length());
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Add a long to a fingerprint, byte by byte.
+     * @param hash the fingerprint so far
+     * @param value the value
+     * @return the new fingerprint
+     */
+    private static long fingerprint(long hash, final long value) {
+        for (int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+            hash = (hash ^ ((value >>> shift) & 0xff)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Items are interned (see {@link #makeGetItem}), so items are only equal to themselves.
+     * Use {@link #hasSameContents(Item)} to compare the contents of items.
      * @param obj the reference object with which to compare.
-     * @return {@code true} if this object is the same as the obj
-     * argument; {@code false} otherwise.
-     * @see #hashCode()
-     * @see HashMap
+     * @return {@code true} if this object is the same as the obj argument
      */
     @Override
     public boolean equals(Object obj) {
-        if (obj.getClass() != getClass()) {
-            return false;
-        }
-        return hashCode() == obj.hashCode();
+        return this == obj;
     }
 
     /**
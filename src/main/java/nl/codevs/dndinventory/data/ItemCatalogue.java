@@ -0,0 +1,160 @@
+package nl.codevs.dndinventory.data;
+
+import okhttp3.internal.annotations.EverythingIsNonNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Set of items keyed by their {@link Item#getFingerprint() fingerprint}.
+ * <p>
+ * Items are stored in an open-addressing table of primitive {@code long} fingerprints,
+ * so lookups do not box keys. Items with equal fingerprints but different contents are both kept;
+ * lookups compare contents after matching the fingerprint.
+ * Thread-safe.
+ */
+@EverythingIsNonNull
+public final class ItemCatalogue {
+
+    /**
+     * Initial table capacity (a power of two).
+     */
+    private static final int INITIAL_CAPACITY = 256;
+
+    /**
+     * Fingerprints of the items in {@link #items}, by slot.
+     */
+    private long[] fingerprints = new long[INITIAL_CAPACITY];
+
+    /**
+     * Items by slot, null for empty slots.
+     */
+    private @Nullable Item[] items = new Item[INITIAL_CAPACITY];
+
+    /**
+     * Items in insertion order.
+     */
+    private final List<Item> ordered = new ArrayList<>();
+
+    /**
+     * Add an item, if no item with the same contents is in the catalogue.
+     * @param item the item to add
+     * @return true if the item was added
+     */
+    public synchronized boolean add(final Item item) {
+        return find(item) == null && intern(item) == item;
+    }
+
+    /**
+     * Get the item in the catalogue with the same contents as an item, adding the item if there is none.
+     * @param item the item
+     * @return the item in the catalogue (which is the given item if it was added)
+     */
+    public synchronized Item intern(final Item item) {
+        int slot = slot(item.getFingerprint());
+        Item found;
+        while ((found = items[slot]) != null) {
+            if (fingerprints[slot] == item.getFingerprint() && found.hasSameContents(item)) {
+                return found;
+            }
+            slot = (slot + 1) & (items.length - 1);
+        }
+        fingerprints[slot] = item.getFingerprint();
+        items[slot] = item;
+        ordered.add(item);
+        if (ordered.size() * 2 > items.length) {
+            grow();
+        }
+        return item;
+    }
+
+    /**
+     * Find the item in the catalogue with the same contents as an item.
+     * @param item the item to find
+     * @return the item in the catalogue, or null if there is none
+     */
+    public synchronized @Nullable Item find(final Item item) {
+        int slot = slot(item.getFingerprint());
+        Item found;
+        while ((found = items[slot]) != null) {
+            if (fingerprints[slot] == item.getFingerprint() && found.hasSameContents(item)) {
+                return found;
+            }
+            slot = (slot + 1) & (items.length - 1);
+        }
+        return null;
+    }
+
+    /**
+     * Get an item by fingerprint.
+     * @param fingerprint the fingerprint
+     * @return the first item added with the fingerprint, or null if there is none
+     */
+    public synchronized @Nullable Item get(final long fingerprint) {
+        int slot = slot(fingerprint);
+        Item found;
+        while ((found = items[slot]) != null) {
+            if (fingerprints[slot] == fingerprint) {
+                return found;
+            }
+            slot = (slot + 1) & (items.length - 1);
+        }
+        return null;
+    }
+
+    /**
+     * Whether an item instance is in the catalogue.
+     * @param item the item
+     * @return true if this exact instance is in the catalogue
+     */
+    public boolean contains(final Item item) {
+        return find(item) == item;
+    }
+
+    /**
+     * Get the amount of items in the catalogue.
+     * @return the amount of items
+     */
+    public synchronized int size() {
+        return ordered.size();
+    }
+
+    /**
+     * Get all items in the catalogue.
+     * @return a copy of the items, in insertion order
+     */
+    public synchronized List<Item> values() {
+        return new ArrayList<>(ordered);
+    }
+
+    /**
+     * Get the slot a fingerprint hashes to.
+     * @param fingerprint the fingerprint
+     * @return the slot index
+     */
+    private int slot(final long fingerprint) {
+        return (int) (fingerprint ^ (fingerprint >>> 32)) & (items.length - 1);
+    }
+
+    /**
+     * Double the table size and re-insert all items.
+     */
+    private void grow() {
+        long[] oldFingerprints = fingerprints;
+        Item[] oldItems = items;
+        fingerprints = new long[oldItems.length * 2];
+        items = new Item[oldItems.length * 2];
+        for (int i = 0; i < oldItems.length; i++) {
+            if (oldItems[i] == null) {
+                continue;
+            }
+            int slot = slot(oldFingerprints[i]);
+            while (items[slot] != null) {
+                slot = (slot + 1) & (items.length - 1);
+            }
+            fingerprints[slot] = oldFingerprints[i];
+            items[slot] = oldItems[i];
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package nl.codevs.dndinventory.data;
 
+import nl.codevs.dndinventory.metrics.ItemDatabaseSaveEvent;
+import nl.codevs.dndinventory.metrics.ItemMatchEvent;
 import nl.codevs.strinput.system.util.NGram;
 import okhttp3.internal.annotations.EverythingIsNonNull;
 import org.jetbrains.annotations.Contract;
@@ -10,9 +12,12 @@ import javax.management.InstanceAlreadyExistsException;
 import javax.management.InstanceNotFoundException;
 import java.io.*;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.stream.Collectors;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Item database.
@@ -25,10 +30,30 @@ public final class ItemDatabase {
      */
     private static final File DATABASE_FILE = new File("./DNDInventories/databases/itemdb.csv");
 
+    /**
+     * Journal of items added since the {@link #DATABASE_FILE} was last saved.
+     */
+    private static final File JOURNAL_FILE = new File("./DNDInventories/databases/itemdb.journal.csv");
+
+    /**
+     * Binary snapshot of the {@link #DATABASE_FILE}, loaded instead of it when fresher.
+     */
+    private static final File SNAPSHOT_FILE = new File("./DNDInventories/databases/itemdb.bin");
+
+    /**
+     * Amount of journal entries after which the journal is compacted into the {@link #DATABASE_FILE}.
+     */
+    private static final int COMPACT_AFTER = 256;
+
+    /**
+     * Interval (in minutes) at which a non-empty journal is compacted into the {@link #DATABASE_FILE}.
+     */
+    private static final long COMPACT_INTERVAL_MINUTES = 10;
+
     /**
      * Separator used in the CSV {@link #DATABASE_FILE}.
      */
-    private static final String CSV_SEPARATOR = ",";
+    private static final char CSV_SEPARATOR = ',';
 
     /**
      * Expected CSV header.
@@ -38,45 +63,200 @@ public final class ItemDatabase {
     /**
      * The item database.
      */
-    private static final ConcurrentHashMap<Integer, Item> DATABASE = new ConcurrentHashMap<>();
+    private static final ItemCatalogue DATABASE = new ItemCatalogue();
+
+    /**
+     * The items in the {@link #DATABASE}, split per category.
+     */
+    private static final EnumMap<ItemType, ItemShard> SHARDS = new EnumMap<>(ItemType.class);
+
+    /**
+     * Journal of added items, guarded by the {@link ItemDatabase} class lock.
+     */
+    private static final ItemJournal JOURNAL = new ItemJournal(JOURNAL_FILE);
+
+    /**
+     * Executor compacting the {@link #JOURNAL} in the background.
+     */
+    private static final ScheduledExecutorService COMPACTOR = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "Item database compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        for (ItemType type : ItemType.values()) {
+            SHARDS.put(type, new ItemShard());
+        }
+    }
 
     // Setup data from database
     static {
-        try {
-            AtomicBoolean valid = new AtomicBoolean(false);
-            new BufferedReader(new FileReader(DATABASE_FILE)).lines().map(l -> {
-                if (l.equalsIgnoreCase(EXPECTED_HEADER)) {
-                    System.out.println("Invalid item entry: " + l);
-                    valid.set(true);
-                    return null;
-                }
-                String[] split = l.split(CSV_SEPARATOR);
-                return new Item(
-                        ItemType.fromString(split[0]),
-                        split[1],
-                        new Money(Double.parseDouble(split[2])),
-                        split[3].equals("null") ? null : Double.parseDouble(split[3]),
-                        split.length < 5 ? "" : split[4]
-                );
-            }).filter(Objects::nonNull).forEachOrdered(i -> DATABASE.put(i.hashCode(), i));
-            if (!valid.get()) {
-                throw new RuntimeException("CSV file did not have a valid header: " + EXPECTED_HEADER);
+        if (!loadSnapshot()) {
+            loadCsv();
+            COMPACTOR.execute(ItemDatabase::writeSnapshot);
+        }
+
+        // Replay items added after the last save
+        if (JOURNAL_FILE.exists()) {
+            try {
+                ItemDatabaseLoader.Result journal = ItemDatabaseLoader.load(JOURNAL_FILE, EXPECTED_HEADER, CSV_SEPARATOR);
+                int recovered = registerAll(journal.items());
+                journal.errors().forEach(System.out::println);
+                System.out.println("Recovered " + recovered + " items from journal");
+            } catch (IOException e) {
+                e.printStackTrace();
+                System.out.println("Failed to read item database journal!");
             }
+            COMPACTOR.execute(ItemDatabase::compact);
+        }
+        COMPACTOR.scheduleWithFixedDelay(
+                ItemDatabase::compact,
+                COMPACT_INTERVAL_MINUTES,
+                COMPACT_INTERVAL_MINUTES,
+                TimeUnit.MINUTES
+        );
+    }
+
+    /**
+     * Load the {@link #SNAPSHOT_FILE} if it is at least as new as the {@link #DATABASE_FILE}.
+     * @return true if the snapshot was loaded
+     */
+    private static boolean loadSnapshot() {
+        if (!ItemSnapshot.isFresh(SNAPSHOT_FILE, DATABASE_FILE)) {
+            return false;
+        }
+        long start = System.nanoTime();
+        List<Item> items;
+        try {
+            items = ItemSnapshot.read(SNAPSHOT_FILE);
+        } catch (IOException e) {
+            e.printStackTrace();
+            System.out.println("Failed to load item database snapshot, loading CSV instead!");
+            return false;
+        }
+        registerAll(items);
+        System.out.println("Loaded " + items.size() + " items from snapshot in "
+                + (System.nanoTime() - start) / 1_000_000 + "ms");
+        return true;
+    }
+
+    /**
+     * Load the {@link #DATABASE_FILE}.
+     */
+    private static void loadCsv() {
+        ItemDatabaseLoader.Result result;
+        try {
+            result = ItemDatabaseLoader.load(DATABASE_FILE, EXPECTED_HEADER, CSV_SEPARATOR);
         } catch (FileNotFoundException e) {
             throw new RuntimeException("Item database file not found");
-        } catch (IndexOutOfBoundsException e) {
-            e.printStackTrace();
-            throw new RuntimeException("Database entry corrupt, not enough ',' available");
+        } catch (IOException e) {
+            throw new RuntimeException("Item database file could not be read", e);
+        }
+        if (!result.hasHeader()) {
+            throw new RuntimeException("CSV file did not have a valid header: " + EXPECTED_HEADER);
+        }
+        registerAll(result.items());
+        result.errors().forEach(System.out::println);
+        System.out.println(result);
+    }
+
+    /**
+     * Write the {@link #SNAPSHOT_FILE} from the current database.
+     * Failing to write the snapshot is not fatal, the next startup loads the CSV instead.
+     */
+    private static synchronized void writeSnapshot() {
+        try {
+            ItemSnapshot.write(SNAPSHOT_FILE, DATABASE.values().stream().sorted().toList());
+        } catch (IOException | IllegalArgumentException e) {
+            System.out.println("Failed to write item database snapshot: " + e.getMessage());
+            SNAPSHOT_FILE.delete();
+        }
+    }
+
+    /**
+     * Put the canonical instance of an item in the {@link #DATABASE} and its {@link #SHARDS shard}.
+     * @param item the item to register
+     * @return true if the item was not yet in the database
+     */
+    private static boolean register(final Item item) {
+        Item canonical = Item.intern(item);
+        if (!DATABASE.add(canonical)) {
+            return false;
+        }
+        SHARDS.get(canonical.category).add(canonical);
+        return true;
+    }
+
+    /**
+     * Put the canonical instances of items in the {@link #DATABASE},
+     * and add them to their {@link #SHARDS shard} in bulk.
+     * @param items the items to register
+     * @return the amount of items that were not yet in the database
+     */
+    private static int registerAll(final Collection<Item> items) {
+        EnumMap<ItemType, List<Item>> added = new EnumMap<>(ItemType.class);
+        for (Item item : items) {
+            Item canonical = Item.intern(item);
+            if (DATABASE.add(canonical)) {
+                added.computeIfAbsent(canonical.category, c -> new ArrayList<>()).add(canonical);
+            }
+        }
+        int count = 0;
+        for (Map.Entry<ItemType, List<Item>> entry : added.entrySet()) {
+            SHARDS.get(entry.getKey()).addAll(entry.getValue());
+            count += entry.getValue().size();
         }
+        return count;
     }
 
     /**
      * Get the database.
+     * @return the catalogue of all items in the database
      */
-    public static ConcurrentHashMap<Integer, Item> get() {
+    public static ItemCatalogue get() {
         return DATABASE;
     }
 
+    /**
+     * Get all items in a category.
+     * @param category the category
+     * @return an unmodifiable view of the items in the category
+     */
+    public static List<Item> get(final ItemType category) {
+        return SHARDS.get(category).getItems();
+    }
+
+    /**
+     * Get an item by its exact name.
+     * @param category the category of the item
+     * @param name the exact item name
+     * @return the item, or null if no or multiple items in the category have this name
+     */
+    public static @Nullable Item get(final ItemType category, final String name) {
+        return SHARDS.get(category).get(name);
+    }
+
+    /**
+     * Get the amount of items in a category.
+     * @param category the category
+     * @return the amount of items in the category
+     */
+    public static int count(final ItemType category) {
+        return SHARDS.get(category).size();
+    }
+
+    /**
+     * Get a random item from a category.
+     * @param category the category
+     * @param random the random to use
+     * @return a random item from the category
+     * @throws IllegalStateException if the category has no items
+     */
+    public static Item random(final ItemType category, final Random random) throws IllegalStateException {
+        return SHARDS.get(category).random(random);
+    }
+
     /**
      * Get an item from the database by name (not recommended due to runtime).
      * Matches the closest matching item, not per-se the best item.
@@ -88,7 +268,7 @@ public final class ItemDatabase {
      * @return an item in the database
      */
     public static @NotNull Item fromName(final String itemName) throws InstanceNotFoundException {
-        List<Item> matches = match(itemName);
+        List<Item> matches = match(null, itemName, 0.1, 1);
         if (matches.isEmpty()) {
             throw new InstanceNotFoundException("Could not find that item!");
         } else {
@@ -113,6 +293,8 @@ public final class ItemDatabase {
      * Get all values in the database that have a custom N-Gram match score above 0.1,
      * ordered by how closely they match a certain string.
      * Uses {@link NGram}.
+     * <p>
+     * Only items that share at least one n-gram with the input (see {@link ItemIndex}) are scored.
      *
      * @param in       The input string to match with
      * @param category The category of the item
@@ -121,13 +303,64 @@ public final class ItemDatabase {
      */
     @Contract("_, _, _ -> new")
     public static List<Item> match(@Nullable final ItemType category, String in, double threshold) {
-        return sortByNGram(
-                in,
-                category == null
-                        ? new ArrayList<>(DATABASE.values())
-                        : DATABASE.values().stream().filter(i -> i.category.equals(category)).collect(Collectors.toList()),
-                threshold
-        );
+        return match(category, in, threshold, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Get the {@code limit} values in the database that best match a certain string
+     * and have a custom N-Gram match score of at least {@code threshold},
+     * ordered by how closely they match.
+     * Uses {@link NGram}.
+     * <p>
+     * Only items that share at least one n-gram with the input (see {@link ItemIndex}) are scored,
+     * and only within the {@code category} if one is given.
+     *
+     * @param category The category of the item, or null for any category
+     * @param in The input string to match with
+     * @param threshold The matching threshold
+     * @param limit The maximal amount of items to return
+     * @return A list of at most {@code limit} items sorted by how close they match
+     */
+    @Contract("_, _, _, _ -> new")
+    public static List<Item> match(
+            @Nullable final ItemType category,
+            final String in,
+            final double threshold,
+            final int limit
+    ) {
+        ItemMatchEvent event = new ItemMatchEvent();
+        event.begin();
+        List<Item> candidates;
+        if (category != null) {
+            candidates = candidates(SHARDS.get(category), in);
+        } else {
+            candidates = new ArrayList<>();
+            for (ItemShard shard : SHARDS.values()) {
+                candidates.addAll(candidates(shard, in));
+            }
+        }
+        List<Item> matches = topByNGram(in, candidates, threshold, limit);
+        if (event.shouldCommit()) {
+            event.query = in;
+            event.category = category == null ? "" : category.name();
+            event.scored = candidates.size();
+            event.results = matches.size();
+            event.commit();
+        }
+        return matches;
+    }
+
+    /**
+     * Get the items in a shard worth scoring against an input.
+     * @param shard the shard to search
+     * @param in the input string
+     * @return the items sharing an n-gram with the input,
+     * or all items in the shard if the input is too short to index
+     */
+    private static List<Item> candidates(final ItemShard shard, final String in) {
+        return ItemIndex.isIndexable(in)
+                ? shard.getIndex().candidates(in)
+                : new ArrayList<>(shard.getItems());
     }
 
     /**
@@ -141,72 +374,232 @@ public final class ItemDatabase {
      * @return an array with the elements of
      * {@code itemList}, in sorted order.
      */
-    @Contract(mutates = "param2")
+    @Contract("_, _, _ -> new")
     public static @NotNull List<Item> sortByNGram(
             @NotNull final String input,
             @NotNull final List<Item> itemList,
             final double threshold
     ) {
-        ConcurrentHashMap<Item, Double> results = new ConcurrentHashMap<>();
+        return topByNGram(input, itemList, threshold, itemList.size());
+    }
+
+    /**
+     * Select the best {@code limit} items by n-gram match to a string input.<br>
+     * The best match (the highest n-gram score) is first.
+     * Equal scores are ordered by name length (shortest first), then by position in {@code itemList}.
+     * <p>
+     * Keeps a bounded heap of the best items seen so far,
+     * so this runs in {@code O(n log limit)} instead of sorting the whole list.
+     * @param input the input string for matching (source)
+     * @param itemList the list of items to select from. <em>Not modified.</em>
+     * @param threshold the minimal matching score
+     * @param limit the maximal amount of items to return
+     * @return a list of at most {@code limit} elements of {@code itemList}, in sorted order
+     */
+    @Contract("_, _, _, _ -> new")
+    public static @NotNull List<Item> topByNGram(
+            @NotNull final String input,
+            @NotNull final List<Item> itemList,
+            final double threshold,
+            final int limit
+    ) {
+        if (limit <= 0 || itemList.isEmpty()) {
+            return new ArrayList<>();
+        }
         double[] scores = NGram.ngramMatching(input, itemList.stream().map(Item::getName).toList());
+
+        // Min-heap of indices into itemList, the worst kept item at the root
+        int[] heap = new int[Math.min(limit, itemList.size())];
+        int size = 0;
         for (int i = 0; i < scores.length; i++) {
-            results.put(itemList.get(i), scores[i]);
+            if (scores[i] < threshold) {
+                continue;
+            }
+            if (size < heap.length) {
+                heap[size] = i;
+                siftUp(heap, size++, scores, itemList);
+            } else if (isBetter(i, heap[0], scores, itemList)) {
+                heap[0] = i;
+                siftDown(heap, size, scores, itemList);
+            }
         }
 
-        // Get & sort
-        return itemList
-                .stream()
-                .filter(v -> results.get(v) >= threshold)
-                .sorted(Comparator.comparingInt(v -> v.getName().length()))
-                .sorted(Comparator.comparingDouble(v -> -results.get(v)))
-                .collect(Collectors.toList());
+        // Drain worst-first into the back of the result
+        Item[] result = new Item[size];
+        while (size > 0) {
+            result[size - 1] = itemList.get(heap[0]);
+            heap[0] = heap[--size];
+            siftDown(heap, size, scores, itemList);
+        }
+        return new ArrayList<>(Arrays.asList(result));
     }
 
     /**
-     * Add an item to the database. Automatically saves to file.
+     * Whether item {@code a} is a better match than item {@code b}.
+     * @param a index of the first item
+     * @param b index of the second item
+     * @param scores n-gram scores per index
+     * @param items the items
+     * @return true if {@code a} should be ordered before {@code b}
+     */
+    private static boolean isBetter(final int a, final int b, final double[] scores, final List<Item> items) {
+        if (scores[a] != scores[b]) {
+            return scores[a] > scores[b];
+        }
+        int lengthA = items.get(a).getName().length();
+        int lengthB = items.get(b).getName().length();
+        if (lengthA != lengthB) {
+            return lengthA < lengthB;
+        }
+        return a < b;
+    }
+
+    /**
+     * Move the heap element at {@code pos} up until its parent is worse.
+     * @param heap the heap of indices
+     * @param pos the position of the element to move
+     * @param scores n-gram scores per index
+     * @param items the items
+     */
+    private static void siftUp(final int[] heap, int pos, final double[] scores, final List<Item> items) {
+        int value = heap[pos];
+        while (pos > 0) {
+            int parent = (pos - 1) / 2;
+            if (!isBetter(heap[parent], value, scores, items)) {
+                break;
+            }
+            heap[pos] = heap[parent];
+            pos = parent;
+        }
+        heap[pos] = value;
+    }
+
+    /**
+     * Move the root of the heap down until both its children are better.
+     * @param heap the heap of indices
+     * @param size the amount of elements in the heap
+     * @param scores n-gram scores per index
+     * @param items the items
+     */
+    private static void siftDown(final int[] heap, final int size, final double[] scores, final List<Item> items) {
+        if (size == 0) {
+            return;
+        }
+        int value = heap[0];
+        int pos = 0;
+        while (2 * pos + 1 < size) {
+            int child = 2 * pos + 1;
+            if (child + 1 < size && isBetter(heap[child], heap[child + 1], scores, items)) {
+                child++;
+            }
+            if (!isBetter(value, heap[child], scores, items)) {
+                break;
+            }
+            heap[pos] = heap[child];
+            pos = child;
+        }
+        heap[pos] = value;
+    }
+
+    /**
+     * Add an item to the database.
+     * The item is appended to the journal immediately,
+     * and saved to the database file when the journal is compacted.
      *
      * @param item The item to add
      * @throws InstanceAlreadyExistsException when item already exists in the database
      */
-    public static void add(final Item item)
+    public static synchronized void add(final Item item)
             throws InstanceAlreadyExistsException {
 
         // Exact copy check
-        if (DATABASE.containsKey(item.hashCode())) {
+        if (!register(item)) {
             throw new InstanceAlreadyExistsException("A copy of this already exists in the database!" + item);
         }
 
-        DATABASE.put(item.hashCode(), item);
+        // Journal item
+        try {
+            JOURNAL.append(toCsvLine(item));
+        } catch (IOException e) {
+            e.printStackTrace();
+            System.out.println("Failed to journal item, saving database instead!");
+            save();
+            return;
+        }
+
+        if (JOURNAL.getEntries() >= COMPACT_AFTER) {
+            COMPACTOR.execute(ItemDatabase::compact);
+        }
+    }
 
-        // Save database
-        save();
+    /**
+     * Save the database to file if there are journaled items that have not been saved yet.
+     */
+    private static synchronized void compact() {
+        if (JOURNAL.getFile().exists()) {
+            save();
+        }
     }
 
     /**
-     * Save to file.
+     * Save to file, clear the journal and write a new snapshot.
+     * The file is written to a temporary file first, and then moved in place.
      */
-    public static void save() {
+    public static synchronized void save() {
+        ItemDatabaseSaveEvent event = new ItemDatabaseSaveEvent();
+        event.begin();
+        File temp = new File(DATABASE_FILE.getPath() + ".tmp");
+        try {
+            // Write to temporary file
+            List<Item> items = DATABASE.values().stream().sorted().toList();
+            try (BufferedWriter writer = new BufferedWriter(new FileWriter(temp))) {
+                writer.write(EXPECTED_HEADER);
+                writer.write('\n');
+                for (Item item : items) {
+                    writer.write(toCsvLine(item));
+                    writer.write('\n');
+                }
+            }
+            event.items = items.size();
+            event.bytes = temp.length();
 
-        // Convert to CSV
-        StringBuilder out = new StringBuilder(EXPECTED_HEADER).append("\n");
-        DATABASE.values().stream().sorted().forEachOrdered(item -> out
-                .append(item.category).append(",")
-                .append(item.name).append(",")
-                .append(item.worth.getAsGP()).append(",")
-                .append(item.weight).append(",")
-                .append(item.details).append("\n"));
+            // Replace database file
+            try {
+                Files.move(temp.toPath(), DATABASE_FILE.toPath(),
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp.toPath(), DATABASE_FILE.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            event.succeeded = true;
+        } catch (IOException e) {
+            e.printStackTrace();
+            System.out.println("Failed to save database!");
+            return;
+        } finally {
+            event.commit();
+        }
 
         try {
-            // Write to file
-            BufferedWriter writer = new BufferedWriter(
-                    new FileWriter(DATABASE_FILE)
-            );
-            writer.write(out.toString());
-            writer.close();
+            JOURNAL.clear();
         } catch (IOException e) {
+            // Replaying the journal again is harmless, duplicates are skipped
             e.printStackTrace();
-            System.out.println("Failed to save database!");
         }
+
+        writeSnapshot();
+    }
+
+    /**
+     * Convert an item to a line in the database file.
+     * @param item the item to convert
+     * @return the CSV line (without line separator)
+     */
+    static String toCsvLine(final Item item) {
+        return item.category + String.valueOf(CSV_SEPARATOR)
+                + item.name + CSV_SEPARATOR
+                + item.worth.getAsGP() + CSV_SEPARATOR
+                + item.weight + CSV_SEPARATOR
+                + item.details;
     }
 
     private ItemDatabase() {
@@ -0,0 +1,225 @@
+package nl.codevs.dndinventory.data;
+
+import okhttp3.internal.annotations.EverythingIsNonNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Loads the item database CSV.
+ * <p>
+ * Lines are read sequentially and handed off in chunks to be parsed in parallel.
+ * Lines that cannot be parsed are collected as {@link LineError}s instead of aborting the load.
+ */
+@EverythingIsNonNull
+public final class ItemDatabaseLoader {
+
+    /**
+     * Amount of lines parsed per task.
+     */
+    private static final int CHUNK_SIZE = 2048;
+
+    /**
+     * Amount of fields before the (free text) stats field.
+     */
+    private static final int FIXED_FIELDS = 4;
+
+    /**
+     * Category strings seen before, to skip {@link ItemType#fromString(String)} for repeated values.
+     */
+    private static final ConcurrentHashMap<String, ItemType> CATEGORY_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Load all items from a database file.
+     * @param file the CSV file to load
+     * @param header the expected header line (matched case-insensitively)
+     * @param separator the field separator
+     * @return the load result, with items in file order
+     * @throws IOException if the file cannot be read
+     */
+    public static Result load(final File file, final String header, final char separator) throws IOException {
+        long start = System.nanoTime();
+        boolean headerFound = false;
+        List<CompletableFuture<Chunk>> chunks = new ArrayList<>();
+
+        int lineNumber = 0;
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            List<String> lines = new ArrayList<>(CHUNK_SIZE);
+            int firstLine = 1;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.equalsIgnoreCase(header)) {
+                    headerFound = true;
+                    line = "";
+                }
+                lines.add(line);
+                if (lines.size() == CHUNK_SIZE) {
+                    chunks.add(submit(lines, firstLine, separator));
+                    lines = new ArrayList<>(CHUNK_SIZE);
+                    firstLine = lineNumber + 1;
+                }
+            }
+            if (!lines.isEmpty()) {
+                chunks.add(submit(lines, firstLine, separator));
+            }
+        }
+
+        List<Item> items = new ArrayList<>();
+        List<LineError> errors = new ArrayList<>();
+        for (CompletableFuture<Chunk> chunk : chunks) {
+            Chunk parsed = chunk.join();
+            items.addAll(parsed.items());
+            errors.addAll(parsed.errors());
+        }
+        return new Result(items, errors, lineNumber, headerFound, System.nanoTime() - start);
+    }
+
+    /**
+     * Parse a chunk of lines asynchronously.
+     * @param lines the lines to parse
+     * @param firstLine the line number of the first line
+     * @param separator the field separator
+     * @return the future parse result
+     */
+    private static CompletableFuture<Chunk> submit(final List<String> lines, final int firstLine, final char separator) {
+        return CompletableFuture.supplyAsync(() -> parseChunk(lines, firstLine, separator));
+    }
+
+    /**
+     * Parse a chunk of lines.
+     * @param lines the lines to parse
+     * @param firstLine the line number of the first line
+     * @param separator the field separator
+     * @return the parsed items and errors
+     */
+    private static Chunk parseChunk(final List<String> lines, final int firstLine, final char separator) {
+        List<Item> items = new ArrayList<>(lines.size());
+        List<LineError> errors = new ArrayList<>();
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                items.add(parseLine(line, separator));
+            } catch (RuntimeException e) {
+                errors.add(new LineError(firstLine + i, line, e.getMessage()));
+            }
+        }
+        return new Chunk(items, errors);
+    }
+
+    /**
+     * Parse a single CSV line into an item.
+     * The first four fields are category, name, value and weight;
+     * everything after the fourth separator is the stats field (which may contain separators).
+     * @param line the line to parse
+     * @param separator the field separator
+     * @return the parsed item
+     * @throws IllegalArgumentException if the line is malformed
+     */
+    static Item parseLine(final String line, final char separator) throws IllegalArgumentException {
+        String[] fields = new String[FIXED_FIELDS];
+        int start = 0;
+        for (int f = 0; f < FIXED_FIELDS; f++) {
+            int end = line.indexOf(separator, start);
+            if (end < 0) {
+                if (f < FIXED_FIELDS - 1) {
+                    throw new IllegalArgumentException("Expected " + FIXED_FIELDS + " fields, found " + (f + 1));
+                }
+                end = line.length();
+            }
+            fields[f] = line.substring(start, end);
+            start = end + 1;
+        }
+        String stats = start < line.length() ? line.substring(start) : "";
+
+        return new Item(
+                category(fields[0]),
+                fields[1],
+                new Money(parseNumber(fields[2], "value")),
+                fields[3].equals("null") ? null : parseNumber(fields[3], "weight"),
+                stats
+        );
+    }
+
+    /**
+     * Get a category from a string, using the {@link #CATEGORY_CACHE}.
+     * @param in the category string
+     * @return the category
+     * @throws IllegalArgumentException if the string is not a category
+     */
+    private static ItemType category(final String in) throws IllegalArgumentException {
+        ItemType cached = CATEGORY_CACHE.get(in);
+        if (cached != null) {
+            return cached;
+        }
+        ItemType type = ItemType.fromString(in);
+        CATEGORY_CACHE.put(in, type);
+        return type;
+    }
+
+    /**
+     * Parse a number field.
+     * @param in the field
+     * @param field the field name, for error reporting
+     * @return the parsed number
+     * @throws IllegalArgumentException if the field is not a number
+     */
+    private static double parseNumber(final String in, final String field) throws IllegalArgumentException {
+        try {
+            return Double.parseDouble(in);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + field + ": '" + in + "'");
+        }
+    }
+
+    /**
+     * Parse result of a chunk of lines.
+     * @param items the parsed items
+     * @param errors the lines that could not be parsed
+     */
+    private record Chunk(List<Item> items, List<LineError> errors) {
+    }
+
+    /**
+     * A line that could not be loaded.
+     * @param line the line number (1-based)
+     * @param content the content of the line
+     * @param reason why the line could not be loaded
+     */
+    public record LineError(int line, String content, @Nullable String reason) {
+        @Override
+        public String toString() {
+            return "Invalid item entry on line " + line + " (" + reason + "): " + content;
+        }
+    }
+
+    /**
+     * Result of loading a database file.
+     * @param items the loaded items, in file order
+     * @param errors the lines that could not be loaded
+     * @param lines the amount of lines read (including the header)
+     * @param hasHeader whether the expected header was found
+     * @param nanos the time it took to load, in nanoseconds
+     */
+    public record Result(List<Item> items, List<LineError> errors, int lines, boolean hasHeader, long nanos) {
+        @Override
+        public String toString() {
+            return "Loaded " + items.size() + " items from " + lines + " lines"
+                    + " in " + nanos / 1_000_000 + "ms (" + errors.size() + " errors)";
+        }
+    }
+
+    private ItemDatabaseLoader() {
+        // Never called
+    }
+}
@@ -0,0 +1,93 @@
+package nl.codevs.dndinventory.data;
+
+import okhttp3.internal.annotations.EverythingIsNonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * N-gram inverted index over item names.
+ * <p>
+ * Maps every n-gram of an item name to the items (posting list) that contain it,
+ * so a search only has to score items that share at least one n-gram with the input.
+ * Built once when the database loads and updated on every {@link ItemDatabase#add(Item)}.
+ */
+@EverythingIsNonNull
+public final class ItemIndex {
+
+    /**
+     * Size of the n-grams stored in the index.
+     */
+    public static final int GRAM_SIZE = 2;
+
+    /**
+     * N-gram to items containing that n-gram.
+     */
+    private final ConcurrentHashMap<String, Set<Item>> postings = new ConcurrentHashMap<>();
+
+    /**
+     * Add an item to the index.
+     * @param item the item to add
+     */
+    public void add(final Item item) {
+        for (String gram : grams(item.getName())) {
+            postings.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(item);
+        }
+    }
+
+    /**
+     * Add items to the index.
+     * @param items the items to add
+     */
+    public void addAll(final Collection<Item> items) {
+        items.forEach(this::add);
+    }
+
+    /**
+     * Get all items that share at least one n-gram with the input.
+     * @param input the input string
+     * @return a new list of candidate items, empty if none share an n-gram
+     */
+    @Contract("_ -> new")
+    public @NotNull List<Item> candidates(final String input) {
+        Set<Item> result = new HashSet<>();
+        for (String gram : grams(input)) {
+            Set<Item> posting = postings.get(gram);
+            if (posting != null) {
+                result.addAll(posting);
+            }
+        }
+        return new ArrayList<>(result);
+    }
+
+    /**
+     * Whether an input is long enough to be looked up in the index.
+     * Shorter inputs have no n-grams and should be matched against all items instead.
+     * @param input the input string
+     * @return true if the input contains at least one n-gram
+     */
+    public static boolean isIndexable(final String input) {
+        return input.length() >= GRAM_SIZE;
+    }
+
+    /**
+     * Get the distinct n-grams of a string (case-insensitive).
+     * @param in the string to split
+     * @return the n-grams in the string
+     */
+    private static Set<String> grams(final String in) {
+        String lower = in.toLowerCase(Locale.ROOT);
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_SIZE <= lower.length(); i++) {
+            grams.add(lower.substring(i, i + GRAM_SIZE));
+        }
+        return grams;
+    }
+}
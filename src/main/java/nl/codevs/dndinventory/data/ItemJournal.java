@@ -0,0 +1,77 @@
+package nl.codevs.dndinventory.data;
+
+import okhttp3.internal.annotations.EverythingIsNonNull;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+
+/**
+ * Append-only journal of items added to the {@link ItemDatabase} since it was last saved.
+ * <p>
+ * Each added item costs one appended CSV line instead of a rewrite of the whole database file.
+ * The journal is replayed on startup and emptied once the database file is rewritten (compacted).
+ * Not thread-safe, callers synchronize.
+ */
+@EverythingIsNonNull
+final class ItemJournal {
+
+    /**
+     * The journal file.
+     */
+    private final File file;
+
+    /**
+     * Amount of entries appended since the journal was last cleared.
+     */
+    private int entries = 0;
+
+    /**
+     * Create a journal.
+     * @param journalFile the file to append to
+     */
+    ItemJournal(final File journalFile) {
+        file = journalFile;
+    }
+
+    /**
+     * Get the journal file.
+     * @return the journal file
+     */
+    File getFile() {
+        return file;
+    }
+
+    /**
+     * Get the amount of entries appended since the journal was last cleared.
+     * @return the amount of entries
+     */
+    int getEntries() {
+        return entries;
+    }
+
+    /**
+     * Append a line to the journal.
+     * The line is written and flushed before this returns.
+     * @param line the line to append (without line separator)
+     * @throws IOException if the line could not be written
+     */
+    void append(final String line) throws IOException {
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file, true))) {
+            writer.write(line);
+            writer.write('\n');
+        }
+        entries++;
+    }
+
+    /**
+     * Clear the journal, after its entries have been written to the database file.
+     * @throws IOException if the journal could not be removed
+     */
+    void clear() throws IOException {
+        Files.deleteIfExists(file.toPath());
+        entries = 0;
+    }
+}
@@ -0,0 +1,111 @@
+package nl.codevs.dndinventory.data;
+
+import okhttp3.internal.annotations.EverythingIsNonNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The part of the {@link ItemDatabase} holding all items of a single {@link ItemType}.
+ */
+@EverythingIsNonNull
+final class ItemShard {
+
+    /**
+     * Items in this shard, in insertion order.
+     * Adds are rare compared to reads, so a copy-on-write list keeps iteration and sampling lock-free.
+     */
+    private final List<Item> items = new CopyOnWriteArrayList<>();
+
+    /**
+     * Items by exact name. Names shared by multiple items in this shard map to {@link #AMBIGUOUS}.
+     */
+    private final ConcurrentHashMap<String, Item> byName = new ConcurrentHashMap<>();
+
+    /**
+     * Marker for names shared by multiple items in the {@link #byName} map.
+     */
+    private static final Item AMBIGUOUS = new Item(ItemType.MISC, "", new Money(), null, "");
+
+    /**
+     * N-gram index over the names of the {@link #items}.
+     */
+    private final ItemIndex index = new ItemIndex();
+
+    /**
+     * Add an item to the shard.
+     * @param item the item to add
+     */
+    void add(final Item item) {
+        items.add(item);
+        index.add(item);
+        byName.merge(item.getName(), item, (a, b) -> AMBIGUOUS);
+    }
+
+    /**
+     * Add items to the shard at once.
+     * The {@link #items} are copied once, rather than once per item as with {@link #add(Item)}.
+     * @param added the items to add
+     */
+    void addAll(final Collection<Item> added) {
+        items.addAll(added);
+        index.addAll(added);
+        for (Item item : added) {
+            byName.merge(item.getName(), item, (a, b) -> AMBIGUOUS);
+        }
+    }
+
+    /**
+     * Get the only item in this shard with a name.
+     * @param name the exact item name
+     * @return the item, or null if no or multiple items have this name
+     */
+    @Nullable Item get(final String name) {
+        Item item = byName.get(name);
+        return item == AMBIGUOUS ? null : item;
+    }
+
+    /**
+     * Get the items in this shard.
+     * @return an unmodifiable view of the items
+     */
+    List<Item> getItems() {
+        return Collections.unmodifiableList(items);
+    }
+
+    /**
+     * Get the n-gram index of this shard.
+     * @return the index
+     */
+    ItemIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Get the amount of items in this shard.
+     * @return the amount of items
+     */
+    int size() {
+        return items.size();
+    }
+
+    /**
+     * Get a random item from this shard.
+     * @param random the random to use
+     * @return a random item
+     * @throws IllegalStateException if the shard is empty
+     */
+    Item random(final Random random) throws IllegalStateException {
+        // Items are never removed, so the size can only grow between these calls
+        int size = items.size();
+        if (size == 0) {
+            throw new IllegalStateException("No items in this category");
+        }
+        return items.get(random.nextInt(size));
+    }
+}
@@ -0,0 +1,183 @@
+package nl.codevs.dndinventory.data;
+
+import okhttp3.internal.annotations.EverythingIsNonNull;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary snapshot of the item database, for fast startup.
+ * <p>
+ * Layout (big-endian):
+ * <ul>
+ *     <li>{@code int} magic, {@code int} version</li>
+ *     <li>{@code int} string count, then per string: {@code int} byte length and UTF-8 bytes</li>
+ *     <li>{@code int} item count, then per item: {@code byte} category ordinal,
+ *     {@code int} name string, {@code int} details string, {@code int} worth in CP
+ *     and {@code float} weight ({@code NaN} for no weight)</li>
+ * </ul>
+ * Names and details are stored once in the string table and referenced by index.
+ */
+@EverythingIsNonNull
+final class ItemSnapshot {
+
+    /**
+     * Snapshot file magic number ("ADB1").
+     */
+    private static final int MAGIC = 0x41444231;
+
+    /**
+     * Snapshot format version.
+     * Increment when the layout or the order of {@link ItemType}s changes.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * Whether a snapshot exists and is at least as new as the file it was made from.
+     * @param snapshot the snapshot file
+     * @param source the file the snapshot represents
+     * @return true if the snapshot can be used instead of the source
+     */
+    static boolean isFresh(final File snapshot, final File source) {
+        return snapshot.exists() && snapshot.lastModified() >= source.lastModified();
+    }
+
+    /**
+     * Whether an item can be stored in a snapshot without changing it.
+     * Weights are stored as floats, which must convert back to the exact same double,
+     * and worth is stored as an int amount of CP.
+     * @param item the item
+     * @return true if the item survives a snapshot round-trip
+     */
+    static boolean canStore(final Item item) {
+        return item.worth.getValue() <= Integer.MAX_VALUE
+                && (item.weight == null || toWeight((float) (double) item.weight) == (double) item.weight);
+    }
+
+    /**
+     * Write a snapshot.
+     * The snapshot is written to a temporary file first, and then moved in place.
+     * @param file the snapshot file
+     * @param items the items to store
+     * @throws IOException if the snapshot could not be written
+     * @throws IllegalArgumentException if an item cannot be stored (see {@link #canStore(Item)})
+     */
+    static void write(final File file, final Collection<Item> items) throws IOException, IllegalArgumentException {
+        // String table
+        Map<String, Integer> indices = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+        for (Item item : items) {
+            if (!canStore(item)) {
+                throw new IllegalArgumentException("Item weight cannot be stored in a snapshot: " + item);
+            }
+            indices.computeIfAbsent(item.name, s -> { strings.add(s); return strings.size() - 1; });
+            indices.computeIfAbsent(item.details, s -> { strings.add(s); return strings.size() - 1; });
+        }
+
+        File temp = new File(file.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(strings.size());
+            for (String string : strings) {
+                byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+            out.writeInt(items.size());
+            for (Item item : items) {
+                out.writeByte(item.category.ordinal());
+                out.writeInt(indices.get(item.name));
+                out.writeInt(indices.get(item.details));
+                out.writeInt(item.worth.getAsCP());
+                out.writeFloat(item.weight == null ? Float.NaN : (float) (double) item.weight);
+            }
+        }
+
+        try {
+            Files.move(temp.toPath(), file.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Read a snapshot, by mapping it into memory.
+     * @param file the snapshot file
+     * @return the items in the snapshot, in stored order
+     * @throws IOException if the snapshot could not be read, or is not a valid snapshot
+     */
+    static List<Item> read(final File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not an item snapshot: " + file);
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported item snapshot version " + version + ": " + file);
+            }
+
+            String[] strings = new String[buffer.getInt()];
+            for (int i = 0; i < strings.length; i++) {
+                byte[] bytes = new byte[buffer.getInt()];
+                buffer.get(bytes);
+                strings[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+
+            ItemType[] types = ItemType.values();
+            int count = buffer.getInt();
+            List<Item> items = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                ItemType category = types[buffer.get()];
+                String name = strings[buffer.getInt()];
+                String details = strings[buffer.getInt()];
+                Money worth = Money.ofCP(buffer.getInt());
+                items.add(new Item(category, name, worth, readWeight(buffer), details));
+            }
+            return items;
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt item snapshot: " + file, e);
+        }
+    }
+
+    /**
+     * Read a weight from a buffer.
+     * @param buffer the buffer
+     * @return the weight, or null if the item has no weight
+     */
+    private static Double readWeight(final ByteBuffer buffer) {
+        float weight = buffer.getFloat();
+        return Float.isNaN(weight) ? null : toWeight(weight);
+    }
+
+    /**
+     * Convert a stored float weight back to the double it was written from.
+     * @param weight the stored weight
+     * @return the weight as double
+     */
+    private static double toWeight(final float weight) {
+        return Double.parseDouble(Float.toString(weight));
+    }
+
+    private ItemSnapshot() {
+        // Never called
+    }
+}
@@ -1,15 +1,10 @@
 package nl.codevs.dndinventory.data;
 
+import nl.codevs.dndinventory.metrics.MoneyParseEvent;
 import okhttp3.internal.annotations.EverythingIsNonNull;
 import org.jetbrains.annotations.Contract;
 
 import java.security.InvalidParameterException;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Locale;
-import java.util.regex.MatchResult;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import static nl.codevs.dndinventory.data.Money.Coin.CP;
 import static nl.codevs.dndinventory.data.Money.Coin.SP;
@@ -17,44 +12,68 @@ import static nl.codevs.dndinventory.data.Money.Coin.EP;
 import static nl.codevs.dndinventory.data.Money.Coin.GP;
 import static nl.codevs.dndinventory.data.Money.Coin.PP;
 
+/**
+ * An immutable amount of coins.
+ * <p>
+ * The value is kept as a total in CP (see {@link #getValue()}), and arithmetic is done on it with {@link MoneyMath},
+ * only creating a new {@link Money} for the result.
+ * Simplified money derives its coins from the total, other money keeps the coins it was created with.
+ */
 @EverythingIsNonNull
 public final class Money {
 
+    /**
+     * Total value, in CP.
+     */
+    private final long value;
     /**
      * Copper pieces.
      */
-    private int cp;
+    private final int cp;
     /**
      * Silver pieces.
      */
-    private int sp;
+    private final int sp;
     /**
      * Electrum pieces.
      */
-    private int ep;
+    private final int ep;
     /**
      * Gold pieces.
      */
-    private int gp;
+    private final int gp;
     /**
      * Platinum pieces.
      */
-    private int pp;
+    private final int pp;
 
     /**
      * Should convert to cp, sp and gp for value.
      * Set this to false for an inventory with x amount of coins of a specific type.
      */
-    private boolean simplify = true;
+    private final boolean simplify;
 
     /**
-     * Set simplification.
+     * Get this value with a different simplification.
      * If true, converts value to cp, sp and gp.
      * Set this to false for an inventory with x amount of coins of a specific type.
      * @param simplify whether to simplify or not
+     * @return this value if it already has the simplification, otherwise a new value
      */
-    public void setSimplify(boolean simplify) {
-        this.simplify = simplify;
+    @Contract(pure = true)
+    public Money withSimplify(final boolean simplify) {
+        if (simplify == this.simplify) {
+            return this;
+        }
+        return new Money(cp, sp, ep, gp, pp, simplify);
+    }
+
+    /**
+     * Get simplification.
+     * @return true if this value converts to cp, sp and gp
+     */
+    public boolean isSimplify() {
+        return simplify;
     }
 
     /**
@@ -76,7 +95,7 @@ public final class Money {
             final Money money,
             final double modifierFor
     ) throws IllegalArgumentException {
-        return new Money(CP, money.getAsCP() * modifierFor);
+        return ofCP(MoneyMath.scale(money.getValue(), modifierFor));
     }
 
     /**
@@ -87,7 +106,52 @@ public final class Money {
      */
     @Contract("_ -> new")
     public Money subtract(final Money money) throws IllegalArgumentException {
-        return new Money(CP, getAsCP() - money.getAsCP());
+        return ofCP(MoneyMath.subtract(getValue(), money.getValue()));
+    }
+
+    /**
+     * Create a simplified value (in cp, sp and gp) from an amount of CP.
+     * @param value The value, in CP
+     * @return The new value
+     * @throws IllegalArgumentException if the value is negative
+     * @throws ArithmeticException if the value has more GP than fit an int
+     */
+    @Contract("_ -> new")
+    public static Money ofCP(final long value) throws IllegalArgumentException, ArithmeticException {
+        return new Money(simplified(value), true);
+    }
+
+    /**
+     * Get the coins of a simplified value: as much GP as possible, then SP, then CP.
+     * @param value The value, in CP
+     * @return The amount of each coin, indexed by {@link Coin#ordinal()}
+     * @throws IllegalArgumentException if the value is negative
+     * @throws ArithmeticException if the value has more GP than fit an int
+     */
+    private static int[] simplified(final long value) throws IllegalArgumentException, ArithmeticException {
+        if (value < 0) {
+            throw new IllegalArgumentException("Input negative value: " + value + "cp");
+        }
+        int[] coins = new int[Coin.values().length];
+        coins[CP.ordinal()] = (int) (value % MoneyMath.CP_PER_SP);
+        coins[SP.ordinal()] = (int) (value % MoneyMath.CP_PER_GP / MoneyMath.CP_PER_SP);
+        coins[GP.ordinal()] = Math.toIntExact(value / MoneyMath.CP_PER_GP);
+        return coins;
+    }
+
+    /**
+     * Add up whole amounts of coins.
+     * @param types The coin types
+     * @param amounts The amount of each coin type
+     * @return The amount of each coin, indexed by {@link Coin#ordinal()}
+     * @throws ArithmeticException if an amount does not fit an int
+     */
+    private static int[] coins(final Coin[] types, final int[] amounts) throws ArithmeticException {
+        int[] coins = new int[Coin.values().length];
+        for (int i = 0; i < types.length; i++) {
+            coins[types[i].ordinal()] = Math.addExact(coins[types[i].ordinal()], amounts[i]);
+        }
+        return coins;
     }
 
     /**
@@ -174,7 +238,7 @@ public final class Money {
     }
 
     /**
-     * Fractional two types.
+     * Fractional two types, rounded to the nearest CP and simplified.
      * @param type1 The first coin type
      * @param amount1 The first coin amount
      * @param type2 The second coin type
@@ -187,9 +251,7 @@ public final class Money {
             final Coin type2,
             final double amount2
     ) throws IllegalArgumentException {
-        addCoin(type1, amount1);
-        addCoin(type2, amount2);
-        maxTarget();
+        this(simplified(MoneyMath.add(MoneyMath.toCP(type1, amount1), MoneyMath.toCP(type2, amount2))), true);
     }
 
     /**
@@ -268,12 +330,7 @@ public final class Money {
             final int amount3,
             boolean simplify
     ) throws IllegalArgumentException {
-        addCoin(type1, amount1);
-        addCoin(type2, amount2);
-        addCoin(type3, amount3);
-        validate();
-        setSimplify(simplify);
-        maxTarget();
+        this(coins(new Coin[]{type1, type2, type3}, new int[]{amount1, amount2, amount3}), simplify);
     }
 
     /**
@@ -320,14 +377,38 @@ public final class Money {
             final int platinumPieces,
             boolean simplify
     ) throws IllegalArgumentException {
-        this.cp = copperPieces;
-        this.sp = silverPieces;
-        this.ep = electrumPieces;
-        this.gp = goldPieces;
-        this.pp = platinumPieces;
-        validate();
-        setSimplify(simplify);
-        maxTarget();
+        this(new int[]{copperPieces, silverPieces, electrumPieces, goldPieces, platinumPieces}, simplify);
+    }
+
+    /**
+     * Any amount of each {@link Coin} type.
+     * @param coins The amount of each coin, indexed by {@link Coin#ordinal()}
+     * @param simplify If set to true, simplifies by maximizing gp, then sp, then cp
+     * @throws IllegalArgumentException if the input is negative
+     */
+    private Money(final int[] coins, final boolean simplify) throws IllegalArgumentException {
+        for (int coin : coins) {
+            if (coin < 0) {
+                throw new IllegalArgumentException("Input negative value: "
+                        + coins[PP.ordinal()] + "pp " + coins[GP.ordinal()] + "gp " + coins[EP.ordinal()] + "ep "
+                        + coins[SP.ordinal()] + "sp " + coins[CP.ordinal()] + "cp");
+            }
+        }
+        long total = MoneyMath.toCP(
+                coins[CP.ordinal()],
+                coins[SP.ordinal()],
+                coins[EP.ordinal()],
+                coins[GP.ordinal()],
+                coins[PP.ordinal()]
+        );
+        int[] kept = simplify ? simplified(total) : coins;
+        this.value = total;
+        this.cp = kept[CP.ordinal()];
+        this.sp = kept[SP.ordinal()];
+        this.ep = kept[EP.ordinal()];
+        this.gp = kept[GP.ordinal()];
+        this.pp = kept[PP.ordinal()];
+        this.simplify = simplify;
     }
 
     /**
@@ -344,26 +425,15 @@ public final class Money {
      *     See {@link #fromString(String, boolean)} for creating money that is not simplified<br>
      *     (5ep will become 2gp 5sp, and 1pp becomes 10gp)
      * </p>
-     * <p>
-     *     Note that this system uses regex to find specific element in your string.
-     *     The more precise the input, the better this process goes.
-     *     Regex can skip characters in your string in order to find suitable matches.
-     * </p>
      * @param value The string representation of a value
-     * @throws InvalidParameterException when the input is invalid
-     * @throws IllegalArgumentException if the input is negative
+     * @throws InvalidParameterException when the input is invalid, with the position of the problem
      */
     @Contract("_ -> new")
     public static Money fromString(final String value)
-            throws InvalidParameterException, IllegalArgumentException {
+            throws InvalidParameterException {
         return fromString(value, true);
     }
 
-    /**
-     * Money matching regex.
-     */
-    private static final Pattern MONEY_REGEX = Pattern.compile("((?:[0-9]*[.])?[0-9]+)([CSEGP])[P]?|([0-9]*[.]?[0-9]+)");
-
     /**
      * <p>Create a value from a formatted string.</p><br>
      * <h3>Format examples:</h3>
@@ -375,151 +445,47 @@ public final class Money {
      *     <li>5g <i>c, s, e, g, p work as well as cp, sp, ep, gp, pp</i></li>
      * </ul>
      * <p>
-     *     Note that this system uses regex to find specific element in your string.
-     *     The more precise the input, the better this process goes.
-     *     Regex can skip characters in your string in order to find suitable matches.
+     *     The input is read in a single pass, see {@link MoneyParser}.
+     *     Anything that is not an amount, coin or whitespace is rejected.
      * </p>
      * @param value The string representation of a value
      * @param simplify If set to true, simplifies by maximizing gp, then sp, then cp
-     * @throws InvalidParameterException when the input is invalid
-     * @throws IllegalArgumentException if the input is negative
+     * @throws InvalidParameterException when the input is invalid, with the position of the problem
      */
     @Contract("_, _ -> new")
     public static Money fromString(final String value, boolean simplify)
-            throws InvalidParameterException, IllegalArgumentException {
-
-        String cleanValue = value
-                .replace(" ", "")
-                .replace(",", ".")
-                .replace("pp", "x")
-                .replace("p", "")
-                .replace("x", "p")
-                .toUpperCase(Locale.ROOT);
-
-        // Match results
-        Matcher matcher = MONEY_REGEX.matcher(cleanValue);
-        List<MatchResult> resultList = new ArrayList<>();
-        while (matcher.find()) {
-            resultList.add(matcher.toMatchResult());
-        }
-
-        // Ensure some were found
-        if (resultList.isEmpty()) {
-            throw new InvalidParameterException("Input " + value + " not in valid Money format!");
-        }
-
-        // Money that will accumulate total
-        Money money = new Money();
-
-        // Go over matched result groups.
-        for (MatchResult matchResult : resultList) {
-
-            if (matchResult.groupCount() != 3) {
-                throw new InvalidParameterException("Input " + value + " invalid because not enough groups matched!");
-            }
-            // matchResult.groupCount == 3
-
-            if (matchResult.group(1) == null && matchResult.group(2) == null) {
-                if (resultList.size() != 1) {
-                    throw new InvalidParameterException("Input " + value + " invalid because not all C/S/E/G/P specified but not only number!");
-                } else {
-                    return new Money(Double.parseDouble(matchResult.group(0)));
-                }
+            throws InvalidParameterException {
+        MoneyParseEvent event = new MoneyParseEvent();
+        event.begin();
+        try {
+            Money money = MoneyParser.parse(value, simplify);
+            event.valid = true;
+            return money;
+        } finally {
+            if (event.shouldCommit()) {
+                event.length = value.length();
+                event.simplify = simplify;
+                event.commit();
             }
-
-            money.addCoin(
-                    Coin.valueOf(matchResult.group(2) + "P"),
-                    Double.parseDouble(matchResult.group(1))
-            );
         }
-
-        // Simplification on coins
-        if (simplify) {
-            money.maxTarget();
-        }
-
-        return money;
     }
 
     /**
-     * The factor to use to fix double division errors.
-     */
-    private static final double ROUND_FACTOR = 1000d;
-
-    /**
-     * Add a fractional amount of a coin.
-     * @param type The coin type
-     * @param amount The amount to add
+     * Get the total value of this money, for arithmetic with {@link MoneyMath}.
+     * @return The value in {@link Coin}.CP
      */
-    private void addCoin(final Coin type, final double amount) {
-        // 0 amount
-        if (amount == 0) {
-            validate();
-            return;
-        }
-
-        // round amount
-        if (Math.round(amount) == amount) {
-            addCoin(type, (int) amount);
-            validate();
-            return;
-        }
-
-        double newAmount;
-
-        // more than 1
-        if (amount > 1) {
-            int whole = (int) amount; // The "whole" number component
-            double part = amount - whole;
-            assert part == amount % 1; // Just a check
-            newAmount = part;
-            addCoin(type, whole);
-        } else {
-            newAmount = amount;
-        }
-
-        // cannot decrease CP
-        if (type.equals(CP)) {
-            throw new RuntimeException(
-                    "Cannot further decrease remaining cp: " + newAmount
-            );
-        }
-
-        // remainder
-        int factor = type.decrementFactor();
-        addCoin(
-                type.decrement(),
-                Math.round(newAmount * factor * ROUND_FACTOR) / ROUND_FACTOR
-        );
-
-        validate();
-    }
-
-    /**
-     * Add a whole amount of a certain {@link Coin}.
-     * @param type The coin type
-     * @param amount The amount to add
-     */
-    private void addCoin(final Coin type, final int amount) {
-        switch (type) {
-            case CP -> cp += amount;
-            case SP -> sp += amount;
-            case EP -> ep += amount;
-            case GP -> gp += amount;
-            case PP -> pp += amount;
-            default -> throw new RuntimeException("Unhandled coin type");
-        }
+    public long getValue() {
+        return value;
     }
 
     /**
      * Get the amount of coins in this value in {@link Coin}.CP.
+     * Use {@link #getValue()} for values that may not fit an int.
      * @return The amount of CP
+     * @throws ArithmeticException if the value does not fit an int
      */
-    public int getAsCP() {
-        return cp + SP.decrementFactor()
-                * (sp + EP.decrementFactor()
-                    * (ep + GP.decrementFactor()
-                        * (gp + PP.decrementFactor() * pp)));
+    public int getAsCP() throws ArithmeticException {
+        return Math.toIntExact(getValue());
     }
 
     /**
@@ -527,10 +493,7 @@ public final class Money {
      * @return The amount of CP
      */
     public double getAsGP() {
-        return ((double) getAsCP())
-                / SP.decrementFactor()
-                / EP.decrementFactor()
-                / GP.decrementFactor();
+        return MoneyMath.toGP(getValue());
     }
 
     /**
@@ -550,42 +513,6 @@ public final class Money {
                 * Coin.COIN_WEIGHT;
     }
 
-    /**
-     * Validate money, ensuring all parameters are positive or 0.
-     * @throws IllegalArgumentException if invalid
-     */
-    private void validate() throws IllegalArgumentException {
-        if (cp < 0 || sp < 0 || ep < 0 || gp < 0 || pp < 0) {
-            throw new IllegalArgumentException("Input negative value: " + this);
-        }
-    }
-
-    /**
-     * Maximizes the amount of currency in a specific coin in this value.<p>
-     * Uses the local constant array 'targets' to define order
-     */
-    private void maxTarget() {
-
-        if (!simplify) {
-            return;
-        }
-
-        int totalCP = getAsCP();
-
-        // Conversion factors
-        final int spCp = SP.decrementFactor();
-        final int gpCp = GP.decrementFactor() * EP.decrementFactor() * spCp;
-
-        ep = 0;
-        pp = 0;
-
-        gp = (totalCP - (totalCP % gpCp)) / gpCp;
-        totalCP -= gp * gpCp;
-        sp = (totalCP - (totalCP % spCp)) / spCp;
-        totalCP -= sp * spCp;
-        cp = totalCP;
-    }
-
     @Override
     public String toString() {
         return toConstructorString();
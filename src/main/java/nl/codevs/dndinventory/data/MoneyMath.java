@@ -0,0 +1,172 @@
+package nl.codevs.dndinventory.data;
+
+import okhttp3.internal.annotations.EverythingIsNonNull;
+
+/**
+ * Arithmetic on money values expressed as a {@code long} amount of copper pieces (CP).
+ * <p>
+ * These operations work on primitives only and allocate nothing.
+ * Create a {@link Money} (with {@link Money#ofCP(long)}) only when coins are needed, for display or storage.
+ * Operations throw an {@link ArithmeticException} instead of overflowing.
+ */
+@EverythingIsNonNull
+public final class MoneyMath {
+
+    /**
+     * CP per SP.
+     */
+    public static final long CP_PER_SP = 10;
+
+    /**
+     * CP per EP.
+     */
+    public static final long CP_PER_EP = 50;
+
+    /**
+     * CP per GP.
+     */
+    public static final long CP_PER_GP = 100;
+
+    /**
+     * CP per PP.
+     */
+    public static final long CP_PER_PP = 500;
+
+    /**
+     * Get the value of a single coin.
+     * @param coin the coin type
+     * @return the value of the coin, in CP
+     */
+    public static long valueOf(final Money.Coin coin) {
+        return switch (coin) {
+            case CP -> 1;
+            case SP -> CP_PER_SP;
+            case EP -> CP_PER_EP;
+            case GP -> CP_PER_GP;
+            case PP -> CP_PER_PP;
+        };
+    }
+
+    /**
+     * Get the value of a fractional amount of coins, rounding to the nearest CP.
+     * @param coin the coin type
+     * @param amount the amount of coins
+     * @return the value, in CP
+     * @throws ArithmeticException if the value does not fit a long
+     */
+    public static long toCP(final Money.Coin coin, final double amount) throws ArithmeticException {
+        return scale(valueOf(coin), amount);
+    }
+
+    /**
+     * Get the value of an amount of coins of each type.
+     * @param cp amount of CP
+     * @param sp amount of SP
+     * @param ep amount of EP
+     * @param gp amount of GP
+     * @param pp amount of PP
+     * @return the total value, in CP
+     */
+    public static long toCP(final long cp, final long sp, final long ep, final long gp, final long pp) {
+        return cp + sp * CP_PER_SP + ep * CP_PER_EP + gp * CP_PER_GP + pp * CP_PER_PP;
+    }
+
+    /**
+     * Add two values.
+     * @param a the first value, in CP
+     * @param b the second value, in CP
+     * @return {@code a + b}
+     * @throws ArithmeticException if the result overflows
+     */
+    public static long add(final long a, final long b) throws ArithmeticException {
+        return Math.addExact(a, b);
+    }
+
+    /**
+     * Subtract a value from another.
+     * @param a the value to subtract from, in CP
+     * @param b the value to subtract, in CP
+     * @return {@code a - b}, which is negative if {@code b} is larger
+     * @throws ArithmeticException if the result overflows
+     */
+    public static long subtract(final long a, final long b) throws ArithmeticException {
+        return Math.subtractExact(a, b);
+    }
+
+    /**
+     * Multiply a value by a whole amount.
+     * @param value the value, in CP
+     * @param amount the amount
+     * @return {@code value * amount}
+     * @throws ArithmeticException if the result overflows
+     */
+    public static long multiply(final long value, final long amount) throws ArithmeticException {
+        return Math.multiplyExact(value, amount);
+    }
+
+    /**
+     * Scale a value by a factor, rounding to the nearest CP.
+     * @param value the value, in CP
+     * @param factor the factor
+     * @return {@code value * factor}, rounded
+     * @throws ArithmeticException if the result does not fit a long
+     */
+    public static long scale(final long value, final double factor) throws ArithmeticException {
+        double scaled = Math.rint(value * factor);
+        if (Double.isNaN(scaled) || scaled >= 0x1p63 || scaled < -0x1p63) {
+            throw new ArithmeticException("Scaled value out of range: " + value + " * " + factor);
+        }
+        return (long) scaled;
+    }
+
+    /**
+     * Compare two values.
+     * @param a the first value, in CP
+     * @param b the second value, in CP
+     * @return negative if {@code a < b}, zero if equal, positive if {@code a > b}
+     */
+    public static int compare(final long a, final long b) {
+        return Long.compare(a, b);
+    }
+
+    /**
+     * Convert a value to GP.
+     * @param value the value, in CP
+     * @return the value in GP
+     */
+    public static double toGP(final long value) {
+        return (double) value / CP_PER_GP;
+    }
+
+    /**
+     * Format a value as simplified coins (gp, sp and cp), as {@link Money#toString()} does for simplified money.
+     * Unlike creating a {@link Money}, the amount of GP is not limited to an int.
+     * @param value the value, in CP, at least 0
+     * @return the value in coins, for example {@code 12gp 3sp 4cp}
+     * @throws IllegalArgumentException if the value is negative
+     */
+    public static String format(final long value) throws IllegalArgumentException {
+        if (value < 0) {
+            throw new IllegalArgumentException("Input negative value: " + value + "cp");
+        }
+        StringBuilder res = new StringBuilder();
+        long gp = value / CP_PER_GP;
+        long sp = value % CP_PER_GP / CP_PER_SP;
+        long cp = value % CP_PER_SP;
+        if (gp != 0) {
+            res.append(gp).append("gp ");
+        }
+        if (sp != 0) {
+            res.append(sp).append("sp ");
+        }
+        if (cp != 0) {
+            res.append(cp).append("cp ");
+        }
+        String out = res.toString().strip();
+        return out.isBlank() ? "0gp" : out;
+    }
+
+    private MoneyMath() {
+        // Never called
+    }
+}
@@ -0,0 +1,187 @@
+package nl.codevs.dndinventory.data;
+
+import okhttp3.internal.annotations.EverythingIsNonNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.security.InvalidParameterException;
+
+/**
+ * Single-pass parser for {@link Money#fromString(String, boolean)}.
+ * <p>
+ * The input is a sequence of amounts, each followed by a coin ({@code c}, {@code s}, {@code e}, {@code g} or {@code p},
+ * optionally followed by {@code p}, in any case), or a single amount without coin, which is read as GP.
+ * Amounts may have a fractional part, separated by {@code .} or {@code ,}. Whitespace is ignored.
+ * Amounts are accumulated as whole coins and a CP total, without intermediate objects.
+ */
+@EverythingIsNonNull
+final class MoneyParser {
+
+    /**
+     * Coin types in the order of their values, from low to high.
+     */
+    private static final Money.Coin[] COINS = Money.Coin.values();
+
+    /**
+     * Maximum amount of fractional digits.
+     */
+    private static final int MAX_FRACTION_DIGITS = 9;
+
+    /**
+     * Parse a string to money.
+     * @param value the string to parse
+     * @param simplify if set to true, simplifies by maximizing gp, then sp, then cp
+     * @return the parsed money
+     * @throws InvalidParameterException when the input is invalid, with the position of the problem
+     */
+    static Money parse(final String value, final boolean simplify) throws InvalidParameterException {
+        long total = 0;
+        long[] coins = new long[COINS.length];
+        int amounts = 0;
+
+        int i = skipWhitespace(value, 0);
+        if (i == value.length()) {
+            throw error(value, i, "no amount");
+        }
+
+        try {
+            while (i < value.length()) {
+                int start = i;
+
+                // Whole part
+                long whole = 0;
+                int digits = 0;
+                char c;
+                while (i < value.length()) {
+                    c = value.charAt(i);
+                    if (c >= '0' && c <= '9') {
+                        whole = Math.addExact(Math.multiplyExact(whole, 10), c - '0');
+                        digits++;
+                    } else if (!Character.isWhitespace(c)) {
+                        break;
+                    }
+                    i++;
+                }
+
+                // Fractional part
+                long fraction = 0;
+                long fractionScale = 1;
+                if (i < value.length() && (value.charAt(i) == '.' || value.charAt(i) == ',')) {
+                    i = skipWhitespace(value, i + 1);
+                    int fractionDigits = 0;
+                    while (i < value.length() && (c = value.charAt(i)) >= '0' && c <= '9') {
+                        if (fractionDigits++ == MAX_FRACTION_DIGITS) {
+                            throw error(value, i, "too many decimals");
+                        }
+                        fraction = fraction * 10 + (c - '0');
+                        fractionScale *= 10;
+                        i = skipWhitespace(value, i + 1);
+                    }
+                    if (fractionDigits == 0) {
+                        throw error(value, i, "expected a digit after the decimal separator");
+                    }
+                } else if (digits == 0) {
+                    throw error(value, start, "expected an amount");
+                }
+
+                // Coin
+                Money.Coin coin;
+                if (i == value.length()) {
+                    // Only a single amount may omit the coin
+                    if (amounts > 0) {
+                        throw error(value, i, "expected a coin (c, s, e, g or p)");
+                    }
+                    coin = Money.Coin.GP;
+                } else {
+                    coin = coin(value.charAt(i));
+                    if (coin == null) {
+                        throw error(value, i, "expected a coin (c, s, e, g or p)");
+                    }
+                    i = skipWhitespace(value, i + 1);
+                    if (i < value.length() && Character.toUpperCase(value.charAt(i)) == 'P') {
+                        i = skipWhitespace(value, i + 1);
+                    }
+                }
+
+                // Accumulate whole coins, and the fraction as lower coins
+                long coinValue = MoneyMath.valueOf(coin);
+                long fractionValue = fraction * coinValue;
+                if (fractionValue % fractionScale != 0) {
+                    throw error(value, start, "amount is not a whole amount of cp");
+                }
+                fractionValue /= fractionScale;
+                coins[coin.ordinal()] = Math.addExact(coins[coin.ordinal()], whole);
+                for (int lower = coin.ordinal() - 1; lower >= 0; lower--) {
+                    long lowerValue = MoneyMath.valueOf(COINS[lower]);
+                    coins[lower] += fractionValue / lowerValue;
+                    fractionValue %= lowerValue;
+                }
+                total = MoneyMath.add(total, MoneyMath.add(MoneyMath.multiply(whole, coinValue), fraction * coinValue / fractionScale));
+                amounts++;
+            }
+        } catch (ArithmeticException e) {
+            throw new InvalidParameterException("Input " + value + " is too large");
+        }
+
+        if (simplify) {
+            return Money.ofCP(total);
+        }
+        try {
+            return new Money(
+                    Math.toIntExact(coins[Money.Coin.CP.ordinal()]),
+                    Math.toIntExact(coins[Money.Coin.SP.ordinal()]),
+                    Math.toIntExact(coins[Money.Coin.EP.ordinal()]),
+                    Math.toIntExact(coins[Money.Coin.GP.ordinal()]),
+                    Math.toIntExact(coins[Money.Coin.PP.ordinal()]),
+                    false
+            );
+        } catch (ArithmeticException e) {
+            throw new InvalidParameterException("Input " + value + " has too many coins of one type");
+        }
+    }
+
+    /**
+     * Get the coin for a character.
+     * @param c the character
+     * @return the coin, or null if the character is not a coin
+     */
+    private static @Nullable Money.Coin coin(final char c) {
+        return switch (Character.toUpperCase(c)) {
+            case 'C' -> Money.Coin.CP;
+            case 'S' -> Money.Coin.SP;
+            case 'E' -> Money.Coin.EP;
+            case 'G' -> Money.Coin.GP;
+            case 'P' -> Money.Coin.PP;
+            default -> null;
+        };
+    }
+
+    /**
+     * Skip whitespace.
+     * @param value the string
+     * @param from the index to start at
+     * @return the index of the first non-whitespace character at or after {@code from}, or the length of the string
+     */
+    private static int skipWhitespace(final String value, final int from) {
+        int i = from;
+        while (i < value.length() && Character.isWhitespace(value.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Create a parse error.
+     * @param value the input
+     * @param index the index of the problem in the input
+     * @param reason what is wrong
+     * @return the exception
+     */
+    private static InvalidParameterException error(final String value, final int index, final String reason) {
+        return new InvalidParameterException("Input " + value + " not in valid Money format at position " + (index + 1)
+                + " (" + reason + "): " + value.substring(0, index) + ">>" + value.substring(index));
+    }
+
+    private MoneyParser() {
+        // Never called
+    }
+}
@@ -10,10 +10,22 @@
  * <li>{@link nl.codevs.dndinventory.data.ItemDatabase}
  * is the util class with all (known) items</li>
  *
+ * <li>{@link nl.codevs.dndinventory.data.ItemIndex}
+ * is the n-gram index used to search items by name</li>
+ *
  * <li>{@link nl.codevs.dndinventory.data.Money}
  * is the class for item values (1 gp, 5 sp)</li>
  *
  * <li>{@link nl.codevs.dndinventory.data.Money.Coin}
  * is the enum for coins (GP CP SP etc)</li>
+ *
+ * <li>{@link nl.codevs.dndinventory.data.Dice}
+ * is the record for dice (3d6 + 2)</li>
+ *
+ * <li>{@link nl.codevs.dndinventory.data.DiceRoller}
+ * is the class rolling dice, one at a time or in bulk</li>
+ *
+ * <li>{@link nl.codevs.dndinventory.data.DiceDistribution}
+ * is the exact (cached) probability distribution of dice</li>
  */
 package nl.codevs.dndinventory.data;
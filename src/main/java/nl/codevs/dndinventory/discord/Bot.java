@@ -7,6 +7,7 @@ import net.dv8tion.jda.api.entities.TextChannel;
 import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
 import net.dv8tion.jda.api.hooks.ListenerAdapter;
 import net.dv8tion.jda.api.requests.GatewayIntent;
+import nl.codevs.dndinventory.metrics.CommandMetrics;
 import nl.codevs.strinput.examples.discord.DiscordCenter;
 import nl.codevs.strinput.system.StrCenter;
 import nl.codevs.strinput.system.util.AtomicCache;
@@ -27,7 +28,7 @@ public class Bot extends ListenerAdapter {
     private final AtomicCache<TextChannel> channelCache = new AtomicCache<>();
 
     /**
-     * Create a new Discord bot.
+     * Create a new Discord bot, with a default {@link CommandDispatcher}.
      * @param authToken the bot authToken
      * @param commandPrefix command prefix
      * @param activityCommand command to display in activity
@@ -42,9 +43,33 @@ public class Bot extends ListenerAdapter {
             @NotNull final String activityCommand,
             @NotNull final DiscordCenter commandCenter
     ) throws LoginException, InterruptedException {
-        this.jda = setup(authToken, commandPrefix, activityCommand);
+        this(authToken, commandPrefix, activityCommand, commandCenter, new CommandDispatcher());
+    }
+
+    /**
+     * Create a new Discord bot.
+     * @param authToken the bot authToken
+     * @param commandPrefix command prefix
+     * @param activityCommand command to display in activity
+     * @param commandCenter the command center
+     * @param commandDispatcher the dispatcher running commands
+     *
+     * @throws LoginException if login fails
+     * @throws InterruptedException if waiting for JDA setup fails
+     */
+    public Bot(
+            @NotNull final String authToken,
+            @NotNull final String commandPrefix,
+            @NotNull final String activityCommand,
+            @NotNull final DiscordCenter commandCenter,
+            @NotNull final CommandDispatcher commandDispatcher
+    ) throws LoginException, InterruptedException {
+        // Set before setup, events may arrive as soon as JDA is built
         this.center = commandCenter;
         this.prefix = commandPrefix;
+        this.dispatcher = commandDispatcher;
+        commandDispatcher.registerMetrics();
+        this.jda = setup(authToken, commandPrefix, activityCommand);
     }
     
     /**
@@ -57,6 +82,24 @@ public class Bot extends ListenerAdapter {
      */
     private final String prefix;
 
+    /**
+     * Dispatcher running commands off the JDA event thread.
+     */
+    private final CommandDispatcher dispatcher;
+
+    /**
+     * Resolves command messages to command names for metrics.
+     */
+    private final CommandNames names = new CommandNames(Commands.class);
+
+    /**
+     * Get the dispatcher running commands.
+     * @return the command dispatcher
+     */
+    public CommandDispatcher getDispatcher() {
+        return dispatcher;
+    }
+
     /**
      * Main method.
      *
@@ -111,7 +154,38 @@ public class Bot extends ListenerAdapter {
         if (event.getAuthor().isBot()) {
             return;
         }
-        center.onCommand(event, prefix);
+        // Commands run on the dispatcher, so slow commands do not hold up the JDA event thread
+        String command = names.resolve(event.getMessage().getContentRaw().substring(prefix.length()));
+        if (!dispatcher.dispatch(() -> run(command, event))) {
+            event.getChannel().sendMessage("Too many commands are running, try again in a moment.").queue();
+        }
+    }
+
+    /**
+     * Run a command, recording its metrics.
+     * Time spent in the command center that is not spent parsing is counted as executing.
+     * Commands continuing on other threads {@link CommandMetrics.Invocation#detach() detach} the invocation,
+     * and record its execution time and finish it themselves.
+     * @param command the command name
+     * @param event the event of the command message
+     */
+    private void run(@NotNull final String command, @NotNull final MessageReceivedEvent event) {
+        CommandMetrics.Invocation invocation = CommandMetrics.begin(command);
+        boolean failed = true;
+        try {
+            center.onCommand(event, prefix);
+            failed = false;
+        } finally {
+            if (invocation.isDetached()) {
+                invocation.release();
+            } else {
+                invocation.add(
+                        CommandMetrics.Stage.EXECUTE,
+                        invocation.elapsed() - invocation.get(CommandMetrics.Stage.PARSE)
+                );
+                invocation.finish(failed);
+            }
+        }
     }
 
     /**
@@ -0,0 +1,309 @@
+package nl.codevs.dndinventory.discord;
+
+import nl.codevs.dndinventory.metrics.CommandMetrics;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs commands off the thread receiving them.
+ * <p>
+ * Each command runs as its own task, on a virtual thread when the runtime supports them (Java 21+),
+ * and otherwise on a pool thread. At most {@link #getMaxInFlight()} commands run at once.
+ * Commands beyond that limit are rejected immediately, so the receiving thread never waits on command work.
+ * <p>
+ * A command that hands its work to another executor calls {@link #holdUntil(CompletableFuture)},
+ * so it stays in flight (and keeps its permit) until that work is done, not just until the command returns.
+ */
+public final class CommandDispatcher {
+
+    /**
+     * Default maximum amount of commands running at once.
+     */
+    public static final int DEFAULT_MAX_IN_FLIGHT = 64;
+
+    /**
+     * Executor running the commands.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Whether the {@link #executor} runs commands on virtual threads.
+     */
+    private final boolean virtual;
+
+    /**
+     * Maximum amount of commands running at once.
+     */
+    private final int maxInFlight;
+
+    /**
+     * Permits for running commands, one per command.
+     */
+    private final Semaphore permits;
+
+    /**
+     * The command running on the current thread, null if the thread is not running a command.
+     */
+    private static final ThreadLocal<Running> RUNNING = new ThreadLocal<>();
+
+    /**
+     * Highest amount of commands that ran at once.
+     */
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+
+    /**
+     * Amount of accepted commands.
+     */
+    private final LongAdder accepted = new LongAdder();
+
+    /**
+     * Amount of rejected commands.
+     */
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Amount of commands that completed normally.
+     */
+    private final LongAdder completed = new LongAdder();
+
+    /**
+     * Amount of commands that threw.
+     */
+    private final LongAdder failed = new LongAdder();
+
+    /**
+     * Create a dispatcher with the {@link #DEFAULT_MAX_IN_FLIGHT default} limit.
+     */
+    public CommandDispatcher() {
+        this(DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    /**
+     * Create a dispatcher.
+     * @param maxCommandsInFlight maximum amount of commands running at once
+     */
+    public CommandDispatcher(final int maxCommandsInFlight) {
+        if (maxCommandsInFlight < 1) {
+            throw new IllegalArgumentException("At least one command must be able to run, got " + maxCommandsInFlight);
+        }
+        ExecutorService virtualExecutor = newVirtualThreadPerTaskExecutor();
+        virtual = virtualExecutor != null;
+        executor = virtual ? virtualExecutor : Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "Command worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        maxInFlight = maxCommandsInFlight;
+        permits = new Semaphore(maxCommandsInFlight);
+    }
+
+    /**
+     * Run a command in the background, if the in-flight limit allows.
+     * Failures are reported.
+     * @param command the command
+     * @return true if the command was accepted, false if too many commands are running
+     */
+    public boolean dispatch(@NotNull final Runnable command) {
+        if (!permits.tryAcquire()) {
+            rejected.increment();
+            return false;
+        }
+        peakInFlight.accumulateAndGet(getInFlight(), Math::max);
+        try {
+            executor.execute(() -> {
+                Running running = new Running();
+                RUNNING.set(running);
+                boolean held = false;
+                try {
+                    command.run();
+                    CompletableFuture<?> work = running.heldUntil;
+                    if (work != null) {
+                        // Set before registering, the work may already be done and release right away
+                        held = true;
+                        work.whenComplete((r, e) -> finish(e));
+                    } else {
+                        completed.increment();
+                    }
+                } catch (Throwable e) {
+                    failed.increment();
+                    e.printStackTrace();
+                    System.out.println("Command failed!");
+                } finally {
+                    RUNNING.remove();
+                    if (!held) {
+                        permits.release();
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            rejected.increment();
+            return false;
+        }
+        accepted.increment();
+        return true;
+    }
+
+    /**
+     * Keep the command running on the current thread in flight until some work completes,
+     * instead of until the command returns.
+     * Does nothing when not called from a command run by a dispatcher.
+     * @param work the work the command handed off, failures are counted as failed commands
+     */
+    public static void holdUntil(@NotNull final CompletableFuture<?> work) {
+        Running running = RUNNING.get();
+        if (running != null) {
+            running.heldUntil = work;
+        }
+    }
+
+    /**
+     * Finish a command that was held until its work completed.
+     * Failures of the work are reported by the command itself.
+     * @param e the failure of the work, null if it completed normally
+     */
+    private void finish(@Nullable final Throwable e) {
+        if (e == null) {
+            completed.increment();
+        } else {
+            failed.increment();
+        }
+        permits.release();
+    }
+
+    /**
+     * Stop accepting commands. Running commands are finished.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Whether commands run on virtual threads.
+     * @return true if virtual threads are used
+     */
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    /**
+     * Get the maximum amount of commands running at once.
+     * @return the in-flight limit
+     */
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * Get the amount of commands currently running.
+     * @return the amount of commands in flight
+     */
+    public int getInFlight() {
+        return maxInFlight - permits.availablePermits();
+    }
+
+    /**
+     * Get the highest amount of commands that ran at once.
+     * @return the peak amount of commands in flight
+     */
+    public int getPeakInFlight() {
+        return peakInFlight.get();
+    }
+
+    /**
+     * Get the amount of accepted commands.
+     * @return the amount of accepted commands
+     */
+    public long getAccepted() {
+        return accepted.sum();
+    }
+
+    /**
+     * Get the amount of commands rejected because the in-flight limit was reached.
+     * @return the amount of rejected commands
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * Get the amount of commands that completed normally.
+     * @return the amount of completed commands
+     */
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+    /**
+     * Get the amount of commands that threw.
+     * @return the amount of failed commands
+     */
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    /**
+     * Export the state of this dispatcher with the {@link CommandMetrics}.
+     */
+    public void registerMetrics() {
+        CommandMetrics.register("dnd_commands_in_flight", "gauge",
+                "Commands running now.", this::getInFlight);
+        CommandMetrics.register("dnd_commands_max_in_flight", "gauge",
+                "Maximum amount of commands running at once.", this::getMaxInFlight);
+        CommandMetrics.register("dnd_commands_peak_in_flight", "gauge",
+                "Highest amount of commands that ran at once.", this::getPeakInFlight);
+        CommandMetrics.register("dnd_commands_accepted_total", "counter",
+                "Commands accepted by the dispatcher.", this::getAccepted);
+        CommandMetrics.register("dnd_commands_rejected_total", "counter",
+                "Commands rejected because too many were running.", this::getRejected);
+        CommandMetrics.register("dnd_commands_completed_total", "counter",
+                "Commands that ran to completion.", this::getCompleted);
+        CommandMetrics.register("dnd_commands_failed_total", "counter",
+                "Commands that threw.", this::getFailed);
+    }
+
+    /**
+     * Create an executor starting a virtual thread per task, if the runtime supports it.
+     * Looked up reflectively, so the bot still runs on runtimes without virtual threads.
+     * @return the executor, or null if virtual threads are not supported
+     */
+    private static @Nullable ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * State of a command running on a dispatcher thread.
+     */
+    private static final class Running {
+
+        /**
+         * Work the command is held until, null to finish when the command returns.
+         */
+        private @Nullable CompletableFuture<?> heldUntil = null;
+    }
+
+    @Override
+    public String toString() {
+        return "CommandDispatcher{"
+                + "virtual=" + virtual
+                + ", inFlight=" + getInFlight() + "/" + maxInFlight
+                + ", peakInFlight=" + getPeakInFlight()
+                + ", accepted=" + getAccepted()
+                + ", rejected=" + getRejected()
+                + ", completed=" + getCompleted()
+                + ", failed=" + getFailed()
+                + "}";
+    }
+}
@@ -0,0 +1,177 @@
+package nl.codevs.dndinventory.discord;
+
+import nl.codevs.strinput.system.StrCategory;
+import nl.codevs.strinput.system.StrInput;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Resolves command messages to command names for metrics,
+ * like {@code inventory addTo} for {@code !dnd inv + Bob torch}.
+ * <p>
+ * The command tree is read from the {@link StrInput} annotations of the root category once.
+ * Only exact (case-insensitive) names and aliases are resolved, messages that do not match are {@link #UNKNOWN}.
+ */
+final class CommandNames {
+
+    /**
+     * Name of messages that are not a known command.
+     */
+    static final String UNKNOWN = "unknown";
+
+    /**
+     * The root category node.
+     */
+    private final Node root;
+
+    /**
+     * Create a command name resolver.
+     * @param rootCategory the root category class
+     */
+    CommandNames(@NotNull final Class<?> rootCategory) {
+        root = category(rootCategory, "");
+    }
+
+    /**
+     * Resolve a command message to a command name.
+     * @param message the message, without the command prefix
+     * @return the command name (without the root category), or {@link #UNKNOWN}
+     */
+    @NotNull String resolve(@NotNull final String message) {
+        String[] words = message.strip().toLowerCase(Locale.ROOT).split("\\s+");
+        if (words.length == 0 || !root.matches(words[0])) {
+            return UNKNOWN;
+        }
+        Node node = root;
+        for (int i = 1; i < words.length; i++) {
+            Node child = node.children.get(words[i]);
+            if (child == null) {
+                break;
+            }
+            node = child;
+            if (child.children.isEmpty()) {
+                break;
+            }
+        }
+        return node == root || !node.children.isEmpty() ? UNKNOWN : node.name;
+    }
+
+    /**
+     * Create the node of a category.
+     * @param category the category class
+     * @param metricName the name of the category used in metrics, empty for the root
+     * @return the node
+     */
+    private static Node category(final Class<?> category, final String metricName) {
+        Node node = new Node(metricName);
+        node.aliases(name(category), category.getDeclaredAnnotation(StrInput.class));
+        for (Field field : category.getDeclaredFields()) {
+            if (StrCategory.class.isAssignableFrom(field.getType())
+                    && field.getType().isAnnotationPresent(StrInput.class)) {
+                category(field.getType(), join(metricName, name(field.getType()))).register(node);
+            }
+        }
+        for (Method method : category.getDeclaredMethods()) {
+            StrInput command = method.getDeclaredAnnotation(StrInput.class);
+            if (command != null) {
+                Node child = new Node(join(metricName, method.getName()));
+                child.aliases(command.name().isEmpty() ? method.getName() : command.name(), command);
+                child.register(node);
+            }
+        }
+        return node;
+    }
+
+    /**
+     * Get the name of a category.
+     * @param category the category class
+     * @return the name in its {@link StrInput} annotation, or the class name if it has none
+     */
+    private static String name(final Class<?> category) {
+        StrInput input = category.getDeclaredAnnotation(StrInput.class);
+        return input == null || input.name().isEmpty() ? category.getSimpleName() : input.name();
+    }
+
+    /**
+     * Join a parent and child name.
+     * @param parent the parent name, may be empty
+     * @param name the child name
+     * @return the joined name
+     */
+    private static String join(final String parent, final String name) {
+        return parent.isEmpty() ? name : parent + " " + name;
+    }
+
+    /**
+     * A category or command.
+     */
+    private static final class Node {
+
+        /**
+         * The name used in metrics.
+         */
+        private final String name;
+
+        /**
+         * Subcategories and commands, by every lowercase name and alias.
+         */
+        private final Map<String, Node> children = new HashMap<>();
+
+        /**
+         * The lowercase names and aliases the node is called by, set by {@link #aliases(String, StrInput)}.
+         */
+        private String[] words = new String[0];
+
+        /**
+         * Create a node.
+         * @param metricName the name used in metrics
+         */
+        private Node(final String metricName) {
+            name = metricName;
+        }
+
+        /**
+         * Set the names the node is called by.
+         * @param nodeName the name
+         * @param input the annotation with the aliases, if any
+         */
+        private void aliases(final String nodeName, @Nullable final StrInput input) {
+            String[] aliases = input == null ? new String[0] : input.aliases();
+            words = new String[aliases.length + 1];
+            words[0] = nodeName.toLowerCase(Locale.ROOT);
+            for (int i = 0; i < aliases.length; i++) {
+                words[i + 1] = aliases[i].toLowerCase(Locale.ROOT);
+            }
+        }
+
+        /**
+         * Register this node as a child of a parent.
+         * @param parent the parent
+         */
+        private void register(final Node parent) {
+            for (String word : words) {
+                parent.children.putIfAbsent(word, this);
+            }
+        }
+
+        /**
+         * Whether the node is called by a word.
+         * @param word the lowercase word
+         * @return true if the word is a name or alias of this node
+         */
+        private boolean matches(final String word) {
+            for (String w : words) {
+                if (w.equals(word)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -3,16 +3,19 @@ package nl.codevs.dndinventory.discord;
 import nl.codevs.dndinventory.data.Item;
 import nl.codevs.dndinventory.data.Money;
 import nl.codevs.dndinventory.inventories.Inventory;
+import nl.codevs.dndinventory.inventories.InventoryExecutor;
+import nl.codevs.dndinventory.inventories.InventoryIndex;
 import nl.codevs.dndinventory.inventories.PlayerInventory;
 import nl.codevs.dndinventory.inventories.interfaces.ILevel;
+import nl.codevs.dndinventory.metrics.CommandMetrics;
 import nl.codevs.strinput.examples.discord.DiscordCategory;
 import nl.codevs.strinput.system.Param;
 import nl.codevs.strinput.system.StrInput;
+import nl.codevs.strinput.system.StrUser;
 
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
 
 @StrInput(name = "inventory", aliases = "inv", description = "Player Inventory Management")
 public class InventoryCommands implements DiscordCategory {
@@ -28,9 +31,7 @@ public class InventoryCommands implements DiscordCategory {
             final String filter
     ) {
         String lower = filter.equals("includeAll") ? "" : filter.toLowerCase();
-        List<Inventory> filtered = Inventory.LOADED_INVENTORIES.stream().filter(
-                i -> i.getName().toLowerCase(Locale.ROOT).contains(lower)
-        ).toList();
+        List<Inventory> filtered = InventoryIndex.find(lower);
         StringBuilder s = new StringBuilder(lower.isEmpty() ? "Loaded" : "Filtered").append(" inventories ").append(filtered.size()).append(":");
         for (Inventory loadedInventory : filtered) {
             PlayerInventory inv = (PlayerInventory) loadedInventory;
@@ -58,14 +59,16 @@ public class InventoryCommands implements DiscordCategory {
                     defaultValue = "1"
             )
             final Integer amount
-    ) throws IOException {
-        inventory.addItems(item, amount);
-        inventory.save(true);
-        user().sendMessage("Added " + amount
-                + " of " + item
-                + " to " + inventory.getName()
-                + " (now has " + inventory.getItems().size() + " items)"
-        );
+    ) {
+        StrUser user = user();
+        reply(user, InventoryExecutor.submit(inventory, () -> {
+            inventory.addItems(item, amount);
+            inventory.markDirty();
+            return "Added " + amount
+                    + " of " + item
+                    + " to " + inventory.getName()
+                    + " (now has " + inventory.getItems().size() + " items)";
+        }));
     }
 
     @StrInput(description = "Remove an item from an inventory", aliases = {"remove", "-"})
@@ -86,15 +89,17 @@ public class InventoryCommands implements DiscordCategory {
                     defaultValue = "1"
             )
             final Integer amount
-    ) throws IOException {
-        Inventory.InventoryItem i = inventory.removeItem(item, amount);
-        inventory.save(true);
-        user().sendMessage("Removed " + amount
-                + " of " + item
-                + " from " + inventory.getName()
-                + " (now has " + inventory.getItems().size() + " items)"
-                + (i != null ? " remaining items: " + i.getAmount() + " of " + i.getItem() : " no remaining items")
-        );
+    ) {
+        StrUser user = user();
+        reply(user, InventoryExecutor.submit(inventory, () -> {
+            Inventory.InventoryItem i = inventory.removeItem(item, amount);
+            inventory.markDirty();
+            return "Removed " + amount
+                    + " of " + item
+                    + " from " + inventory.getName()
+                    + " (now has " + inventory.getItems().size() + " items)"
+                    + (i != null ? " remaining items: " + i.getAmount() + " of " + i.getItem() : " no remaining items");
+        }));
     }
 
     @StrInput(description = "Display an inventory")
@@ -102,7 +107,7 @@ public class InventoryCommands implements DiscordCategory {
             @Param(name = "inventory", description = "The inventory to open")
             final Inventory inventory
     ) {
-        user().sendMessage(inventory.toString());
+        reply(user(), InventoryExecutor.submit(inventory, inventory::toString));
     }
 
     @StrInput(description = "Create an inventory")
@@ -129,4 +134,39 @@ public class InventoryCommands implements DiscordCategory {
                 1
         );
     }
+
+    /**
+     * Send the result of an inventory task to a user when it completes.
+     * The user is passed in because the command context is not available on the task thread.
+     * The command invocation continues until the reply is sent,
+     * so its execution time includes waiting for the inventory,
+     * and the command holds its {@link CommandDispatcher} permit until then.
+     * @param user the user to reply to
+     * @param task the task, completing with the reply
+     */
+    static void reply(final StrUser user, final CompletableFuture<String> task) {
+        CommandMetrics.Invocation invocation = CommandMetrics.current();
+        if (invocation != null) {
+            invocation.detach();
+        }
+        CommandDispatcher.holdUntil(task.whenComplete((message, e) -> {
+            if (invocation != null) {
+                invocation.add(
+                        CommandMetrics.Stage.EXECUTE,
+                        invocation.elapsed() - invocation.get(CommandMetrics.Stage.PARSE)
+                );
+            }
+            long start = System.nanoTime();
+            if (e != null) {
+                e.printStackTrace();
+                user.sendMessage("Failed: " + e.getMessage());
+            } else {
+                user.sendMessage(message);
+            }
+            if (invocation != null) {
+                invocation.add(CommandMetrics.Stage.REPLY, System.nanoTime() - start);
+                invocation.finish(e != null);
+            }
+        }));
+    }
 }
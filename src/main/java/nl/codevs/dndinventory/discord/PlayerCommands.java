@@ -1,11 +1,21 @@
 package nl.codevs.dndinventory.discord;
 
+import nl.codevs.dndinventory.data.DiceDistribution;
+import nl.codevs.dndinventory.inventories.Inventory;
+import nl.codevs.dndinventory.inventories.InventoryExecutor;
+import nl.codevs.dndinventory.inventories.InventoryIndex;
 import nl.codevs.dndinventory.inventories.PlayerInventory;
 import nl.codevs.strinput.examples.discord.DiscordCategory;
 import nl.codevs.strinput.system.Param;
 import nl.codevs.strinput.system.StrInput;
+import nl.codevs.strinput.system.StrUser;
 
 import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @StrInput(name = "player", aliases = "p", description = "Player commands")
 public class PlayerCommands implements DiscordCategory {
@@ -20,10 +30,40 @@ public class PlayerCommands implements DiscordCategory {
                     name = "xp",
                     description = "The amount of experience to give"
             ) final int xp
-    ) throws IOException {
-             player.addExperience(xp);
-             player.save(true);
-             user().sendMessage("Added " + xp + " to " + player.getName());
+    ) {
+        InventoryCommands.reply(user(), InventoryExecutor.submit(player, () -> {
+            player.addExperience(xp);
+            player.markDirty();
+            return "Added " + xp + " to " + player.getName();
+        }));
+    }
+
+    @StrInput(name = "award-xp", aliases = "award", description = "Give xp to every player in a party")
+    public void awardExp(
+            @Param(
+                    name = "players",
+                    description = "The names of the players, separated by commas"
+            ) final String players,
+            @Param(
+                    name = "xp",
+                    description = "The amount of experience to give each player"
+            ) final int xp
+    ) {
+        StrUser user = user();
+        Set<PlayerInventory> party = new LinkedHashSet<>();
+        for (String name : players.split(",")) {
+            List<PlayerInventory> named = InventoryIndex.named(name).stream()
+                    .filter(PlayerInventory.class::isInstance)
+                    .map(PlayerInventory.class::cast)
+                    .toList();
+            if (named.isEmpty()) {
+                user.sendMessage("No player named " + name.strip());
+                return;
+            }
+            party.addAll(named);
+        }
+        InventoryCommands.reply(user, PlayerInventory.awardExperience(party, xp).thenApply(v -> "Added " + xp
+                + " to " + party.stream().map(Inventory::getName).collect(Collectors.joining(", "))));
     }
 
     @StrInput(name = "possible-level", aliases = "trainable")
@@ -35,4 +75,29 @@ public class PlayerCommands implements DiscordCategory {
     ) throws IOException {
         user().sendMessage("Player " + player.getName() + " can train to level " + player.getPotentialLevel());
     }
+
+    @StrInput(description = "Show level and hit point projections of a player")
+    public void stats(
+            @Param(
+                    name = "player",
+                    description = "The player to show the stats of"
+            ) final PlayerInventory player
+    ) {
+        DiceDistribution hitPoints = player.getHitPointDistribution();
+        user().sendMessage("Player " + player.getName()
+                + " is level " + player.getActualLevel()
+                + " and can train to level " + player.getPotentialLevel()
+                + " (" + player.getExperience() + " xp)"
+                + "\nHit points at level " + player.getPotentialLevel() + ": " + hitPoints.getDice()
+                + String.format(
+                        Locale.ROOT,
+                        ", mean %.1f, standard deviation %.1f",
+                        hitPoints.getMean(),
+                        hitPoints.getStandardDeviation()
+                )
+                + ", 10% " + hitPoints.percentile(0.1)
+                + ", median " + hitPoints.percentile(0.5)
+                + ", 90% " + hitPoints.percentile(0.9)
+                + " (current maximum " + player.getMaxHealth() + ")");
+    }
 }
@@ -1,12 +1,12 @@
 package nl.codevs.dndinventory.discord.expansions;
 
 import nl.codevs.dndinventory.inventories.Inventory;
+import nl.codevs.dndinventory.inventories.InventoryIndex;
+import nl.codevs.dndinventory.metrics.CommandMetrics;
 import nl.codevs.strinput.system.parameter.StrParameterHandler;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
-import java.util.Locale;
-import java.util.stream.Collectors;
 
 public class InventoryParameter implements StrParameterHandler<Inventory> {
     /**
@@ -17,7 +17,7 @@ public class InventoryParameter implements StrParameterHandler<Inventory> {
      */
     @Override
     public List<Inventory> getPossibilities() {
-        return Inventory.LOADED_INVENTORIES;
+        return InventoryIndex.find("");
     }
 
     /**
@@ -48,16 +48,20 @@ public class InventoryParameter implements StrParameterHandler<Inventory> {
      */
     @Override
     public @NotNull Inventory parse(@NotNull String text) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            List<Inventory> options = getPossibilities(text);
 
-        List<Inventory> options = getPossibilities(text);
+            if (options.isEmpty()) {
+                throw new StrParseException(InventoryParameter.class, text, "No matches found for input");
+            } else if (options.size() > 1) {
+                throw new StrWhichException(InventoryParameter.class, text, options);
+            }
 
-        if (options.isEmpty()) {
-            throw new StrParseException(InventoryParameter.class, text, "No matches found for input");
-        } else if (options.size() > 1) {
-            throw new StrWhichException(InventoryParameter.class, text, options);
+            return options.get(0);
+        } finally {
+            CommandMetrics.add(CommandMetrics.Stage.PARSE, System.nanoTime() - start);
         }
-
-        return options.get(0);
     }
 
     /**
@@ -69,8 +73,8 @@ public class InventoryParameter implements StrParameterHandler<Inventory> {
      */
     @Override
     public @NotNull List<Inventory> getPossibilities(@NotNull String input) {
-        String lower = input.toLowerCase();
-        return getPossibilities().stream().filter(i -> i.getName().toLowerCase(Locale.ROOT).contains(lower)).collect(Collectors.toList());
+        // Only loads the inventories matching the input
+        return InventoryIndex.find(input);
     }
 
     /**
@@ -80,6 +84,7 @@ public class InventoryParameter implements StrParameterHandler<Inventory> {
      */
     @Override
     public @NotNull String getRandomDefault() {
-        return getPossibilities().get(RANDOM.nextInt(getPossibilities().size() - 1)).getName();
+        List<String> names = InventoryIndex.names();
+        return names.get(RANDOM.nextInt(names.size()));
     }
 }
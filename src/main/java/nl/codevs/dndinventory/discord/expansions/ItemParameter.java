@@ -3,6 +3,7 @@ package nl.codevs.dndinventory.discord.expansions;
 import nl.codevs.dndinventory.data.Item;
 import nl.codevs.dndinventory.data.ItemDatabase;
 import nl.codevs.dndinventory.data.ItemType;
+import nl.codevs.dndinventory.metrics.CommandMetrics;
 import nl.codevs.strinput.system.parameter.StrParameterHandler;
 import org.jetbrains.annotations.NotNull;
 
@@ -10,6 +11,12 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class ItemParameter implements StrParameterHandler<Item> {
+
+    /**
+     * Maximal amount of options returned when filtering by input.
+     */
+    private static final int MAX_OPTIONS = 5;
+
     /**
      * Get all possible values for this type.<br>
      * Do not specify lists of very high length (10^6)
@@ -49,15 +56,20 @@ public class ItemParameter implements StrParameterHandler<Item> {
      */
     @Override
     public @NotNull Item parse(@NotNull String text) throws Throwable {
-        List<Item> options = getPossibilities(text);
+        long start = System.nanoTime();
+        try {
+            List<Item> options = getPossibilities(text);
 
-        if (options.isEmpty()) {
-            throw new StrParseException(ItemParameter.class, text, "No options match this input");
-        } else if (options.size() > 1) {
-            throw new StrWhichException(ItemParameter.class, text, options);
-        }
+            if (options.isEmpty()) {
+                throw new StrParseException(ItemParameter.class, text, "No options match this input");
+            } else if (options.size() > 1) {
+                throw new StrWhichException(ItemParameter.class, text, options);
+            }
 
-        return options.get(0);
+            return options.get(0);
+        } finally {
+            CommandMetrics.add(CommandMetrics.Stage.PARSE, System.nanoTime() - start);
+        }
     }
 
     /**
@@ -69,16 +81,14 @@ public class ItemParameter implements StrParameterHandler<Item> {
      */
     @Override
     public @NotNull List<Item> getPossibilities(@NotNull String input) {
-        List<Item> options;
         if (input.contains(",")) {
             String[] split = input.split(",");
             ItemType category = ItemType.fromString(split[0]);
             String itemName = split[1];
-            options = ItemDatabase.match(category, itemName, 0.1);
+            return ItemDatabase.match(category, itemName, 0.1, MAX_OPTIONS);
         } else {
-            options = ItemDatabase.match(input);
+            return ItemDatabase.match(null, input, 0.1, MAX_OPTIONS);
         }
-        return options.subList(0, Math.min(options.size() - 1, 5));
     }
 
     /**
@@ -1,6 +1,7 @@
 package nl.codevs.dndinventory.discord.expansions;
 
 import nl.codevs.dndinventory.data.Money;
+import nl.codevs.dndinventory.metrics.CommandMetrics;
 import nl.codevs.strinput.system.parameter.StrParameterHandler;
 import org.jetbrains.annotations.NotNull;
 
@@ -47,7 +48,12 @@ public class MoneyParameter implements StrParameterHandler<Money> {
      */
     @Override
     public @NotNull Money parse(@NotNull String text) throws Throwable {
-        return Money.fromString(text);
+        long start = System.nanoTime();
+        try {
+            return Money.fromString(text);
+        } finally {
+            CommandMetrics.add(CommandMetrics.Stage.PARSE, System.nanoTime() - start);
+        }
     }
 
     /**
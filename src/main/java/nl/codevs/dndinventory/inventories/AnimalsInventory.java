@@ -5,6 +5,7 @@ import nl.codevs.dndinventory.inventories.interfaces.IMoney;
 import nl.codevs.dndinventory.inventories.interfaces.IWeighted;
 import okhttp3.internal.annotations.EverythingIsNonNull;
 
+import java.util.Collections;
 import java.util.List;
 
 @EverythingIsNonNull
@@ -15,6 +16,11 @@ public class AnimalsInventory extends Inventory implements IWeighted, IMoney {
      */
     final List<Animal> animals;
 
+    /**
+     * The total weight the {@link #animals} can carry.
+     */
+    private int capacity;
+
     /**
      * The money of this group of animals.
      */
@@ -35,9 +41,9 @@ public class AnimalsInventory extends Inventory implements IWeighted, IMoney {
             final Money initialMoney
     ) {
         super(inventoryName, inventoryItems);
-        money = initialMoney;
-        money.setSimplify(false);
+        money = initialMoney.withSimplify(false);
         animals = herd;
+        capacity = animals.stream().mapToInt(Animal::getCarries).sum();
     }
 
     /**
@@ -67,7 +73,7 @@ public class AnimalsInventory extends Inventory implements IWeighted, IMoney {
      */
     @Override
     public int getMaxWeight() {
-        return animals.stream().mapToInt(Animal::getCarries).sum();
+        return capacity;
     }
 
     /**
@@ -87,8 +93,7 @@ public class AnimalsInventory extends Inventory implements IWeighted, IMoney {
      */
     @Override
     public void setMoney(Money money) {
-        this.money = money;
-        this.money.setSimplify(false);
+        this.money = money.withSimplify(false);
     }
 
     /**
@@ -172,9 +177,31 @@ public class AnimalsInventory extends Inventory implements IWeighted, IMoney {
 
     /**
      * Get the animals of this inventory.
-     * @return the animals
+     * @return an unmodifiable view of the animals
      */
     public List<Animal> getAnimals() {
-        return animals;
+        return Collections.unmodifiableList(animals);
+    }
+
+    /**
+     * Add an animal to the herd.
+     * @param animal the animal to add
+     */
+    public void addAnimal(final Animal animal) {
+        animals.add(animal);
+        capacity += animal.getCarries();
+    }
+
+    /**
+     * Remove an animal from the herd.
+     * @param animal the animal to remove
+     * @return true if the animal was part of the herd
+     */
+    public boolean removeAnimal(final Animal animal) {
+        if (!animals.remove(animal)) {
+            return false;
+        }
+        capacity -= animal.getCarries();
+        return true;
     }
 }
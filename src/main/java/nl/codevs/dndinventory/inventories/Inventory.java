@@ -1,37 +1,37 @@
 package nl.codevs.dndinventory.inventories;
 
-import com.google.gson.ExclusionStrategy;
-import com.google.gson.FieldAttributes;
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonParseException;
 import nl.codevs.dndinventory.data.Item;
-import nl.codevs.dndinventory.data.Money;
+import nl.codevs.dndinventory.data.MoneyMath;
+import nl.codevs.dndinventory.inventories.serialization.InventoryGson;
+import nl.codevs.dndinventory.metrics.InventoryLoadEvent;
+import nl.codevs.dndinventory.metrics.InventoryRenderEvent;
+import nl.codevs.dndinventory.metrics.InventorySaveEvent;
 import okhttp3.internal.annotations.EverythingIsNonNull;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.*;
-import java.lang.reflect.Type;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
 
 @EverythingIsNonNull
 public abstract class Inventory {
 
     /**
-     * Gson used to convert inventories to/from JSON.
+     * Gson used to convert inventories to/from (pretty-printed) JSON.
      */
-    public static final Gson GSON = new GsonBuilder().setExclusionStrategies(new ExclusionStrategy() {
-                @Override
-                public boolean shouldSkipField(FieldAttributes f) {
-                    return f.getAnnotation(Exclude.class) != null;
-                }
+    public static final Gson GSON = InventoryGson.builder().setPrettyPrinting().create();
 
-                @Override
-                public boolean shouldSkipClass(Class<?> clazz) {
-                    return false;
-                }
-            }).setPrettyPrinting().serializeNulls().create();
+    /**
+     * Gson used to convert inventories to/from compact JSON, used for inventory files.
+     */
+    public static final Gson COMPACT_GSON = InventoryGson.builder().create();
 
     /**
      * Inventory directory.
@@ -43,20 +43,18 @@ public abstract class Inventory {
     }
 
     /**
-     * List of loaded (created) inventories.
+     * Registry of loaded (created) inventories.
+     * Inventories are created from multiple threads (command handlers, warming the {@link InventoryIndex}).
      */
-    public static final List<Inventory> LOADED_INVENTORIES = new ArrayList<>();
+    public static final InventoryRegistry LOADED_INVENTORIES = new InventoryRegistry();
 
 
+    // Only index inventory files, inventories are loaded on first access (see InventoryIndex)
     static {
-        try {
-            LOADED_INVENTORIES.addAll(instantiateAllInventories(
-                    PlayerInventory.class,
-                    AnimalsInventory.class
-            ));
-        } catch (FileNotFoundException e) {
-            e.printStackTrace();
-        }
+        InventoryIndex.index(
+                PlayerInventory.class,
+                AnimalsInventory.class
+        );
     }
 
     /**
@@ -72,16 +70,124 @@ public abstract class Inventory {
 
 
     /**
-     * Items in inventory.
+     * Items in inventory, in display order.
      */
     private final List<InventoryItem> items;
 
+    /**
+     * Inventory items by item, so items can be found without searching {@link #items}.
+     * Maps each item to its first inventory item in {@link #items}.
+     */
+    private final Map<Item, InventoryItem> itemIndex = new HashMap<>();
+
+    /**
+     * View of {@link #items} keeping the {@link #itemIndex} up to date when modified.
+     */
+    private final List<InventoryItem> itemView = new ItemList();
+
+    /**
+     * Fixed-point scale of the running weight total (weights are counted in thousandths).
+     */
+    public static final int WEIGHT_SCALE = 1000;
+
+    /**
+     * Running total of item amounts.
+     */
+    private long totalAmount = 0;
+
+    /**
+     * Running total of item value, in CP.
+     */
+    private long totalValue = 0;
+
+    /**
+     * Running total of item weight, in units of 1 / {@link #WEIGHT_SCALE}.
+     */
+    private long totalWeight = 0;
+
+    /**
+     * Modification counter, incremented on each change to the items (or their amounts) in this inventory.
+     */
+    private int modifications = 0;
+
+    /**
+     * The table last rendered by {@link #toString()}, or null if not rendered yet.
+     */
+    private @Nullable String renderedTable = null;
+
+    /**
+     * The {@link #modifications} when the {@link #renderedTable} was rendered.
+     */
+    private int renderedModifications = -1;
+
+    /**
+     * The totals row of the {@link #renderedTable}.
+     */
+    private String[] renderedStats = new String[0];
+
+    /**
+     * The item rows of the {@link #renderedTable}, by inventory item.
+     */
+    private Map<InventoryItem, Row> renderedRows = new IdentityHashMap<>();
+
+    /**
+     * Get the modification counter of this inventory.
+     * The counter changes whenever items are added or removed, or their amount changes.
+     * @return the modification counter
+     */
+    public int getModifications() {
+        return modifications;
+    }
+
+    /**
+     * Get the total amount of items in this inventory.
+     * @return the sum of the amounts of all inventory items
+     */
+    public long getTotalAmount() {
+        return totalAmount;
+    }
+
+    /**
+     * Get the total value of the items in this inventory.
+     * @return the total value, in CP
+     */
+    public long getTotalValue() {
+        return totalValue;
+    }
+
+    /**
+     * Get the total weight of the items in this inventory.
+     * @return the total weight (rounded to 1 / {@link #WEIGHT_SCALE} per item)
+     */
+    public double getTotalWeight() {
+        return (double) totalWeight / WEIGHT_SCALE;
+    }
+
     /**
      * Get items in inventory.
+     * Modifications to the returned list are reflected in the inventory.
      * @return Items in inventory
      */
     public List<InventoryItem> getItems() {
-        return items;
+        return itemView;
+    }
+
+    /**
+     * Get the inventory item holding an item.
+     * @param item the item
+     * @return the inventory item, or null if this inventory does not hold the item
+     */
+    public @Nullable InventoryItem getItem(final Item item) {
+        return itemIndex.get(item);
+    }
+
+    /**
+     * Whether this inventory holds an item.
+     * @param item the item
+     * @return true if the inventory holds the item
+     */
+    public boolean contains(final Item item) {
+        return itemIndex.containsKey(item);
     }
 
     /**
@@ -109,6 +215,8 @@ public abstract class Inventory {
         name = inventoryName;
         items = inventoryItems;
         items.sort(InventoryItem.ITEM_COMPARATOR);
+        reindex();
+        items.forEach(item -> track(item, true));
         LOADED_INVENTORIES.add(this);
     }
 
@@ -116,20 +224,34 @@ public abstract class Inventory {
      * Create an inventory from a file.
      * @param fromFile The file to use to create the inventory.
      * @return {@link Inventory} object from json file
-     * @throws FileNotFoundException If the file does not exist
+     * @throws IOException If the file does not exist or cannot be read
      */
     public static Inventory fromJson(final File fromFile)
-            throws FileNotFoundException {
-        return GSON.fromJson(new FileReader(fromFile), Inventory.class);
+            throws IOException {
+        return fromJson(fromFile, Inventory.class);
+    }
+
+    /**
+     * Create an inventory of a specific type from a file.
+     * @param fromFile The file to use to create the inventory.
+     * @param type The type read if the file does not specify one
+     * @return {@link Inventory} object from json file
+     * @throws IOException If the file does not exist or cannot be read
+     */
+    public static Inventory fromJson(final File fromFile, final Class<? extends Inventory> type)
+            throws IOException {
+        try (Reader reader = new BufferedReader(new FileReader(fromFile))) {
+            return GSON.fromJson(reader, type);
+        }
     }
 
     /**
      * Try loading an inventory by name (using files stored in the directory stored in INVENTORY_DIRECTORY)
      * @param name the name of the inventory to load
      * @return an {@link Inventory}
-     * @throws FileNotFoundException if the file does not exist
+     * @throws IOException if the file does not exist or cannot be read
      */
-    public static Inventory fromName(final String name) throws FileNotFoundException {
+    public static Inventory fromName(final String name) throws IOException {
         return fromJson(new File(name));
     }
 
@@ -138,21 +260,39 @@ public abstract class Inventory {
      * @param type the type to instantiate
      * @return a list of inventory instances,of the given type,
      *      for each valid Json in the aforementioned directory.
+     *      Files that cannot be read are reported and skipped.
      */
     @SafeVarargs
-    public static List<Inventory> instantiateAllInventories(Class<? extends Inventory>... type) throws FileNotFoundException {
+    public static List<Inventory> instantiateAllInventories(Class<? extends Inventory>... type) {
+        InventoryLoadEvent event = new InventoryLoadEvent();
+        event.begin();
         List<Inventory> inventories = new ArrayList<>();
+        StringJoiner types = new StringJoiner(", ");
         for (Class<? extends Inventory> aClass : type) {
+            types.add(aClass.getSimpleName());
             File target = new File(INVENTORY_DIRECTORY + "/" + aClass.getSimpleName().toLowerCase(Locale.ROOT));
             if (!target.exists()) {
-                return inventories;
+                continue;
             }
             File[] files = target.listFiles(file -> file.getPath().endsWith(".json"));
             assert files != null;
             for (File inventoryFile : files) {
-                inventories.add(GSON.fromJson(new FileReader(inventoryFile), (Type) aClass));
+                try (Reader reader = new BufferedReader(new FileReader(inventoryFile))) {
+                    inventories.add(GSON.fromJson(reader, aClass));
+                    if (event.isEnabled()) {
+                        event.bytes += inventoryFile.length();
+                    }
+                } catch (IOException | JsonParseException e) {
+                    e.printStackTrace();
+                    System.out.println("Failed to load inventory " + inventoryFile);
+                    event.failures++;
+                }
             }
-
+        }
+        if (event.shouldCommit()) {
+            event.types = types.toString();
+            event.inventories = inventories.size();
+            event.commit();
         }
         return inventories;
     }
@@ -172,34 +312,73 @@ public abstract class Inventory {
     }
 
     /**
-     * Save the inventory to a file in INVENTORY_DIRECTORY
+     * Save the inventory to a file in INVENTORY_DIRECTORY.
+     * The file is written to a temporary file first, and then moved in place.
+     * Prefer {@link InventorySaver#markDirty(Inventory)} after modifications, which saves in the background.
      * @param overwrite set to true to overwrite existing inventory files
      * @throws FileAlreadyExistsException if the inventory already exists
      */
     public void save(boolean overwrite) throws IOException {
         File targetDir = new File(INVENTORY_DIRECTORY + "/" + getClass().getSimpleName().toLowerCase(Locale.ROOT));
         File targetFile = new File(targetDir + "/" + getName().toLowerCase(Locale.ROOT) + ".json");
+        File tempFile = new File(targetFile.getPath() + ".tmp");
         targetDir.mkdirs();
 
         if (!overwrite && targetFile.exists()) {
             System.out.println(toJson());
             throw new FileAlreadyExistsException("Inventory by name: " + getName() + " already exists and overwrite is off");
         }
+        InventorySaveEvent event = new InventorySaveEvent();
+        event.begin();
         try {
-            BufferedWriter bw = new BufferedWriter(new FileWriter(targetFile));
-            bw.write(toJson());
-            bw.close();
-        } catch (IOException e) {
+            try (BufferedWriter bw = new BufferedWriter(new FileWriter(tempFile))) {
+                COMPACT_GSON.toJson(this, Inventory.class, bw);
+            }
+            if (event.isEnabled()) {
+                event.bytes = tempFile.length();
+            }
+            try {
+                Files.move(tempFile.toPath(), targetFile.toPath(),
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile.toPath(), targetFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            event.succeeded = true;
+        } catch (IOException | JsonIOException e) {
             e.printStackTrace();
+            Files.deleteIfExists(tempFile.toPath());
+        } finally {
+            if (event.shouldCommit()) {
+                event.inventory = getName();
+                event.items = items.size();
+                event.commit();
+            }
         }
     }
 
     /**
-     * Convert the inventory to Json.
+     * Mark this inventory as modified, so it is saved in the background.
+     * @see InventorySaver#markDirty(Inventory)
+     */
+    public void markDirty() {
+        InventorySaver.markDirty(this);
+    }
+
+    /**
+     * Convert the inventory to (pretty-printed) Json.
      * @return A json string
      */
     public String toJson() {
-        return GSON.toJson(this);
+        return toJson(true);
+    }
+
+    /**
+     * Convert the inventory to Json.
+     * @param pretty true for pretty-printed, false for compact Json
+     * @return A json string
+     */
+    public String toJson(final boolean pretty) {
+        return (pretty ? GSON : COMPACT_GSON).toJson(this, Inventory.class);
     }
 
     /**
@@ -222,40 +401,30 @@ public abstract class Inventory {
     }
 
     /**
-     * Add an inventory item to this inventory.
-     * @param InventoryItems The inventory item to add
+     * Add inventory items to this inventory.
+     * @param InventoryItems The inventory items to add
      */
     public void addItems(final InventoryItem... InventoryItems) {
-
-        List<InventoryItem> items = new ArrayList<>(List.of(InventoryItems));
-
-
-        // Condensed items
-        for (InventoryItem iItem : getItems()) {
-            for (InventoryItem inventoryItem : new ArrayList<>(items)) {
-                if (iItem.getItem().equals(inventoryItem.getItem())) {
-                    iItem.setAmount(iItem.getAmount()
-                            + inventoryItem.getAmount()
-                    );
-                    items.remove(inventoryItem);
-                }
-            }
-            if (items.isEmpty()) {
-                return;
-            }
-        }
-
-        // Non-condensed items
-        for (InventoryItem inventoryItem : items) {
-            getItems().add(inventoryItem);
-        }
+        addItems(Arrays.asList(InventoryItems));
     }
 
     /**
      * Bulk add items.
+     * Items already in the inventory are added to the existing inventory item,
+     * other inventory items are added to the end of the inventory.
      * @param inventoryItems List of inventory items
      */
     public void addItems(final List<InventoryItem> inventoryItems) {
+        for (InventoryItem inventoryItem : inventoryItems) {
+            InventoryItem existing = itemIndex.get(inventoryItem.getItem());
+            if (existing == null) {
+                items.add(inventoryItem);
+                itemIndex.put(inventoryItem.getItem(), inventoryItem);
+                track(inventoryItem, true);
+            } else {
+                existing.setAmount(existing.getAmount() + inventoryItem.getAmount());
+            }
+        }
     }
 
     /**
@@ -289,43 +458,48 @@ public abstract class Inventory {
      * @param inventoryItems the items to remove
      * @return remaining items that cannot be removed
      * because they are not part of this inventory
+     * (with their amount set to the amount that could not be removed)
      */
     public List<InventoryItem> removeItemsBulk(
             final List<InventoryItem> inventoryItems
     ) {
+        List<InventoryItem> remaining = new ArrayList<>();
+        Set<InventoryItem> emptied = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        for (InventoryItem inventoryItem : inventoryItems) {
+            int toRemove = inventoryItem.getAmount();
+            InventoryItem iItem = itemIndex.get(inventoryItem.getItem());
+            while (iItem != null) {
+                int newAmount = iItem.getAmount() - toRemove;
+                if (newAmount > 0) {
+                    // More items remain than that are removed
+                    iItem.setAmount(newAmount);
+                    toRemove = 0;
+                    break;
+                }
 
-        // Condensed items
-        for (InventoryItem iItem : getItems()) {
-            for (InventoryItem inventoryItem : inventoryItems) {
-                if (iItem.getItem().equals(inventoryItem.getItem())) {
-
-                    // Items match
-                    int newAmount = iItem.getAmount()
-                            - inventoryItem.getAmount();
-
-                    if (newAmount == 0) {
-                        inventoryItems.remove(inventoryItem);
-                        getItems().remove(iItem);
-                    } else if (newAmount < 0) {
-                        // Too many items to remove
-                        getItems().remove(iItem);
-                        inventoryItem.setAmount(
-                                Math.abs(newAmount)
-                        ); // Remaining to-remove items
-                    } else {
-                        // More items remain than that are removed
-                        inventoryItems.remove(inventoryItem);
-                        iItem.setAmount(newAmount);
-                    }
+                // Empty this holder, and continue with the next holder of the same item
+                toRemove = -newAmount;
+                emptied.add(iItem);
+                track(iItem, false);
+                unindex(iItem, emptied);
+                if (toRemove == 0) {
+                    break;
                 }
+                iItem = itemIndex.get(inventoryItem.getItem());
             }
-            if (inventoryItems.isEmpty()) {
-                // Done
-                return inventoryItems;
+
+            if (toRemove > 0) {
+                // Too many items to remove
+                inventoryItem.setAmount(toRemove);
+                remaining.add(inventoryItem);
             }
         }
 
-        return inventoryItems;
+        if (!emptied.isEmpty()) {
+            items.removeIf(emptied::contains);
+        }
+        return remaining;
     }
 
     /**
@@ -334,89 +508,247 @@ public abstract class Inventory {
      * @return the items that were removed
      */
     public List<InventoryItem> removeRandomItems(final double targetWeight) {
-        List<InventoryItem> removed = new ArrayList<>();
+        Map<Item, InventoryItem> removed = new LinkedHashMap<>();
+        double removedWeight = 0;
 
         Random r = new Random();
 
-        emptying: while (removed.stream().mapToDouble(
-                i -> (i.getItem().weight != null ? i.getItem().weight * i.getAmount() : 0)
-        ).sum() < targetWeight) {
+        while (removedWeight < targetWeight) {
             if (getItems().isEmpty()) {
                 System.out.println(
                         "Inventory empty,"
                         + "no further items could be removed"
                 );
-                return removed;
+                break;
             }
 
-            InventoryItem item = getItems().get(r.nextInt(getItems().size()));
+            int index = r.nextInt(getItems().size());
+            InventoryItem item = getItems().get(index);
             item.setAmount(item.getAmount() - 1);
+            if (item.getAmount() <= 0) {
+                getItems().remove(index);
+            }
 
-            for (InventoryItem inventoryItem : removed) {
-                if (inventoryItem.getItem().equals(item.getItem())) {
-                    inventoryItem.setAmount(inventoryItem.getAmount() + 1);
-                }
-                continue emptying;
+            InventoryItem removedItem = removed.computeIfAbsent(item.getItem(), i -> new InventoryItem(i, 0));
+            removedItem.setAmount(removedItem.getAmount() + 1);
+            removedWeight += item.getItem().weight == null ? 0 : item.getItem().weight;
+        }
+
+        return new ArrayList<>(removed.values());
+    }
+
+    /**
+     * Add an inventory item to, or remove it from, the running totals.
+     * Tracked inventory items report changes to their amount to this inventory.
+     * @param item the inventory item
+     * @param added true if the item was added to {@link #items}, false if it was removed
+     */
+    private void track(final InventoryItem item, final boolean added) {
+        if (added) {
+            item.owner = this;
+            count(item.getItem(), item.getAmount());
+        } else {
+            if (item.owner == this) {
+                item.owner = null;
             }
+            count(item.getItem(), -item.getAmount());
+        }
+    }
+
+    /**
+     * Update the running totals.
+     * @param item the item whose amount changed
+     * @param amount the change in amount
+     */
+    private void count(final Item item, final long amount) {
+        modifications++;
+        totalAmount += amount;
+        totalValue = MoneyMath.add(totalValue, MoneyMath.multiply(item.worth.getValue(), amount));
+        totalWeight += amount * (item.weight == null ? 0 : Math.round(item.weight * WEIGHT_SCALE));
+    }
 
-            // Item not removed before
-            removed.add(new InventoryItem(item.getItem(), 1));
+    /**
+     * Rebuild the {@link #itemIndex} from the {@link #items}.
+     */
+    private void reindex() {
+        itemIndex.clear();
+        for (InventoryItem item : items) {
+            itemIndex.putIfAbsent(item.getItem(), item);
         }
+    }
 
-        return removed;
+    /**
+     * Remove an inventory item from the {@link #itemIndex},
+     * indexing the next inventory item holding the same item if there is one.
+     * @param removed the inventory item removed from {@link #items}
+     */
+    private void unindex(final InventoryItem removed) {
+        unindex(removed, Set.of());
+    }
+
+    /**
+     * Remove an inventory item from the {@link #itemIndex},
+     * indexing the next inventory item holding the same item if there is one.
+     * @param removed the inventory item to unindex
+     * @param skipped inventory items that are still in {@link #items}, but are about to be removed
+     */
+    private void unindex(final InventoryItem removed, final Set<InventoryItem> skipped) {
+        if (!itemIndex.remove(removed.getItem(), removed)) {
+            return;
+        }
+        for (InventoryItem item : items) {
+            if (item != removed && !skipped.contains(item) && item.getItem().equals(removed.getItem())) {
+                itemIndex.put(item.getItem(), item);
+                return;
+            }
+        }
+    }
+
+    /**
+     * List view of the {@link #items} that keeps the {@link #itemIndex} up to date.
+     * Unlike {@link #addItems(List)}, adding to this list does not merge equal items.
+     */
+    private final class ItemList extends AbstractList<InventoryItem> implements RandomAccess {
+
+        @Override
+        public InventoryItem get(final int index) {
+            return items.get(index);
+        }
+
+        @Override
+        public int size() {
+            return items.size();
+        }
+
+        @Override
+        public void add(final int index, final InventoryItem element) {
+            items.add(index, element);
+            itemIndex.putIfAbsent(element.getItem(), element);
+            track(element, true);
+            modCount++;
+        }
+
+        @Override
+        public InventoryItem set(final int index, final InventoryItem element) {
+            InventoryItem previous = items.set(index, element);
+            unindex(previous);
+            track(previous, false);
+            itemIndex.putIfAbsent(element.getItem(), element);
+            track(element, true);
+            return previous;
+        }
+
+        @Override
+        public InventoryItem remove(final int index) {
+            InventoryItem previous = items.remove(index);
+            unindex(previous);
+            track(previous, false);
+            modCount++;
+            return previous;
+        }
     }
 
     /**
      * Convert to string.
+     * The table is cached until the inventory or its stats change,
+     * and only rows of items that changed since the last call are re-rendered.
      * @return String representation
      */
     @Override
     public String toString() {
-        List<String[]> rawData = inventoryData();
-        List<String[]> paddedData = padTable(rawData);
-        StringBuilder stringTable = new StringBuilder("```asciidoc\n");
-        for (String[] paddedDatum : paddedData) {
-            for (String s : paddedDatum) {
-                stringTable.append(s).append(SPACING_CHARACTER);
+        InventoryRenderEvent event = new InventoryRenderEvent();
+        event.begin();
+        String[] stats = inventoryStats();
+        if (renderedTable != null && renderedModifications == modifications && Arrays.equals(stats, renderedStats)) {
+            event.cached = true;
+            commit(event, renderedTable);
+            return renderedTable;
+        }
+
+        List<String[]> table = new ArrayList<>(items.size() + 2);
+        Map<InventoryItem, Row> rows = new IdentityHashMap<>(items.size());
+        table.add(HEADER);
+        for (InventoryItem item : items) {
+            Row row = renderedRows.get(item);
+            if (row == null || row.amount() != item.getAmount()) {
+                row = new Row(item.getAmount(), item.itemData());
+                event.rendered++;
             }
-            stringTable.append("\n");
+            rows.put(item, row);
+            table.add(row.cells());
         }
-        stringTable.append("```");
-        return stringTable.toString();
+        table.add(stats);
+
+        renderedRows = rows;
+        renderedStats = stats;
+        renderedModifications = modifications;
+        renderedTable = renderTable(table);
+        commit(event, renderedTable);
+        return renderedTable;
     }
 
     /**
-     * Add padding between elements of the table to align the characters.
+     * Commit a render event, if it is recorded.
+     * @param event the event
+     * @param rendered the rendered table
+     */
+    private void commit(final InventoryRenderEvent event, final String rendered) {
+        if (event.shouldCommit()) {
+            event.inventory = getName();
+            event.rows = items.size();
+            event.characters = rendered.length();
+            event.commit();
+        }
+    }
+
+    /**
+     * Render a table, padding elements to align the columns.
      * Assumes characters are of equal size.
-     * <p>Modifies {@code l}</p>
-     * @param l the list of lines to align.
-     * @return Aligned list of characters
+     * Separator lines are added around the first (header) row and before the last (totals) row.
+     * @param table the rows of the table
+     * @return the rendered table
      */
-    private List<String[]> padTable(final List<String[]> l) {
-        int[] maxLengths = maxColumnLengths(l);
+    private static String renderTable(final List<String[]> table) {
+        int[] maxLengths = maxColumnLengths(table);
+        int lineLength = 1;
+        for (int maxLength : maxLengths) {
+            lineLength += maxLength + SPACING_CHARACTER.length();
+        }
 
-        // Headers + Table elements
-        for (int i = 0; i < maxLengths.length; i++) {
-            for (String[] strings : l) {
-                while (strings[i].length() < maxLengths[i]) {
-                    strings[i] += " ";
+        StringBuilder stringTable = new StringBuilder("```asciidoc\n".length() + (table.size() + 3) * lineLength + 3);
+        stringTable.append("```asciidoc\n");
+        appendSeparator(stringTable, maxLengths);
+        for (int row = 0; row < table.size(); row++) {
+            if (row == 1 || row == table.size() - 1) {
+                appendSeparator(stringTable, maxLengths);
+            }
+            String[] cells = table.get(row);
+            for (int i = 0; i < cells.length; i++) {
+                stringTable.append(cells[i]);
+                for (int pad = cells[i].length(); pad < maxLengths[i]; pad++) {
+                    stringTable.append(' ');
                 }
+                stringTable.append(SPACING_CHARACTER);
             }
+            stringTable.append('\n');
         }
+        stringTable.append("```");
+        return stringTable.toString();
+    }
 
-        // Separator line
-        String[] separator = new String[maxLengths.length];
-        for (int i = 0; i < separator.length; i++) {
-            separator[i] = "=".repeat(maxLengths[i]);
+    /**
+     * Append a separator line to a table.
+     * @param stringTable the table to append to
+     * @param maxLengths the width of each column
+     */
+    private static void appendSeparator(final StringBuilder stringTable, final int[] maxLengths) {
+        for (int maxLength : maxLengths) {
+            stringTable.append("=".repeat(maxLength)).append(SPACING_CHARACTER);
         }
-        l.add(1, separator);
-        l.add(0, separator);
-        l.add(l.size() - 1, separator);
-
-        return l;
+        stringTable.append('\n');
     }
 
-    private int[] maxColumnLengths(List<String[]> l) {
+    private static int[] maxColumnLengths(List<String[]> l) {
         int[] maxLengths = new int[l.get(0).length];
         for (int i = 0; i < maxLengths.length; i++) {
             for (String[] strings : l) {
@@ -426,14 +758,12 @@ public abstract class Inventory {
         return maxLengths;
     }
 
-    private List<String[]> inventoryData() {
-        List<String[]> endTable = new ArrayList<>();
-        endTable.add(HEADER);
-        for (InventoryItem item : getItems()) {
-            endTable.add(item.itemData());
-        }
-        endTable.add(inventoryStats());
-        return endTable;
+    /**
+     * A rendered table row.
+     * @param amount the amount of the inventory item when the row was rendered
+     * @param cells the cells of the row
+     */
+    private record Row(int amount, String[] cells) {
     }
 
     /**
@@ -441,11 +771,11 @@ public abstract class Inventory {
      * @return String array of stats (equal sized to HEADER)
      */
     private String[] inventoryStats() {
-        String amount = String.valueOf(getItems().stream().mapToInt(InventoryItem::getAmount).sum());
+        String amount = String.valueOf(totalAmount);
         String category = "TOTALS";
         String name = "";
-        String value = new Money(getItems().stream().mapToDouble(i -> i.getAmount() * i.getItem().worth.getAsGP()).sum()).toString();
-        String weight = String.valueOf(getItems().stream().mapToDouble(i -> i.getAmount() * (i.getItem().weight == null ? 0 : i.getItem().weight)).sum());
+        String value = MoneyMath.format(totalValue);
+        String weight = String.valueOf(getTotalWeight());
         String stats = getAdditionalStats();
         return new String[]{amount, category, name, value, weight, stats};
     }
@@ -476,7 +806,7 @@ public abstract class Inventory {
             endRow[0] = Integer.toString(amount);
             endRow[1] = item.category.getName();
             endRow[2] = item.name;
-            endRow[3] = new Money(amount * item.worth.getAsGP())
+            endRow[3] = MoneyMath.format(MoneyMath.multiply(item.worth.getValue(), amount))
                     + " (" + amount + "*" + item.worth.getAsGP() + "gp)";
             endRow[4] = item.weight == null ? "0" : amount * item.weight
                     + " (" + amount + "*" + item.weight + ")";
@@ -494,6 +824,11 @@ public abstract class Inventory {
          */
         private boolean loot;
 
+        /**
+         * The inventory holding this item, which keeps running totals of its amount.
+         */
+        private @Nullable Inventory owner = null;
+
         /**
          * Get the item type.
          * @return item type
@@ -515,7 +850,11 @@ public abstract class Inventory {
          * @param newAmount new amount
          */
         public void setAmount(final int newAmount) {
+            int previous = amount;
             amount = newAmount;
+            if (owner != null) {
+                owner.count(item, newAmount - previous);
+            }
         }
 
         /**
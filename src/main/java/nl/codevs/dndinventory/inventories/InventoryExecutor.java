@@ -0,0 +1,103 @@
+package nl.codevs.dndinventory.inventories;
+
+import okhttp3.internal.annotations.EverythingIsNonNull;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serial execution of tasks per inventory.
+ * <p>
+ * Tasks on the same inventory run one at a time, in submission order.
+ * Tasks on different inventories run in parallel, on a shared pool of worker threads.
+ * Submitting never blocks, so event threads can hand off inventory modifications and continue.
+ * <p>
+ * Tasks run while holding the monitor of their inventory,
+ * so code synchronizing on an inventory (like {@link nl.codevs.dndinventory.inventories.interfaces.IMoney#pay})
+ * never interleaves with them.
+ */
+@EverythingIsNonNull
+public final class InventoryExecutor {
+
+    /**
+     * Amount of worker threads created, used to name them.
+     */
+    private static final AtomicInteger WORKERS_CREATED = new AtomicInteger();
+
+    /**
+     * Worker threads running the tasks.
+     */
+    private static final ExecutorService WORKERS = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "Inventory worker " + WORKERS_CREATED.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The last submitted task of each inventory with pending tasks.
+     * A future completes (normally) when its task has finished.
+     */
+    private static final Map<Inventory, CompletableFuture<Void>> TAILS = new ConcurrentHashMap<>();
+
+    /**
+     * Run a task on an inventory, after all tasks submitted earlier for the inventory.
+     * @param inventory the inventory the task uses
+     * @param task the task
+     * @param <T> the result type of the task
+     * @return a future completing with the result of the task, or exceptionally with what the task threw
+     */
+    public static <T> CompletableFuture<T> submit(final Inventory inventory, final Callable<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        CompletableFuture<Void> previous = TAILS.put(inventory, done);
+        Runnable run = () -> {
+            try {
+                synchronized (inventory) {
+                    result.complete(task.call());
+                }
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            } finally {
+                TAILS.remove(inventory, done);
+                done.complete(null);
+            }
+        };
+        if (previous == null) {
+            WORKERS.execute(run);
+        } else {
+            previous.thenRunAsync(run, WORKERS);
+        }
+        return result;
+    }
+
+    /**
+     * Run an action on an inventory, after all tasks submitted earlier for the inventory.
+     * @param inventory the inventory the action uses
+     * @param action the action
+     * @return a future completing when the action has run, or exceptionally with what the action threw
+     */
+    public static CompletableFuture<Void> execute(final Inventory inventory, final Runnable action) {
+        return submit(inventory, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Whether an inventory has tasks submitted that have not finished yet.
+     * @param inventory the inventory
+     * @return true if the inventory has pending tasks
+     */
+    public static boolean isBusy(final Inventory inventory) {
+        return TAILS.containsKey(inventory);
+    }
+
+    private InventoryExecutor() {
+        // Never called
+    }
+}
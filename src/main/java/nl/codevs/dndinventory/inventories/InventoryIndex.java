@@ -0,0 +1,317 @@
+package nl.codevs.dndinventory.inventories;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import okhttp3.internal.annotations.EverythingIsNonNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Index of the inventory files on disk, so inventories can be loaded when they are first needed.
+ * <p>
+ * Indexing only reads the name of each inventory file.
+ * The full inventory is read (hydrated) on first access through {@link Entry#get()},
+ * or for all entries at once, in parallel, with {@link #warm()}.
+ */
+@EverythingIsNonNull
+public final class InventoryIndex {
+
+    /**
+     * Indexed inventory files.
+     */
+    private static final List<Entry> ENTRIES = new CopyOnWriteArrayList<>();
+
+    /**
+     * Indexed inventory files, by inventory name.
+     */
+    private static final NameIndex<Entry> ENTRY_NAMES = new NameIndex<>();
+
+    /**
+     * Index the inventory files of some types, adding them to the index.
+     * Files are read from the {@code INVENTORY_DIRECTORY/type#getSimpleName/} folder.
+     * @param types the types to index
+     * @return the newly indexed entries
+     */
+    @SafeVarargs
+    public static List<Entry> index(final Class<? extends Inventory>... types) {
+        List<Entry> entries = new ArrayList<>();
+        for (Class<? extends Inventory> type : types) {
+            entries.addAll(scan(
+                    new File(Inventory.INVENTORY_DIRECTORY + "/" + type.getSimpleName().toLowerCase(Locale.ROOT)),
+                    type
+            ));
+        }
+        ENTRIES.addAll(entries);
+        entries.forEach(e -> ENTRY_NAMES.add(e.getName(), e));
+        return entries;
+    }
+
+    /**
+     * Scan a directory for inventory files, without adding them to the index.
+     * Files are scanned in parallel. Files without a readable name are reported and skipped.
+     * @param directory the directory to scan
+     * @param type the type of the inventories in the directory
+     * @return an entry for each inventory file in the directory
+     */
+    public static List<Entry> scan(final File directory, final Class<? extends Inventory> type) {
+        File[] files = directory.listFiles(file -> file.getPath().endsWith(".json"));
+        if (files == null) {
+            return new ArrayList<>();
+        }
+        // Workers may not touch Inventory (statics), this can run during its class initialization
+        return Arrays.stream(files).parallel().map(file -> {
+            try {
+                return new Entry(readName(file), type, file, file.lastModified());
+            } catch (IOException | JsonParseException | IllegalStateException e) {
+                e.printStackTrace();
+                System.out.println("Failed to index inventory " + file);
+                return null;
+            }
+        }).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Read only the name of an inventory file.
+     * Values before the name are skipped without being deserialized.
+     * @param file the inventory file
+     * @return the inventory name
+     * @throws IOException if the file cannot be read, or has no name
+     */
+    static String readName(final File file) throws IOException {
+        try (JsonReader reader = new JsonReader(new BufferedReader(new FileReader(file)))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (reader.nextName().equals("name") && reader.peek() == JsonToken.STRING) {
+                    return reader.nextString();
+                }
+                reader.skipValue();
+            }
+        }
+        throw new IOException("Inventory file has no name: " + file);
+    }
+
+    /**
+     * Get all indexed entries.
+     * @return an unmodifiable view of the entries
+     */
+    public static List<Entry> getEntries() {
+        return Collections.unmodifiableList(ENTRIES);
+    }
+
+    /**
+     * Get the names of all known inventories, loaded or not.
+     * @return the inventory names
+     */
+    public static List<String> names() {
+        List<String> names = new ArrayList<>();
+        Inventory.LOADED_INVENTORIES.forEach(i -> names.add(i.getName()));
+        ENTRIES.stream().filter(e -> !e.isLoaded()).forEach(e -> names.add(e.getName()));
+        return names;
+    }
+
+    /**
+     * Find inventories by name, loading the matching indexed inventories that are not loaded yet.
+     * Inventories that fail to load are reported and skipped.
+     * @param filter text the name must contain (case-insensitive), empty for all inventories
+     * @return the matching inventories
+     */
+    public static List<Inventory> find(final String filter) {
+        List<Inventory> found = Inventory.LOADED_INVENTORIES.find(filter);
+        for (Entry entry : ENTRY_NAMES.containing(filter)) {
+            if (entry.isLoaded()) {
+                continue;
+            }
+            Inventory inventory = entry.tryGet();
+            if (inventory != null) {
+                found.add(inventory);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Find inventories with exactly a name (ignoring case),
+     * loading the matching indexed inventories that are not loaded yet.
+     * Inventories that fail to load are reported and skipped.
+     * @param name the inventory name
+     * @return the inventories with the name
+     */
+    public static List<Inventory> named(final String name) {
+        List<Inventory> found = Inventory.LOADED_INVENTORIES.named(name);
+        for (Entry entry : ENTRY_NAMES.named(name)) {
+            if (entry.isLoaded()) {
+                continue;
+            }
+            Inventory inventory = entry.tryGet();
+            if (inventory != null) {
+                found.add(inventory);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Load all indexed inventories that are not loaded yet, in parallel, in the background.
+     * @return a future completing when all entries have been loaded (or failed to load)
+     */
+    public static CompletableFuture<Void> warm() {
+        return CompletableFuture.allOf(ENTRIES.stream()
+                .filter(e -> !e.isLoaded())
+                .map(e -> CompletableFuture.runAsync(e::tryGet))
+                .toArray(CompletableFuture[]::new)
+        );
+    }
+
+    /**
+     * An indexed inventory file.
+     */
+    public static final class Entry {
+
+        /**
+         * The inventory name.
+         */
+        private final String name;
+
+        /**
+         * The inventory type.
+         */
+        private final Class<? extends Inventory> type;
+
+        /**
+         * The inventory file.
+         */
+        private final File file;
+
+        /**
+         * Last modification time of the file when it was indexed.
+         */
+        private final long modified;
+
+        /**
+         * The loaded inventory, or null if not loaded yet.
+         */
+        private volatile @Nullable Inventory inventory = null;
+
+        /**
+         * Create an entry.
+         * @param inventoryName the inventory name
+         * @param inventoryType the inventory type
+         * @param inventoryFile the inventory file
+         * @param lastModified last modification time of the file
+         */
+        Entry(
+                final String inventoryName,
+                final Class<? extends Inventory> inventoryType,
+                final File inventoryFile,
+                final long lastModified
+        ) {
+            name = inventoryName;
+            type = inventoryType;
+            file = inventoryFile;
+            modified = lastModified;
+        }
+
+        /**
+         * Get the inventory name.
+         * @return the inventory name
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Get the inventory type.
+         * @return the inventory type
+         */
+        public Class<? extends Inventory> getType() {
+            return type;
+        }
+
+        /**
+         * Get the inventory file.
+         * @return the inventory file
+         */
+        public File getFile() {
+            return file;
+        }
+
+        /**
+         * Get the last modification time of the file when it was indexed.
+         * @return the modification time, in milliseconds since the epoch
+         */
+        public long getModified() {
+            return modified;
+        }
+
+        /**
+         * Whether the inventory has been loaded through this entry.
+         * @return true if loaded
+         */
+        public boolean isHydrated() {
+            return inventory != null;
+        }
+
+        /**
+         * Whether this entry is loaded, or an inventory with its name was loaded some other way.
+         * @return true if the inventory of this entry does not need to be loaded
+         */
+        private boolean isLoaded() {
+            return isHydrated() || Inventory.LOADED_INVENTORIES.containsName(name);
+        }
+
+        /**
+         * Get the inventory, loading it from its file on first access.
+         * @return the inventory
+         * @throws IOException if the inventory could not be loaded
+         */
+        public Inventory get() throws IOException {
+            Inventory loaded = inventory;
+            if (loaded != null) {
+                return loaded;
+            }
+            synchronized (this) {
+                if (inventory == null) {
+                    inventory = Inventory.fromJson(file, type);
+                }
+                return inventory;
+            }
+        }
+
+        /**
+         * Get the inventory, loading it from its file on first access.
+         * Failures are reported.
+         * @return the inventory, or null if it could not be loaded
+         */
+        private @Nullable Inventory tryGet() {
+            try {
+                return get();
+            } catch (IOException | JsonParseException e) {
+                e.printStackTrace();
+                System.out.println("Failed to load inventory " + file);
+                return null;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return name + " (" + type.getSimpleName() + ", " + file + ")";
+        }
+    }
+
+    private InventoryIndex() {
+        // Never called
+    }
+}
@@ -0,0 +1,146 @@
+package nl.codevs.dndinventory.inventories;
+
+import okhttp3.internal.annotations.EverythingIsNonNull;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of loaded inventories.
+ * <p>
+ * Inventories are indexed by normalized (stripped, lower case) name, for O(1) lookups by name,
+ * by the suffixes of their name, for {@code contains}-style filtering in O(log n) plus the matches,
+ * and by type.
+ * Inventories register themselves when created, which may happen on any thread.
+ */
+@EverythingIsNonNull
+public final class InventoryRegistry implements Iterable<Inventory> {
+
+    /**
+     * Inventories by name.
+     */
+    private final NameIndex<Inventory> names = new NameIndex<>();
+
+    /**
+     * Inventories by their exact type.
+     */
+    private final Map<Class<? extends Inventory>, Set<Inventory>> byType = new ConcurrentHashMap<>();
+
+    /**
+     * Normalize an inventory name for lookups.
+     * @param name the name
+     * @return the name without surrounding whitespace, in lower case
+     */
+    public static String normalize(final String name) {
+        return NameIndex.normalize(name);
+    }
+
+    /**
+     * Register an inventory.
+     * @param inventory the inventory
+     */
+    public void add(final Inventory inventory) {
+        byType.computeIfAbsent(inventory.getClass(), k -> ConcurrentHashMap.newKeySet()).add(inventory);
+        names.add(inventory.getName(), inventory);
+    }
+
+    /**
+     * Unregister an inventory.
+     * @param inventory the inventory
+     * @return true if the inventory was registered
+     */
+    public boolean remove(final Inventory inventory) {
+        Set<Inventory> ofType = byType.get(inventory.getClass());
+        if (ofType != null) {
+            ofType.remove(inventory);
+        }
+        return names.remove(inventory.getName(), inventory);
+    }
+
+    /**
+     * Whether an inventory is registered.
+     * @param inventory the inventory
+     * @return true if registered
+     */
+    public boolean contains(final Inventory inventory) {
+        Set<Inventory> ofType = byType.get(inventory.getClass());
+        return ofType != null && ofType.contains(inventory);
+    }
+
+    /**
+     * Whether an inventory with a name is registered.
+     * @param name the name (case-insensitive)
+     * @return true if an inventory with the name is registered
+     */
+    public boolean containsName(final String name) {
+        return names.containsName(name);
+    }
+
+    /**
+     * Get the inventories with a name.
+     * Inventories of different types may share a name.
+     * @param name the name (case-insensitive)
+     * @return the inventories with the name
+     */
+    public List<Inventory> named(final String name) {
+        return names.named(name);
+    }
+
+    /**
+     * Find inventories by name.
+     * @param filter text the name must contain (case-insensitive), empty for all inventories
+     * @return the matching inventories, in no particular order
+     */
+    public List<Inventory> find(final String filter) {
+        return names.containing(filter);
+    }
+
+    /**
+     * Get the inventories of a type, including its subtypes.
+     * @param type the type
+     * @param <T> the type
+     * @return the inventories of the type, in no particular order
+     */
+    public <T extends Inventory> List<T> ofType(final Class<T> type) {
+        List<T> found = new ArrayList<>();
+        byType.forEach((registered, inventories) -> {
+            if (type.isAssignableFrom(registered)) {
+                inventories.forEach(i -> found.add(type.cast(i)));
+            }
+        });
+        return found;
+    }
+
+    /**
+     * Get all registered inventories.
+     * @return the inventories, in no particular order
+     */
+    public List<Inventory> all() {
+        return names.all();
+    }
+
+    /**
+     * Get the amount of registered inventories.
+     * @return the amount of inventories
+     */
+    public int size() {
+        int size = 0;
+        for (Set<Inventory> inventories : byType.values()) {
+            size += inventories.size();
+        }
+        return size;
+    }
+
+    /**
+     * Iterate over a snapshot of the registered inventories.
+     * @return the iterator
+     */
+    @Override
+    public Iterator<Inventory> iterator() {
+        return all().iterator();
+    }
+}
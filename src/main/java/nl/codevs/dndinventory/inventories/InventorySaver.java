@@ -0,0 +1,139 @@
+package nl.codevs.dndinventory.inventories;
+
+import nl.codevs.dndinventory.metrics.CommandMetrics;
+import okhttp3.internal.annotations.EverythingIsNonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind saving of inventories.
+ * <p>
+ * Modified inventories are marked dirty, and saved by a background thread after {@link #SAVE_DELAY_MILLIS}.
+ * All modifications within that window are written at once.
+ * Dirty inventories are flushed when the program shuts down.
+ */
+@EverythingIsNonNull
+public final class InventorySaver {
+
+    /**
+     * Time between marking an inventory dirty and saving it, in milliseconds.
+     */
+    public static final long SAVE_DELAY_MILLIS = 2_000;
+
+    /**
+     * Inventories that have been modified, but not saved yet.
+     */
+    private static final Set<Inventory> DIRTY = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Name the {@link CommandMetrics.Stage#PERSIST persist} times of saves are recorded under.
+     */
+    public static final String METRICS_NAME = "inventory save";
+
+    /**
+     * Thread scheduling delayed saves of dirty inventories.
+     * The writes themselves run on the {@link InventoryExecutor} queue of each inventory,
+     * so an inventory is never written twice at once, while different inventories are written in parallel.
+     */
+    private static final ScheduledExecutorService SAVER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "Inventory saver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(InventorySaver::flush, "Inventory saver shutdown"));
+    }
+
+    /**
+     * Mark an inventory as modified, scheduling it to be saved.
+     * Does nothing if the inventory is already scheduled to be saved.
+     * @param inventory the modified inventory
+     */
+    public static void markDirty(final Inventory inventory) {
+        if (DIRTY.add(inventory)) {
+            SAVER.schedule(() -> writeAll(List.of(inventory)), SAVE_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Mark inventories as modified, scheduling them to be saved together.
+     * Inventories already scheduled to be saved are saved with their earlier schedule.
+     * @param inventories the modified inventories
+     */
+    public static void markDirty(final Collection<? extends Inventory> inventories) {
+        List<Inventory> batch = new ArrayList<>(inventories.size());
+        for (Inventory inventory : inventories) {
+            if (DIRTY.add(inventory)) {
+                batch.add(inventory);
+            }
+        }
+        if (!batch.isEmpty()) {
+            SAVER.schedule(() -> writeAll(batch), SAVE_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Whether an inventory is modified, but not saved yet.
+     * @param inventory the inventory
+     * @return true if the inventory is scheduled to be saved
+     */
+    public static boolean isDirty(final Inventory inventory) {
+        return DIRTY.contains(inventory);
+    }
+
+    /**
+     * Save all dirty inventories now, and wait for them to be written.
+     */
+    public static void flush() {
+        try {
+            SAVER.submit(() -> writeAll(List.copyOf(DIRTY))).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.out.println("Interrupted while saving inventories!");
+        } catch (ExecutionException e) {
+            e.printStackTrace();
+            System.out.println("Failed to save inventories!");
+        }
+    }
+
+    /**
+     * Save inventories if they are dirty, in parallel on their {@link InventoryExecutor} queues.
+     * Waits for all of them to be written.
+     * Inventories are marked clean before writing, so modifications made during the write schedule another save.
+     * Inventories are saved on their queue, so they are not modified while being written.
+     * Commands only mark inventories dirty, so the write time is recorded separately, as {@link #METRICS_NAME}.
+     * @param inventories the inventories to save
+     */
+    private static void writeAll(final List<Inventory> inventories) {
+        List<CompletableFuture<Void>> writes = new ArrayList<>(inventories.size());
+        for (Inventory inventory : inventories) {
+            if (DIRTY.remove(inventory)) {
+                writes.add(InventoryExecutor.<Void>submit(inventory, () -> {
+                    long start = System.nanoTime();
+                    inventory.save(true);
+                    CommandMetrics.record(METRICS_NAME, CommandMetrics.Stage.PERSIST, System.nanoTime() - start);
+                    return null;
+                }).exceptionally(e -> {
+                    e.printStackTrace();
+                    System.out.println("Failed to save inventory " + inventory.getName());
+                    return null;
+                }));
+            }
+        }
+        CompletableFuture.allOf(writes.toArray(new CompletableFuture<?>[0])).join();
+    }
+
+    private InventorySaver() {
+        // Never called
+    }
+}
@@ -0,0 +1,152 @@
+package nl.codevs.dndinventory.inventories;
+
+import okhttp3.internal.annotations.EverythingIsNonNull;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Index of values by (normalized) name.
+ * <p>
+ * Exact names are looked up in a hash map.
+ * Every suffix of every name is kept in a sorted map, so the values whose name contains some text
+ * are the values under the suffixes starting with that text, found without scanning all names.
+ * <p>
+ * Reads do not lock; modifications are serialized.
+ * @param <T> the type of the values
+ */
+@EverythingIsNonNull
+final class NameIndex<T> {
+
+    /**
+     * Values by normalized name.
+     */
+    private final Map<String, Set<T>> byName = new ConcurrentHashMap<>();
+
+    /**
+     * Values by each suffix of their normalized name.
+     */
+    private final ConcurrentNavigableMap<String, Set<T>> bySuffix = new ConcurrentSkipListMap<>();
+
+    /**
+     * Normalize a name for lookups: strip surrounding whitespace and convert to lower case.
+     * @param name the name
+     * @return the normalized name
+     */
+    static String normalize(final String name) {
+        return name.strip().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Add a value.
+     * @param name the name of the value
+     * @param value the value
+     */
+    synchronized void add(final String name, final T value) {
+        String normalized = normalize(name);
+        byName.computeIfAbsent(normalized, k -> newSet()).add(value);
+        for (int i = 0; i < normalized.length(); i++) {
+            bySuffix.computeIfAbsent(normalized.substring(i), k -> newSet()).add(value);
+        }
+    }
+
+    /**
+     * Remove a value.
+     * @param name the name the value was added with
+     * @param value the value
+     * @return true if the value was in the index
+     */
+    synchronized boolean remove(final String name, final T value) {
+        String normalized = normalize(name);
+        if (!remove(byName, normalized, value)) {
+            return false;
+        }
+        for (int i = 0; i < normalized.length(); i++) {
+            remove(bySuffix, normalized.substring(i), value);
+        }
+        return true;
+    }
+
+    /**
+     * Get the values with a name.
+     * @param name the name (normalized before lookup)
+     * @return the values with the name, in no particular order
+     */
+    List<T> named(final String name) {
+        Set<T> values = byName.get(normalize(name));
+        return values == null ? new ArrayList<>() : new ArrayList<>(values);
+    }
+
+    /**
+     * Whether any value has a name.
+     * @param name the name (normalized before lookup)
+     * @return true if a value has the name
+     */
+    boolean containsName(final String name) {
+        Set<T> values = byName.get(normalize(name));
+        return values != null && !values.isEmpty();
+    }
+
+    /**
+     * Get the values whose name contains some text.
+     * @param filter the text (normalized before lookup), empty for all values
+     * @return the matching values, without duplicates, in no particular order
+     */
+    List<T> containing(final String filter) {
+        String normalized = normalize(filter);
+        if (normalized.isEmpty()) {
+            return all();
+        }
+        Set<T> found = new HashSet<>();
+        for (Map.Entry<String, Set<T>> entry : bySuffix.tailMap(normalized).entrySet()) {
+            if (!entry.getKey().startsWith(normalized)) {
+                break;
+            }
+            found.addAll(entry.getValue());
+        }
+        return new ArrayList<>(found);
+    }
+
+    /**
+     * Get all values.
+     * @return the values, in no particular order
+     */
+    List<T> all() {
+        List<T> values = new ArrayList<>();
+        byName.values().forEach(values::addAll);
+        return values;
+    }
+
+    /**
+     * Remove a value from a set in a map, dropping the set when it becomes empty.
+     * @param map the map
+     * @param key the key of the set
+     * @param value the value to remove
+     * @return true if the value was removed
+     */
+    private boolean remove(final Map<String, Set<T>> map, final String key, final T value) {
+        Set<T> values = map.get(key);
+        if (values == null || !values.remove(value)) {
+            return false;
+        }
+        if (values.isEmpty()) {
+            map.remove(key);
+        }
+        return true;
+    }
+
+    /**
+     * Create a concurrent set.
+     * @return the set
+     */
+    private Set<T> newSet() {
+        return ConcurrentHashMap.newKeySet();
+    }
+}
@@ -5,7 +5,9 @@ import nl.codevs.dndinventory.inventories.interfaces.*;
 import okhttp3.internal.annotations.EverythingIsNonNull;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @EverythingIsNonNull
 public class PlayerInventory extends Inventory
@@ -57,13 +59,17 @@ public class PlayerInventory extends Inventory
      */
     private final CharacterClass cc;
     /**
-     * Character experience.
+     * Character experience. Written on the {@link InventoryExecutor} queue, read from any thread.
      */
-    private int exp;
+    private volatile int exp;
     /**
      * Actual character level.
      */
     private int realLvl;
+    /**
+     * Last looked up potential level, with the experience it was looked up for.
+     */
+    private volatile CachedLevel potentialLvl;
 
     /**
      * Test inventory.
@@ -80,7 +86,6 @@ public class PlayerInventory extends Inventory
     );
 
     static {
-        TEST_INVENTORY.getMoney().setSimplify(false);
         Inventory.LOADED_INVENTORIES.remove(TEST_INVENTORY);
     }
 
@@ -119,9 +124,10 @@ public class PlayerInventory extends Inventory
             final int complexion
     ) {
         super(playerName, startingItems);
-        money = startingMoney;
+        money = startingMoney.withSimplify(false);
         this.cc = characterClass;
         this.exp = experience;
+        this.potentialLvl = new CachedLevel(experience, LevelTable.of(characterClass).levelFor(experience));
         this.realLvl = actualLevel;
         this.str = strength;
         this.dex = dexterity;
@@ -131,7 +137,6 @@ public class PlayerInventory extends Inventory
         this.chr = charisma;
         this.com = complexion;
         this.mHp = maxHealth;
-        money.setSimplify(false);
     }
 
     /**
@@ -161,8 +166,7 @@ public class PlayerInventory extends Inventory
      */
     @Override
     public void setMoney(final nl.codevs.dndinventory.data.Money newMoney) {
-        newMoney.setSimplify(false);
-        this.money = newMoney;
+        this.money = newMoney.withSimplify(false);
     }
 
     /**
@@ -304,6 +308,58 @@ public class PlayerInventory extends Inventory
         this.exp += experience;
     }
 
+    /**
+     * Get character level.
+     * Cached together with the experience it was looked up for,
+     * so a lookup racing with {@link #addExperience(int)} can never leave a stale level behind.
+     *
+     * @return the level the character's experience reaches
+     */
+    @Override
+    public int getPotentialLevel() {
+        int experience = exp;
+        CachedLevel cached = potentialLvl;
+        if (cached.experience() == experience) {
+            return cached.level();
+        }
+        int level = LevelTable.of(cc).levelFor(experience);
+        potentialLvl = new CachedLevel(experience, level);
+        return level;
+    }
+
+    /**
+     * A potential level, with the experience it was looked up for.
+     * @param experience the experience
+     * @param level the level reached with the experience
+     */
+    private record CachedLevel(int experience, int level) {
+    }
+
+    /**
+     * Award experience to every player in a party.
+     * Each player is updated on its {@link InventoryExecutor} queue,
+     * and the party is saved as one batch once all players are updated.
+     *
+     * @param party the players to award experience to
+     * @param experience the experience each player gets
+     * @return a future completing when all players are updated
+     */
+    public static CompletableFuture<Void> awardExperience(
+            final Collection<PlayerInventory> party,
+            final int experience
+    ) {
+        List<PlayerInventory> players = List.copyOf(party);
+        CompletableFuture<?>[] updates = new CompletableFuture<?>[players.size()];
+        for (int i = 0; i < updates.length; i++) {
+            PlayerInventory player = players.get(i);
+            updates[i] = InventoryExecutor.submit(player, () -> {
+                player.addExperience(experience);
+                return null;
+            });
+        }
+        return CompletableFuture.allOf(updates).whenComplete((v, e) -> InventorySaver.markDirty(players));
+    }
+
     /**
      * Get the current character's class.
      *
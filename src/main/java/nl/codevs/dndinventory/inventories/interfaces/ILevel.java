@@ -1,6 +1,7 @@
 package nl.codevs.dndinventory.inventories.interfaces;
 
 import nl.codevs.dndinventory.data.Dice;
+import nl.codevs.dndinventory.data.DiceDistribution;
 
 import java.util.function.Function;
 
@@ -47,27 +48,10 @@ public interface ILevel {
 
     /**
      * Get character level.
-     * @return the current character's level
+     * @return the level the character's experience reaches, see {@link LevelTable#levelFor(int)}
      */
     default int getPotentialLevel() {
-        int[] xps = switch (getCharacterClass()) {
-            case FIGHTER -> XP_FIGHTER;
-            case PALADIN, RANGER -> XP_PALADIN_RANGER;
-            case MAGE, SPECIALIST -> XP_MAGE_SPECIALIST;
-            case CLERIC -> XP_CLERIC;
-            case DRUID -> XP_DRUID;
-            case THIEF, BARD -> XP_THIEF_BARD;
-        };
-        for (int i = 0; i < xps.length; i++) {
-            if (xps[i] < getExperience()) {
-                continue;
-            }
-            return i;
-        }
-        throw new RuntimeException(
-                "Potential level cannot be found for class/xp: "
-                        + getCharacterClass() + "/" + getExperience()
-                        + " because it exceeds " + xps[xps.length - 1]);
+        return LevelTable.of(getCharacterClass()).levelFor(getExperience());
     }
 
     /**
@@ -83,12 +67,27 @@ public interface ILevel {
      * @return {@link Dice} with the dice details for level-up health
      */
     default Dice getHitPointDice() {
-        return (switch (ClassGroup.of(getCharacterClass())) {
-            case WARRIOR -> WARRIOR_LEVEL_DICE;
-            case WIZARD  -> WIZARD_LEVEL_DICE;
-            case PRIEST  -> PRIEST_LEVEL_DICE;
-            case ROGUE   -> ROGUE_LEVEL_DICE;
-        }).apply(getPotentialLevel() - 1);
+        return ClassGroup.of(getCharacterClass()).hitPointDice(getPotentialLevel());
+    }
+
+    /**
+     * The distribution of the hit points rolled up to the current {@link #getPotentialLevel()}.
+     * @return the exact distribution of {@link #getHitPointDice()}
+     */
+    default DiceDistribution getHitPointDistribution() {
+        return DiceDistribution.of(getHitPointDice());
+    }
+
+    /**
+     * Compute the hit point distributions of every class group at levels 1 to 20,
+     * so {@link #getHitPointDistribution()} is answered from cache.
+     */
+    static void precomputeHitPointDistributions() {
+        for (ClassGroup group : ClassGroup.values()) {
+            for (int level = 1; level <= 20; level++) {
+                DiceDistribution.of(group.hitPointDice(level));
+            }
+        }
     }
 
     /**
@@ -133,13 +132,15 @@ public interface ILevel {
     };
     /**
      * Druid XP.
+     * The hierophant levels (17 and up) are listed as experience beyond level 16 in the rules,
+     * here they are added to the 3,500,000 of level 16.
      */
     int[] XP_DRUID = new int[]{
             0,          2_000,      4_000,      7_500,
             12_500,     20_000,     35_000,     60_000,
             90_000,     125_000,    200_000,    300_000,
             750_000,    1_500_000,  3_000_000,  3_500_000,
-            500_000,    1_000_000,  1_500_000,  2_000_000
+            4_000_000,  4_500_000,  5_000_000,  5_500_000
     };
     /**
      * Thief & Bard XP.
@@ -230,5 +231,19 @@ public interface ILevel {
                 case THIEF, BARD -> ROGUE;
             };
         }
+
+        /**
+         * Get the hit point dice of the group at a level.
+         * @param level the level
+         * @return {@link Dice} with the dice details for the health at the level
+         */
+        public Dice hitPointDice(final int level) {
+            return (switch (this) {
+                case WARRIOR -> WARRIOR_LEVEL_DICE;
+                case WIZARD  -> WIZARD_LEVEL_DICE;
+                case PRIEST  -> PRIEST_LEVEL_DICE;
+                case ROGUE   -> ROGUE_LEVEL_DICE;
+            }).apply(level - 1);
+        }
     }
 }
@@ -1,6 +1,7 @@
 package nl.codevs.dndinventory.inventories.interfaces;
 
 import nl.codevs.dndinventory.data.Money;
+import nl.codevs.dndinventory.data.MoneyMath;
 
 public interface IMoney extends IInterface {
 
@@ -22,19 +23,26 @@ public interface IMoney extends IInterface {
      * @return True if it can, false if not
      */
     default boolean canAfford(Money money) {
-        return money.getAsCP() <= getMoney().getAsCP();
+        return MoneyMath.compare(money.getValue(), getMoney().getValue()) <= 0;
     }
 
     /**
      * Pay a certain amount.
+     * The balance is checked and updated while holding this object's monitor,
+     * so concurrent payments (and tasks on the {@link nl.codevs.dndinventory.inventories.InventoryExecutor})
+     * cannot spend the same money twice.
      * @param amount The amount to pay
      * @throws TooPoorException When there are insufficient funds available
      */
     default void pay(Money amount) throws TooPoorException {
-        if (canAfford(amount)) {
-            setMoney(getMoney().subtract(amount));
-        } else {
-            throw new TooPoorException(amount.subtract(getMoney()));
+        synchronized (this) {
+            long balance = getMoney().getValue();
+            long price = amount.getValue();
+            if (MoneyMath.compare(price, balance) <= 0) {
+                setMoney(Money.ofCP(MoneyMath.subtract(balance, price)));
+            } else {
+                throw new TooPoorException(Money.ofCP(MoneyMath.subtract(price, balance)));
+            }
         }
     }
 
@@ -13,12 +13,6 @@ public interface IWeighted extends IInterface {
      * @return The amount of leftover space. Can be negative (over-encumbered)
      */
     default double getRemainingWeight() {
-        double weight = getInventory().getItems().stream()
-                .mapToDouble(i -> i.getAmount()
-                        * (i.getItem().weight == null
-                        ? 0
-                        : i.getItem().weight)
-                ).sum();
-        return getMaxWeight() - weight;
+        return getMaxWeight() - getInventory().getTotalWeight();
     }
 }
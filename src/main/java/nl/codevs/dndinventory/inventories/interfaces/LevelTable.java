@@ -0,0 +1,114 @@
+package nl.codevs.dndinventory.inventories.interfaces;
+
+import okhttp3.internal.annotations.EverythingIsNonNull;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Experience needed per level of a character class.
+ * <p>
+ * Tables are validated on creation: they start at 0 experience for level 1, and strictly increase.
+ * Past the last level in the table, every level takes as much experience as the last level did.
+ * Lookups use binary search.
+ */
+@EverythingIsNonNull
+public final class LevelTable {
+
+    /**
+     * Tables by character class.
+     */
+    private static final Map<ILevel.CharacterClass, LevelTable> TABLES = new EnumMap<>(ILevel.CharacterClass.class);
+
+    static {
+        for (ILevel.CharacterClass characterClass : ILevel.CharacterClass.values()) {
+            TABLES.put(characterClass, new LevelTable(switch (characterClass) {
+                case FIGHTER -> ILevel.XP_FIGHTER;
+                case PALADIN, RANGER -> ILevel.XP_PALADIN_RANGER;
+                case MAGE, SPECIALIST -> ILevel.XP_MAGE_SPECIALIST;
+                case CLERIC -> ILevel.XP_CLERIC;
+                case DRUID -> ILevel.XP_DRUID;
+                case THIEF, BARD -> ILevel.XP_THIEF_BARD;
+            }));
+        }
+    }
+
+    /**
+     * Experience needed for each level, index 0 is level 1.
+     */
+    private final int[] thresholds;
+
+    /**
+     * Experience needed per level past the table.
+     */
+    private final int increment;
+
+    /**
+     * Create a level table.
+     * @param experience experience needed for each level, starting at level 1. Copied.
+     * @throws IllegalArgumentException if the table does not start at 0, or does not strictly increase
+     */
+    public LevelTable(final int[] experience) throws IllegalArgumentException {
+        if (experience.length < 2 || experience[0] != 0) {
+            throw new IllegalArgumentException("Level table must start at 0 and have at least 2 levels: "
+                    + Arrays.toString(experience));
+        }
+        for (int i = 1; i < experience.length; i++) {
+            if (experience[i] <= experience[i - 1]) {
+                throw new IllegalArgumentException("Level table must strictly increase, but level " + (i + 1)
+                        + " needs " + experience[i] + " after " + experience[i - 1]);
+            }
+        }
+        thresholds = experience.clone();
+        increment = thresholds[thresholds.length - 1] - thresholds[thresholds.length - 2];
+    }
+
+    /**
+     * Get the level table of a character class.
+     * @param characterClass the character class
+     * @return the level table
+     */
+    public static LevelTable of(final ILevel.CharacterClass characterClass) {
+        return TABLES.get(characterClass);
+    }
+
+    /**
+     * Get the level reached with an amount of experience.
+     * @param experience the experience
+     * @return the level, at least 1
+     */
+    public int levelFor(final int experience) {
+        int last = thresholds[thresholds.length - 1];
+        if (experience >= last) {
+            return thresholds.length + (int) (((long) experience - last) / increment);
+        }
+        int index = Arrays.binarySearch(thresholds, experience);
+        // Not found gives -(insertion point) - 1, the insertion point is the amount of levels reached
+        return index >= 0 ? index + 1 : Math.max(1, -index - 1);
+    }
+
+    /**
+     * Get the experience needed for a level.
+     * @param level the level, at least 1
+     * @return the experience needed
+     * @throws IllegalArgumentException if the level is below 1
+     */
+    public long experienceFor(final int level) throws IllegalArgumentException {
+        if (level < 1) {
+            throw new IllegalArgumentException("Level must be at least 1, but is " + level);
+        }
+        if (level <= thresholds.length) {
+            return thresholds[level - 1];
+        }
+        return thresholds[thresholds.length - 1] + (long) (level - thresholds.length) * increment;
+    }
+
+    /**
+     * Get the amount of levels in the table. Higher levels continue at the last increment.
+     * @return the amount of levels
+     */
+    public int size() {
+        return thresholds.length;
+    }
+}
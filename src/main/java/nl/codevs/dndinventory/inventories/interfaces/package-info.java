@@ -10,6 +10,9 @@
  * <li>{@link nl.codevs.dndinventory.inventories.interfaces.ILevel}
  * An inventory with a level (experience, potential level and actual level)</li>
  *
+ * <li>{@link nl.codevs.dndinventory.inventories.interfaces.LevelTable}
+ * The validated experience needed per level of a character class</li>
+ *
  * <li>{@link nl.codevs.dndinventory.inventories.interfaces.IMoney}
  * An inventory with a value as worth</li>
  *
@@ -0,0 +1,268 @@
+package nl.codevs.dndinventory.inventories.serialization;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import nl.codevs.dndinventory.data.Money;
+import nl.codevs.dndinventory.inventories.AnimalsInventory;
+import nl.codevs.dndinventory.inventories.AnimalsInventory.Animal;
+import nl.codevs.dndinventory.inventories.Inventory;
+import nl.codevs.dndinventory.inventories.Inventory.InventoryItem;
+import nl.codevs.dndinventory.inventories.PlayerInventory;
+import nl.codevs.dndinventory.inventories.interfaces.ILevel.CharacterClass;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Streaming (de)serializer for {@link PlayerInventory} and {@link AnimalsInventory}.
+ * <p>
+ * Field names match the names of the inventory fields, so inventories saved before these adapters existed still load.
+ * The concrete type is written as {@code "type"} (the lowercase class name, like the inventory directories).
+ * When reading, inventories without a type are read as the requested type.
+ */
+public final class InventoryAdapter extends TypeAdapter<Inventory> {
+
+    /**
+     * Create a factory creating {@link InventoryAdapter}s for {@link Inventory} and its subclasses.
+     * @param money the adapter used for money
+     * @param items the adapter used for inventory items
+     * @return the factory
+     */
+    public static TypeAdapterFactory factory(final MoneyAdapter money, final InventoryItemAdapter items) {
+        return new TypeAdapterFactory() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> @Nullable TypeAdapter<T> create(final Gson gson, final TypeToken<T> type) {
+                if (!Inventory.class.isAssignableFrom(type.getRawType())) {
+                    return null;
+                }
+                return (TypeAdapter<T>) new InventoryAdapter(
+                        type.getRawType().asSubclass(Inventory.class),
+                        money,
+                        items
+                ).nullSafe();
+            }
+        };
+    }
+
+    /**
+     * The type read when the json does not specify one.
+     */
+    private final Class<? extends Inventory> defaultType;
+
+    /**
+     * Adapter for inventory money.
+     */
+    private final MoneyAdapter moneyAdapter;
+
+    /**
+     * Adapter for inventory items.
+     */
+    private final InventoryItemAdapter itemAdapter;
+
+    /**
+     * Create an inventory adapter.
+     * @param type the type read when the json does not specify one
+     * @param money the adapter used for money
+     * @param items the adapter used for inventory items
+     */
+    public InventoryAdapter(
+            final Class<? extends Inventory> type,
+            final MoneyAdapter money,
+            final InventoryItemAdapter items
+    ) {
+        defaultType = type;
+        moneyAdapter = money;
+        itemAdapter = items;
+    }
+
+    /**
+     * Get the type name of an inventory type.
+     * @param type the inventory type
+     * @return the type name
+     */
+    public static String typeName(final Class<? extends Inventory> type) {
+        return type.getSimpleName().toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public void write(final JsonWriter out, final Inventory value) throws IOException {
+        out.beginObject();
+        out.name("type").value(typeName(value.getClass()));
+        out.name("name").value(value.getName());
+        out.name("items").beginArray();
+        for (InventoryItem item : value.getItems()) {
+            itemAdapter.write(out, item);
+        }
+        out.endArray();
+
+        if (value instanceof PlayerInventory player) {
+            out.name("money");
+            moneyAdapter.write(out, player.getMoney());
+            out.name("str").value(player.getStrength());
+            out.name("dex").value(player.getDexterity());
+            out.name("con").value(player.getConstitution());
+            out.name("intl").value(player.getIntelligence());
+            out.name("wis").value(player.getWisdom());
+            out.name("chr").value(player.getCharisma());
+            out.name("com").value(player.getComplexion());
+            out.name("health").value(player.getHealth());
+            out.name("mHp").value(player.getMaxHealth());
+            out.name("cc").value(player.getCharacterClass().name());
+            out.name("exp").value(player.getExperience());
+            out.name("realLvl").value(player.getActualLevel());
+        } else if (value instanceof AnimalsInventory animals) {
+            out.name("money");
+            moneyAdapter.write(out, animals.getMoney());
+            out.name("animals").beginArray();
+            for (Animal animal : animals.getAnimals()) {
+                out.beginObject();
+                out.name("name").value(animal.getName());
+                out.name("carries").value(animal.getCarries());
+                out.name("stats").value(animal.getStats());
+                out.endObject();
+            }
+            out.endArray();
+        } else {
+            throw new JsonParseException("Cannot serialize inventory type " + value.getClass().getName());
+        }
+        out.endObject();
+    }
+
+    @Override
+    public Inventory read(final JsonReader in) throws IOException {
+        Class<? extends Inventory> type = defaultType;
+        String name = null;
+        List<InventoryItem> items = new ArrayList<>();
+        Money money = new Money();
+        List<Animal> animals = new ArrayList<>();
+        CharacterClass characterClass = CharacterClass.FIGHTER;
+        int str = 0;
+        int dex = 0;
+        int con = 0;
+        int intl = 0;
+        int wis = 0;
+        int chr = 0;
+        int com = 0;
+        int health = 0;
+        int maxHealth = 0;
+        int exp = 0;
+        int level = 0;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "type" -> type = fromTypeName(in.nextString());
+                case "name" -> name = in.nextString();
+                case "items" -> {
+                    in.beginArray();
+                    while (in.hasNext()) {
+                        InventoryItem item = itemAdapter.read(in);
+                        if (item != null) {
+                            items.add(item);
+                        }
+                    }
+                    in.endArray();
+                }
+                case "money" -> {
+                    Money read = moneyAdapter.read(in);
+                    money = read == null ? new Money() : read;
+                }
+                case "animals" -> {
+                    in.beginArray();
+                    while (in.hasNext()) {
+                        animals.add(readAnimal(in));
+                    }
+                    in.endArray();
+                }
+                case "str" -> str = in.nextInt();
+                case "dex" -> dex = in.nextInt();
+                case "con" -> con = in.nextInt();
+                case "intl" -> intl = in.nextInt();
+                case "wis" -> wis = in.nextInt();
+                case "chr" -> chr = in.nextInt();
+                case "com" -> com = in.nextInt();
+                case "health" -> health = in.nextInt();
+                case "mHp" -> maxHealth = in.nextInt();
+                case "cc" -> characterClass = CharacterClass.valueOf(in.nextString());
+                case "exp" -> exp = in.nextInt();
+                case "realLvl" -> level = in.nextInt();
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+
+        if (name == null) {
+            throw new JsonParseException("Inventory without name at " + in.getPath());
+        }
+        if (type == PlayerInventory.class) {
+            PlayerInventory player = new PlayerInventory(
+                    name, items, money, characterClass, exp, level, maxHealth,
+                    str, dex, con, intl, wis, chr, com
+            );
+            player.setHealth(health);
+            return player;
+        } else if (type == AnimalsInventory.class) {
+            return new AnimalsInventory(name, items, animals, money);
+        }
+        throw new JsonParseException("Cannot deserialize inventory type " + type.getName() + " at " + in.getPath());
+    }
+
+    /**
+     * Get the inventory type belonging to a type name.
+     * @param typeName the type name (see {@link #typeName(Class)})
+     * @return the inventory type
+     * @throws JsonParseException if the type name is unknown
+     */
+    private static Class<? extends Inventory> fromTypeName(final String typeName) throws JsonParseException {
+        if (typeName.equals(typeName(PlayerInventory.class))) {
+            return PlayerInventory.class;
+        } else if (typeName.equals(typeName(AnimalsInventory.class))) {
+            return AnimalsInventory.class;
+        }
+        throw new JsonParseException("Unknown inventory type: " + typeName);
+    }
+
+    /**
+     * Read an animal.
+     * @param in the reader
+     * @return the animal
+     * @throws IOException if reading fails
+     */
+    private static Animal readAnimal(final JsonReader in) throws IOException {
+        String name = "";
+        int carries = 0;
+        String stats = "";
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "name" -> name = in.nextString();
+                case "carries" -> carries = in.nextInt();
+                case "stats" -> stats = in.peek() == JsonToken.NULL ? nullToEmpty(in) : in.nextString();
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+        return new Animal(name, carries, stats);
+    }
+
+    /**
+     * Consume a json null, returning an empty string instead.
+     * @param in the reader
+     * @return an empty string
+     * @throws IOException if reading fails
+     */
+    private static String nullToEmpty(final JsonReader in) throws IOException {
+        in.nextNull();
+        return "";
+    }
+}
@@ -0,0 +1,33 @@
+package nl.codevs.dndinventory.inventories.serialization;
+
+import com.google.gson.GsonBuilder;
+import nl.codevs.dndinventory.data.Item;
+import nl.codevs.dndinventory.data.Money;
+import nl.codevs.dndinventory.inventories.Inventory.InventoryItem;
+
+/**
+ * Creates {@link GsonBuilder}s with all inventory adapters registered.
+ */
+public final class InventoryGson {
+
+    /**
+     * Create a builder with the {@link MoneyAdapter}, {@link ItemAdapter},
+     * {@link InventoryItemAdapter} and {@link InventoryAdapter} registered.
+     * @return a new builder
+     */
+    public static GsonBuilder builder() {
+        MoneyAdapter money = new MoneyAdapter();
+        ItemAdapter item = new ItemAdapter(money);
+        InventoryItemAdapter inventoryItem = new InventoryItemAdapter(item);
+        return new GsonBuilder()
+                .registerTypeAdapter(Money.class, money)
+                .registerTypeAdapter(Item.class, item)
+                .registerTypeAdapter(InventoryItem.class, inventoryItem)
+                .registerTypeAdapterFactory(InventoryAdapter.factory(money, inventoryItem))
+                .serializeNulls();
+    }
+
+    private InventoryGson() {
+        // Never called
+    }
+}
@@ -0,0 +1,70 @@
+package nl.codevs.dndinventory.inventories.serialization;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import nl.codevs.dndinventory.data.Item;
+import nl.codevs.dndinventory.inventories.Inventory.InventoryItem;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+
+/**
+ * Streaming (de)serializer for {@link InventoryItem}s.
+ */
+public final class InventoryItemAdapter extends TypeAdapter<InventoryItem> {
+
+    /**
+     * Adapter for the item type.
+     */
+    private final ItemAdapter itemAdapter;
+
+    /**
+     * Create an inventory item adapter.
+     * @param item the adapter used for the item type
+     */
+    public InventoryItemAdapter(final ItemAdapter item) {
+        itemAdapter = item;
+    }
+
+    @Override
+    public void write(final JsonWriter out, @Nullable final InventoryItem value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("item");
+        itemAdapter.write(out, value.getItem());
+        out.name("amount").value(value.getAmount());
+        out.name("loot").value(value.isLoot());
+        out.endObject();
+    }
+
+    @Override
+    public @Nullable InventoryItem read(final JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        Item item = null;
+        int amount = 0;
+        boolean loot = false;
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "item" -> item = itemAdapter.read(in);
+                case "amount" -> amount = in.nextInt();
+                case "loot" -> loot = in.nextBoolean();
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+        if (item == null) {
+            throw new JsonParseException("Inventory item without item at " + in.getPath());
+        }
+        return new InventoryItem(item, amount, loot);
+    }
+}
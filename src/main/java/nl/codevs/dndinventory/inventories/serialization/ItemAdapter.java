@@ -0,0 +1,104 @@
+package nl.codevs.dndinventory.inventories.serialization;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import nl.codevs.dndinventory.data.Item;
+import nl.codevs.dndinventory.data.ItemDatabase;
+import nl.codevs.dndinventory.data.ItemType;
+import nl.codevs.dndinventory.data.Money;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+
+/**
+ * Streaming (de)serializer for {@link Item}s.
+ * <p>
+ * Items are always written in full, and read back by content through {@link Item#makeGetItem},
+ * which resolves to the database instance when the database holds an equal item.
+ * Saved items therefore do not change when the database changes,
+ * and keep loading when another item with the same category and name is added.
+ * <p>
+ * Older files may contain references ({@code {"category": ..., "name": ...}}),
+ * which are resolved by name in the {@link ItemDatabase}.
+ */
+public final class ItemAdapter extends TypeAdapter<Item> {
+
+    /**
+     * Adapter for item worth.
+     */
+    private final MoneyAdapter moneyAdapter;
+
+    /**
+     * Create an item adapter.
+     * @param money the adapter used for the item worth
+     */
+    public ItemAdapter(final MoneyAdapter money) {
+        moneyAdapter = money;
+    }
+
+    @Override
+    public void write(final JsonWriter out, @Nullable final Item value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("category").value(value.category.name());
+        out.name("name").value(value.name);
+        out.name("worth");
+        moneyAdapter.write(out, value.worth);
+        out.name("weight").value(value.weight);
+        out.name("details").value(value.details);
+        out.endObject();
+    }
+
+    @Override
+    public @Nullable Item read(final JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        ItemType category = null;
+        String name = null;
+        Money worth = null;
+        Double weight = null;
+        String details = "";
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "category" -> category = ItemType.valueOf(in.nextString());
+                case "name" -> name = in.nextString();
+                case "worth" -> worth = moneyAdapter.read(in);
+                case "weight" -> {
+                    if (in.peek() == JsonToken.NULL) {
+                        in.nextNull();
+                    } else {
+                        weight = in.nextDouble();
+                    }
+                }
+                case "details" -> details = in.nextString();
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+
+        if (category == null || name == null) {
+            throw new JsonParseException("Item without category or name at " + in.getPath());
+        }
+
+        // Reference, written by older versions
+        if (worth == null) {
+            Item item = ItemDatabase.get(category, name);
+            if (item == null) {
+                throw new JsonParseException("Unknown item " + name + " (" + category.getName() + ") at " + in.getPath());
+            }
+            return item;
+        }
+
+        // Full item
+        return Item.makeGetItem(category, name, worth, weight, details, false);
+    }
+}
@@ -0,0 +1,61 @@
+package nl.codevs.dndinventory.inventories.serialization;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import nl.codevs.dndinventory.data.Money;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+
+/**
+ * Streaming (de)serializer for {@link Money}.
+ * Writes each coin type separately, so unsimplified money keeps its coins.
+ */
+public final class MoneyAdapter extends TypeAdapter<Money> {
+
+    @Override
+    public void write(final JsonWriter out, @Nullable final Money value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("cp").value(value.getCP());
+        out.name("sp").value(value.getSP());
+        out.name("ep").value(value.getEP());
+        out.name("gp").value(value.getGP());
+        out.name("pp").value(value.getPP());
+        out.name("simplify").value(value.isSimplify());
+        out.endObject();
+    }
+
+    @Override
+    public @Nullable Money read(final JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        int cp = 0;
+        int sp = 0;
+        int ep = 0;
+        int gp = 0;
+        int pp = 0;
+        boolean simplify = true;
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "cp" -> cp = in.nextInt();
+                case "sp" -> sp = in.nextInt();
+                case "ep" -> ep = in.nextInt();
+                case "gp" -> gp = in.nextInt();
+                case "pp" -> pp = in.nextInt();
+                case "simplify" -> simplify = in.nextBoolean();
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+        return new Money(cp, sp, ep, gp, pp, simplify);
+    }
+}
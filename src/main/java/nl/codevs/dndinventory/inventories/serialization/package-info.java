@@ -0,0 +1,19 @@
+/**
+ * Streaming json (de)serialization of inventories.
+ *
+ * <li>{@link nl.codevs.dndinventory.inventories.serialization.InventoryGson}
+ * creates Gson builders with all adapters registered</li>
+ *
+ * <li>{@link nl.codevs.dndinventory.inventories.serialization.InventoryAdapter}
+ * (de)serializes player and animal inventories</li>
+ *
+ * <li>{@link nl.codevs.dndinventory.inventories.serialization.InventoryItemAdapter}
+ * (de)serializes items in an inventory</li>
+ *
+ * <li>{@link nl.codevs.dndinventory.inventories.serialization.ItemAdapter}
+ * (de)serializes items in full, resolving them to item database instances by content</li>
+ *
+ * <li>{@link nl.codevs.dndinventory.inventories.serialization.MoneyAdapter}
+ * (de)serializes money</li>
+ */
+package nl.codevs.dndinventory.inventories.serialization;
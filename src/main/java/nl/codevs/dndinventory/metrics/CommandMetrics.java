@@ -0,0 +1,381 @@
+package nl.codevs.dndinventory.metrics;
+
+import okhttp3.internal.annotations.EverythingIsNonNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Latency and throughput metrics of commands.
+ * <p>
+ * Each command {@link #begin(String) invocation} is tracked on the thread handling it.
+ * Code running for the invocation records the time spent in each {@link Stage},
+ * and the invocation records its total latency when it {@link Invocation#finish(boolean) finishes}.
+ * Metrics are kept per command and stage in {@link LatencyHistogram}s,
+ * and written in the Prometheus text format by {@link #writePrometheus(StringBuilder)}.
+ */
+@EverythingIsNonNull
+public final class CommandMetrics {
+
+    /**
+     * Quantiles exported for each histogram.
+     */
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    /**
+     * Stages of handling a command.
+     */
+    public enum Stage {
+        /**
+         * Parsing parameters.
+         */
+        PARSE,
+        /**
+         * Running the command, including waiting for the inventory it modifies.
+         */
+        EXECUTE,
+        /**
+         * Saving modifications.
+         */
+        PERSIST,
+        /**
+         * Sending the reply.
+         */
+        REPLY,
+        /**
+         * From receiving the command until it finished.
+         */
+        TOTAL
+    }
+
+    /**
+     * Latencies by command and stage.
+     */
+    private static final Map<String, Map<Stage, LatencyHistogram>> LATENCIES = new ConcurrentHashMap<>();
+
+    /**
+     * Invocations by command.
+     */
+    private static final Map<String, LongAdder> INVOCATIONS = new ConcurrentHashMap<>();
+
+    /**
+     * Failed invocations by command.
+     */
+    private static final Map<String, LongAdder> FAILURES = new ConcurrentHashMap<>();
+
+    /**
+     * Other exported metrics.
+     */
+    private static final List<Metric> METRICS = new CopyOnWriteArrayList<>();
+
+    /**
+     * The invocation handled by the current thread, if any.
+     */
+    private static final ThreadLocal<Invocation> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Start tracking a command invocation on the current thread.
+     * @param command the command name
+     * @return the invocation
+     */
+    public static Invocation begin(final String command) {
+        Invocation invocation = new Invocation(command);
+        CURRENT.set(invocation);
+        return invocation;
+    }
+
+    /**
+     * Get the invocation handled by the current thread.
+     * @return the invocation, or null if the thread is not handling a command
+     */
+    public static @Nullable Invocation current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Add time to a stage of the invocation handled by the current thread.
+     * Does nothing if the thread is not handling a command.
+     * @param stage the stage
+     * @param nanos the time, in nanoseconds
+     */
+    public static void add(final Stage stage, final long nanos) {
+        Invocation invocation = CURRENT.get();
+        if (invocation != null) {
+            invocation.add(stage, nanos);
+        }
+    }
+
+    /**
+     * Record the duration of a stage, outside an invocation.
+     * @param command the command (or background task) name
+     * @param stage the stage
+     * @param nanos the duration, in nanoseconds
+     */
+    public static void record(final String command, final Stage stage, final long nanos) {
+        histogram(command, stage).record(nanos);
+    }
+
+    /**
+     * Get the latencies of a stage of a command.
+     * @param command the command name
+     * @param stage the stage
+     * @return the histogram
+     */
+    public static LatencyHistogram histogram(final String command, final Stage stage) {
+        return LATENCIES.computeIfAbsent(command, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(stage, k -> new LatencyHistogram());
+    }
+
+    /**
+     * Get the amount of finished invocations of a command.
+     * @param command the command name
+     * @return the amount of invocations
+     */
+    public static long getInvocations(final String command) {
+        LongAdder invocations = INVOCATIONS.get(command);
+        return invocations == null ? 0 : invocations.sum();
+    }
+
+    /**
+     * Get the amount of failed invocations of a command.
+     * @param command the command name
+     * @return the amount of failed invocations
+     */
+    public static long getFailures(final String command) {
+        LongAdder failures = FAILURES.get(command);
+        return failures == null ? 0 : failures.sum();
+    }
+
+    /**
+     * Export another metric.
+     * @param name the metric name
+     * @param type the Prometheus metric type ({@code gauge} or {@code counter})
+     * @param help the description of the metric
+     * @param value supplies the current value
+     */
+    public static void register(final String name, final String type, final String help, final DoubleSupplier value) {
+        METRICS.add(new Metric(name, type, help, value));
+    }
+
+    /**
+     * Write all metrics in the Prometheus text exposition format.
+     * Latencies are written as summaries in seconds.
+     * @param out the builder to write to
+     */
+    public static void writePrometheus(final StringBuilder out) {
+        out.append("# HELP dnd_command_latency_seconds Command latency by command and stage.\n");
+        out.append("# TYPE dnd_command_latency_seconds summary\n");
+        List<String> commands = new ArrayList<>(LATENCIES.keySet());
+        commands.sort(null);
+        for (String command : commands) {
+            for (Map.Entry<Stage, LatencyHistogram> entry : LATENCIES.get(command).entrySet()) {
+                String labels = "command=\"" + escape(command) + "\",stage=\""
+                        + entry.getKey().name().toLowerCase(Locale.ROOT) + "\"";
+                LatencyHistogram histogram = entry.getValue();
+                for (double quantile : QUANTILES) {
+                    out.append("dnd_command_latency_seconds{").append(labels)
+                            .append(",quantile=\"").append(quantile).append("\"} ")
+                            .append(seconds(histogram.getPercentile(quantile))).append('\n');
+                }
+                out.append("dnd_command_latency_seconds_sum{").append(labels).append("} ")
+                        .append(seconds(histogram.getSum())).append('\n');
+                out.append("dnd_command_latency_seconds_count{").append(labels).append("} ")
+                        .append(histogram.getCount()).append('\n');
+            }
+        }
+        writeCounters(out, "dnd_commands_total", "Finished command invocations.", INVOCATIONS);
+        writeCounters(out, "dnd_command_failures_total", "Failed command invocations.", FAILURES);
+        for (Metric metric : METRICS) {
+            out.append("# HELP ").append(metric.name()).append(' ').append(metric.help()).append('\n');
+            out.append("# TYPE ").append(metric.name()).append(' ').append(metric.type()).append('\n');
+            out.append(metric.name()).append(' ').append(metric.value().getAsDouble()).append('\n');
+        }
+    }
+
+    /**
+     * Write per-command counters.
+     * @param out the builder to write to
+     * @param name the metric name
+     * @param help the description of the metric
+     * @param counters the counters by command
+     */
+    private static void writeCounters(
+            final StringBuilder out,
+            final String name,
+            final String help,
+            final Map<String, LongAdder> counters
+    ) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(" counter\n");
+        counters.forEach((command, counter) -> out.append(name).append("{command=\"").append(escape(command))
+                .append("\"} ").append(counter.sum()).append('\n'));
+    }
+
+    /**
+     * Convert nanoseconds to seconds.
+     * @param nanos the nanoseconds
+     * @return the seconds
+     */
+    private static double seconds(final long nanos) {
+        return nanos / 1e9;
+    }
+
+    /**
+     * Escape a Prometheus label value.
+     * @param value the value
+     * @return the escaped value
+     */
+    private static String escape(final String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    /**
+     * An exported metric.
+     * @param name the metric name
+     * @param type the Prometheus metric type
+     * @param help the description of the metric
+     * @param value supplies the current value
+     */
+    private record Metric(String name, String type, String help, DoubleSupplier value) { }
+
+    /**
+     * A command invocation.
+     * An invocation may continue on other threads (see {@link #detach()}),
+     * so its stage times are thread-safe.
+     */
+    public static final class Invocation {
+
+        /**
+         * The command name.
+         */
+        private final String command;
+
+        /**
+         * When the invocation started, from {@link System#nanoTime()}.
+         */
+        private final long start = System.nanoTime();
+
+        /**
+         * Time spent per stage, in nanoseconds.
+         */
+        private final LongAdder[] stages = new LongAdder[Stage.values().length];
+
+        /**
+         * Whether the invocation continues after the handling thread is done.
+         */
+        private volatile boolean detached = false;
+
+        /**
+         * Whether the invocation has finished.
+         */
+        private volatile boolean finished = false;
+
+        /**
+         * Create an invocation.
+         * @param commandName the command name
+         */
+        private Invocation(final String commandName) {
+            command = commandName;
+            for (int i = 0; i < stages.length; i++) {
+                stages[i] = new LongAdder();
+            }
+        }
+
+        /**
+         * Get the command name.
+         * @return the command name
+         */
+        public String getCommand() {
+            return command;
+        }
+
+        /**
+         * Get the time since the invocation started.
+         * @return the elapsed time, in nanoseconds
+         */
+        public long elapsed() {
+            return System.nanoTime() - start;
+        }
+
+        /**
+         * Add time to a stage.
+         * @param stage the stage
+         * @param nanos the time, in nanoseconds
+         */
+        public void add(final Stage stage, final long nanos) {
+            stages[stage.ordinal()].add(nanos);
+        }
+
+        /**
+         * Get the time spent in a stage so far.
+         * @param stage the stage
+         * @return the time, in nanoseconds
+         */
+        public long get(final Stage stage) {
+            return stages[stage.ordinal()].sum();
+        }
+
+        /**
+         * Mark that the invocation continues after the handling thread is done,
+         * so the handling thread does not finish it. Whoever continues it must {@link #finish(boolean)} it.
+         * @return this invocation
+         */
+        public Invocation detach() {
+            detached = true;
+            return this;
+        }
+
+        /**
+         * Whether the invocation continues after the handling thread is done.
+         * @return true if detached
+         */
+        public boolean isDetached() {
+            return detached;
+        }
+
+        /**
+         * Finish the invocation, recording its stage and total latencies.
+         * Does nothing if the invocation already finished.
+         * @param failed true if the command failed
+         */
+        public synchronized void finish(final boolean failed) {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            if (CURRENT.get() == this) {
+                CURRENT.remove();
+            }
+            for (Stage stage : Stage.values()) {
+                long nanos = stage == Stage.TOTAL ? elapsed() : get(stage);
+                if (nanos > 0 || stage == Stage.TOTAL) {
+                    histogram(command, stage).record(nanos);
+                }
+            }
+            INVOCATIONS.computeIfAbsent(command, k -> new LongAdder()).increment();
+            if (failed) {
+                FAILURES.computeIfAbsent(command, k -> new LongAdder()).increment();
+            }
+        }
+
+        /**
+         * Stop tracking this invocation on the current thread, without finishing it.
+         */
+        public void release() {
+            if (CURRENT.get() == this) {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    private CommandMetrics() {
+        // Never called
+    }
+}
@@ -0,0 +1,45 @@
+package nl.codevs.dndinventory.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of instantiating all inventories of some types from their files.
+ */
+@Name("nl.codevs.dndinventory.InventoryLoad")
+@Label("Inventory Load")
+@Description("Instantiating all inventories of some types from their files")
+@Category({"DnD Inventory", "Persistence"})
+@StackTrace(false)
+public final class InventoryLoadEvent extends Event {
+
+    /**
+     * The loaded inventory types.
+     */
+    @Label("Types")
+    public String types;
+
+    /**
+     * The amount of inventories loaded.
+     */
+    @Label("Inventories")
+    public int inventories;
+
+    /**
+     * The amount of files that could not be loaded.
+     */
+    @Label("Failures")
+    public int failures;
+
+    /**
+     * The total size of the read files.
+     */
+    @Label("Bytes Read")
+    @DataAmount
+    public long bytes;
+}
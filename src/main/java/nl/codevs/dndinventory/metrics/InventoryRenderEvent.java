@@ -0,0 +1,52 @@
+package nl.codevs.dndinventory.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight recorder event of rendering an inventory table.
+ * Only renders slower than the threshold are recorded by default.
+ */
+@Name("nl.codevs.dndinventory.InventoryRender")
+@Label("Inventory Render")
+@Description("Rendering an inventory as a table")
+@Category({"DnD Inventory", "Rendering"})
+@Threshold("1 ms")
+@StackTrace(false)
+public final class InventoryRenderEvent extends Event {
+
+    /**
+     * The inventory name.
+     */
+    @Label("Inventory")
+    public String inventory;
+
+    /**
+     * The amount of rows in the table.
+     */
+    @Label("Rows")
+    public int rows;
+
+    /**
+     * The amount of rows rendered again, because their item changed.
+     */
+    @Label("Rows Rendered")
+    public int rendered;
+
+    /**
+     * Whether the cached table was returned.
+     */
+    @Label("Cached")
+    public boolean cached;
+
+    /**
+     * The length of the table.
+     */
+    @Label("Characters")
+    public int characters;
+}
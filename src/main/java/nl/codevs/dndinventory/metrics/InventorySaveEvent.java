@@ -0,0 +1,45 @@
+package nl.codevs.dndinventory.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of writing an inventory file.
+ */
+@Name("nl.codevs.dndinventory.InventorySave")
+@Label("Inventory Save")
+@Description("Writing an inventory file")
+@Category({"DnD Inventory", "Persistence"})
+@StackTrace(false)
+public final class InventorySaveEvent extends Event {
+
+    /**
+     * The inventory name.
+     */
+    @Label("Inventory")
+    public String inventory;
+
+    /**
+     * The amount of items in the inventory.
+     */
+    @Label("Items")
+    public int items;
+
+    /**
+     * The size of the written file.
+     */
+    @Label("Bytes Written")
+    @DataAmount
+    public long bytes;
+
+    /**
+     * Whether the file was written and moved in place.
+     */
+    @Label("Succeeded")
+    public boolean succeeded;
+}
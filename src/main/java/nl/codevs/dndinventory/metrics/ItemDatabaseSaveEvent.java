@@ -0,0 +1,39 @@
+package nl.codevs.dndinventory.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of writing the item database file.
+ */
+@Name("nl.codevs.dndinventory.ItemDatabaseSave")
+@Label("Item Database Save")
+@Description("Writing the item database file")
+@Category({"DnD Inventory", "Persistence"})
+@StackTrace(false)
+public final class ItemDatabaseSaveEvent extends Event {
+
+    /**
+     * The amount of items written.
+     */
+    @Label("Items")
+    public int items;
+
+    /**
+     * The size of the written file.
+     */
+    @Label("Bytes Written")
+    @DataAmount
+    public long bytes;
+
+    /**
+     * Whether the file was written and moved in place.
+     */
+    @Label("Succeeded")
+    public boolean succeeded;
+}
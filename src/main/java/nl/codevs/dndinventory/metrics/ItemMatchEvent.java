@@ -0,0 +1,46 @@
+package nl.codevs.dndinventory.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight recorder event of an item database search.
+ * Only searches slower than the threshold are recorded by default.
+ */
+@Name("nl.codevs.dndinventory.ItemMatch")
+@Label("Item Match")
+@Description("Search of the item database by name")
+@Category({"DnD Inventory", "Search"})
+@Threshold("5 ms")
+@StackTrace(false)
+public final class ItemMatchEvent extends Event {
+
+    /**
+     * The search input.
+     */
+    @Label("Query")
+    public String query;
+
+    /**
+     * The searched category, empty if all categories are searched.
+     */
+    @Label("Category")
+    public String category;
+
+    /**
+     * The amount of items scored against the input.
+     */
+    @Label("Items Scored")
+    public int scored;
+
+    /**
+     * The amount of items returned.
+     */
+    @Label("Results")
+    public int results;
+}
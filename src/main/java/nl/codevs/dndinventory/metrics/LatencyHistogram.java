@@ -0,0 +1,140 @@
+package nl.codevs.dndinventory.metrics;
+
+import okhttp3.internal.annotations.EverythingIsNonNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram of latencies, in nanoseconds, with a bounded relative error.
+ * <p>
+ * Like an HDR histogram, values are counted in buckets that are linear within each power of two:
+ * every power of two is split into {@link #SUB_BUCKETS} buckets, so a recorded value is known within 1/16 (6.25%)
+ * of itself, for any value from 1 ns to hundreds of years, in a fixed 960 counters.
+ * Recording is lock-free and allocates nothing.
+ */
+@EverythingIsNonNull
+public final class LatencyHistogram {
+
+    /**
+     * Log2 of the amount of buckets per power of two.
+     */
+    private static final int SUB_BUCKET_BITS = 4;
+
+    /**
+     * Amount of buckets per power of two.
+     */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Amount of buckets: values below {@link #SUB_BUCKETS} each have their own bucket,
+     * and every power of two above that has {@link #SUB_BUCKETS}.
+     */
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    /**
+     * Counts per bucket.
+     */
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    /**
+     * Amount of recorded values.
+     */
+    private final AtomicLong count = new AtomicLong();
+
+    /**
+     * Sum of recorded values.
+     */
+    private final AtomicLong sum = new AtomicLong();
+
+    /**
+     * Largest recorded value.
+     */
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Record a latency.
+     * @param nanos the latency, in nanoseconds (negative values are recorded as 0)
+     */
+    public void record(final long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucket(value));
+        count.incrementAndGet();
+        sum.addAndGet(value);
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Get the amount of recorded values.
+     * @return the count
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Get the sum of the recorded values.
+     * @return the sum, in nanoseconds
+     */
+    public long getSum() {
+        return sum.get();
+    }
+
+    /**
+     * Get the largest recorded value.
+     * @return the maximum, in nanoseconds, or 0 if nothing was recorded
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Get a percentile of the recorded values.
+     * @param percentile the percentile, between 0 and 1
+     * @return the highest value in the bucket holding the percentile (at most the maximum), in nanoseconds,
+     * or 0 if nothing was recorded
+     */
+    public long getPercentile(final double percentile) {
+        long total = count.get();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(highestValue(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * Get the bucket of a value.
+     * @param value the value, at least 0
+     * @return the bucket index
+     */
+    static int bucket(final long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+    }
+
+    /**
+     * Get the highest value counted in a bucket.
+     * @param bucket the bucket index
+     * @return the highest value
+     */
+    static long highestValue(final int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long sub = bucket % SUB_BUCKETS + SUB_BUCKETS;
+        return ((sub + 1) << shift) - 1;
+    }
+}
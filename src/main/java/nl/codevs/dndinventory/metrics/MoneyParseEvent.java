@@ -0,0 +1,40 @@
+package nl.codevs.dndinventory.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight recorder event of parsing money.
+ * Parsing is fast, so only parses slower than the threshold are recorded by default.
+ */
+@Name("nl.codevs.dndinventory.MoneyParse")
+@Label("Money Parse")
+@Description("Parsing money from a string")
+@Category({"DnD Inventory", "Parsing"})
+@Threshold("1 ms")
+@StackTrace(false)
+public final class MoneyParseEvent extends Event {
+
+    /**
+     * The length of the input.
+     */
+    @Label("Input Length")
+    public int length;
+
+    /**
+     * Whether the money is simplified.
+     */
+    @Label("Simplify")
+    public boolean simplify;
+
+    /**
+     * Whether the input was valid.
+     */
+    @Label("Valid")
+    public boolean valid;
+}
@@ -0,0 +1,92 @@
+package nl.codevs.dndinventory.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.internal.annotations.EverythingIsNonNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+
+/**
+ * HTTP endpoint serving the {@link CommandMetrics} in the Prometheus text format on {@code /metrics}.
+ * Meant to be bound to a local address, the endpoint has no authentication.
+ */
+@EverythingIsNonNull
+public final class PrometheusExporter {
+
+    /**
+     * Content type of the Prometheus text format.
+     */
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    /**
+     * The running server.
+     */
+    private final HttpServer server;
+
+    /**
+     * Create an exporter.
+     * @param httpServer the running server
+     */
+    private PrometheusExporter(final HttpServer httpServer) {
+        server = httpServer;
+    }
+
+    /**
+     * Start an exporter.
+     * @param address the address to bind to, port 0 picks a free port
+     * @return the running exporter
+     * @throws IOException if the server cannot be bound
+     */
+    public static PrometheusExporter start(final InetSocketAddress address) throws IOException {
+        HttpServer server = HttpServer.create(address, 0);
+        server.createContext("/metrics", PrometheusExporter::handle);
+        server.setExecutor(Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "Metrics exporter");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        server.start();
+        return new PrometheusExporter(server);
+    }
+
+    /**
+     * Respond to a scrape.
+     * @param exchange the request and response
+     * @throws IOException if the response cannot be written
+     */
+    private static void handle(final HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestMethod().equals("GET")) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            StringBuilder body = new StringBuilder();
+            CommandMetrics.writePrometheus(body);
+            byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    /**
+     * Get the address the exporter is bound to.
+     * @return the address
+     */
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    /**
+     * Stop the exporter.
+     */
+    public void stop() {
+        server.stop(0);
+    }
+}
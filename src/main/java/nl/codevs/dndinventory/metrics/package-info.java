@@ -0,0 +1,24 @@
+/**
+ * Metrics of the bot.
+ *
+ * <li>{@link nl.codevs.dndinventory.metrics.LatencyHistogram}
+ * is the histogram latencies are recorded in</li>
+ *
+ * <li>{@link nl.codevs.dndinventory.metrics.CommandMetrics}
+ * is the util class with the latencies and counters of commands</li>
+ *
+ * <li>{@link nl.codevs.dndinventory.metrics.PrometheusExporter}
+ * is the HTTP endpoint exporting the metrics to Prometheus</li>
+ *
+ * <li>{@link nl.codevs.dndinventory.metrics.ItemMatchEvent},
+ * {@link nl.codevs.dndinventory.metrics.ItemDatabaseSaveEvent},
+ * {@link nl.codevs.dndinventory.metrics.InventoryLoadEvent},
+ * {@link nl.codevs.dndinventory.metrics.InventorySaveEvent},
+ * {@link nl.codevs.dndinventory.metrics.InventoryRenderEvent} and
+ * {@link nl.codevs.dndinventory.metrics.MoneyParseEvent}
+ * are the flight recorder events of the search, persistence and rendering paths.
+ * They are enabled by default, so a continuous recording
+ * ({@code -XX:StartFlightRecording:disk=true,maxage=1h}) includes them.
+ * Fast, frequent events are only recorded above a threshold, which can be lowered in the recording settings.</li>
+ */
+package nl.codevs.dndinventory.metrics;
@@ -0,0 +1,90 @@
+import nl.codevs.dndinventory.discord.CommandDispatcher;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestCommandDispatcher {
+
+    @Test
+    public void testInFlightLimit() throws InterruptedException {
+        CommandDispatcher dispatcher = new CommandDispatcher(2);
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        Runnable blocking = () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        assertTrue(dispatcher.dispatch(blocking));
+        assertTrue(dispatcher.dispatch(blocking));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertFalse(dispatcher.dispatch(() -> { }));
+        assertEquals(2, dispatcher.getInFlight());
+        assertEquals(1, dispatcher.getRejected());
+
+        release.countDown();
+        CountDownLatch done = new CountDownLatch(1);
+        while (!dispatcher.dispatch(done::countDown)) {
+            Thread.onSpinWait();
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        dispatcher.shutdown();
+        assertEquals(3, dispatcher.getAccepted());
+        assertEquals(2, dispatcher.getPeakInFlight());
+        assertEquals(2, dispatcher.getMaxInFlight());
+    }
+
+    @Test
+    public void testFailureReleasesPermit() throws InterruptedException {
+        CommandDispatcher dispatcher = new CommandDispatcher(1);
+        assertTrue(dispatcher.dispatch(() -> {
+            throw new IllegalStateException("Expected test failure");
+        }));
+        CountDownLatch done = new CountDownLatch(1);
+        while (!dispatcher.dispatch(done::countDown)) {
+            Thread.onSpinWait();
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        dispatcher.shutdown();
+        assertEquals(1, dispatcher.getFailed());
+    }
+
+    @Test
+    public void testHoldUntilWorkCompletes() throws InterruptedException {
+        CommandDispatcher dispatcher = new CommandDispatcher(1);
+        CompletableFuture<String> work = new CompletableFuture<>();
+        CountDownLatch returned = new CountDownLatch(1);
+        assertTrue(dispatcher.dispatch(() -> {
+            CommandDispatcher.holdUntil(work);
+            returned.countDown();
+        }));
+        assertTrue(returned.await(5, TimeUnit.SECONDS));
+        assertFalse(dispatcher.dispatch(() -> { }));
+        assertEquals(1, dispatcher.getInFlight());
+
+        work.complete("done");
+        CountDownLatch done = new CountDownLatch(1);
+        while (!dispatcher.dispatch(done::countDown)) {
+            Thread.onSpinWait();
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        dispatcher.shutdown();
+        assertEquals(0, dispatcher.getFailed());
+    }
+
+    @Test
+    public void testHoldOutsideDispatcher() {
+        // Not on a dispatcher thread, nothing to hold
+        CommandDispatcher.holdUntil(new CompletableFuture<>());
+    }
+}
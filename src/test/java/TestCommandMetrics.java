@@ -0,0 +1,82 @@
+import nl.codevs.dndinventory.metrics.CommandMetrics;
+import nl.codevs.dndinventory.metrics.LatencyHistogram;
+import nl.codevs.dndinventory.metrics.PrometheusExporter;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestCommandMetrics {
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 10_000; i++) {
+            histogram.record(i * 1_000);
+        }
+        assertEquals(10_000, histogram.getCount());
+        assertEquals(10_000_000, histogram.getMax());
+        // Buckets are at most 1/16th wide
+        assertEquals(5_000_000, histogram.getPercentile(0.5), 5_000_000 / 16.0);
+        assertEquals(9_900_000, histogram.getPercentile(0.99), 9_900_000 / 16.0);
+        assertEquals(10_000_000, histogram.getPercentile(1));
+    }
+
+    @Test
+    public void testInvocation() {
+        CommandMetrics.Invocation invocation = CommandMetrics.begin("test invocation");
+        assertSame(invocation, CommandMetrics.current());
+        CommandMetrics.add(CommandMetrics.Stage.PARSE, 1_000);
+        CommandMetrics.add(CommandMetrics.Stage.PARSE, 2_000);
+        invocation.finish(true);
+        invocation.finish(true);
+        assertNull(CommandMetrics.current());
+        CommandMetrics.add(CommandMetrics.Stage.PARSE, 1_000);
+
+        assertEquals(1, CommandMetrics.getInvocations("test invocation"));
+        assertEquals(1, CommandMetrics.getFailures("test invocation"));
+        assertEquals(3_000, CommandMetrics.histogram("test invocation", CommandMetrics.Stage.PARSE).getSum());
+        assertEquals(1, CommandMetrics.histogram("test invocation", CommandMetrics.Stage.TOTAL).getCount());
+        assertEquals(0, CommandMetrics.histogram("test invocation", CommandMetrics.Stage.REPLY).getCount());
+    }
+
+    @Test
+    public void testExporter() throws IOException {
+        CommandMetrics.record("test export", CommandMetrics.Stage.PERSIST, 2_000_000);
+        CommandMetrics.register("dnd_test_gauge", "gauge", "Test gauge.", () -> 42);
+        PrometheusExporter exporter = PrometheusExporter.start(
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0)
+        );
+        try {
+            HttpURLConnection connection = (HttpURLConnection) new URL(
+                    "http://localhost:" + exporter.getAddress().getPort() + "/metrics"
+            ).openConnection();
+            assertEquals(200, connection.getResponseCode());
+            assertEquals(PrometheusExporter.CONTENT_TYPE, connection.getContentType());
+            String body;
+            try (InputStream in = connection.getInputStream()) {
+                body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+            assertTrue(body.contains("# TYPE dnd_command_latency_seconds summary\n"));
+            assertTrue(body.contains(
+                    "dnd_command_latency_seconds_count{command=\"test export\",stage=\"persist\"} 1\n"
+            ));
+            assertTrue(body.contains(
+                    "dnd_command_latency_seconds_sum{command=\"test export\",stage=\"persist\"} 0.002\n"
+            ));
+            assertTrue(body.contains("dnd_test_gauge 42.0\n"));
+        } finally {
+            exporter.stop();
+        }
+    }
+}
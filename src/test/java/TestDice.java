@@ -0,0 +1,102 @@
+import nl.codevs.dndinventory.data.Dice;
+import nl.codevs.dndinventory.data.DiceRoller;
+import org.junit.jupiter.api.Test;
+
+import java.security.InvalidParameterException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestDice {
+
+    @Test
+    public void testFromString() {
+        assertEquals(new Dice(6, 3, 2), Dice.fromString("3d6+2"));
+        assertEquals(new Dice(10, 9, 3), Dice.fromString(" 9 D 10 + 3 "));
+        assertEquals(new Dice(20, 1, 0), Dice.fromString("d20"));
+        assertEquals(new Dice(4, 2, -1), Dice.fromString("2d4-1"));
+        assertEquals(new Dice(8, 1, 1), Dice.fromString("1d8 + 2 - 1"));
+        assertEquals(new Dice(6, 0, 0), Dice.fromString("0d6"));
+    }
+
+    @Test
+    public void testFromStringToString() {
+        for (Dice dice : new Dice[]{new Dice(6, 3, 2), new Dice(4, 10, -3), new Dice(100, 1, 0)}) {
+            assertEquals(dice, Dice.fromString(dice.toString()));
+        }
+    }
+
+    @Test
+    public void testFromStringFails() {
+        for (String input : new String[]{"", "  ", "3", "3d", "3d0", "3x6", "3d6+", "3d6 2", "d6++2", "99999999999d6"}) {
+            assertThrows(InvalidParameterException.class, () -> Dice.fromString(input), input);
+        }
+        assertThrows(IllegalArgumentException.class, () -> new Dice(0, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new Dice(6, -1, 0));
+    }
+
+    @Test
+    public void testSeeded() {
+        Dice dice = new Dice(6, 3, 2);
+        assertArrayEquals(new DiceRoller(7).roll(dice, 100), new DiceRoller(7).roll(dice, 100));
+        int[] parallel = new int[100_000];
+        int[] again = new int[100_000];
+        new DiceRoller(7).rollParallel(dice, parallel);
+        new DiceRoller(7).rollParallel(dice, again);
+        assertArrayEquals(parallel, again);
+    }
+
+    @Test
+    public void testTableRolls() {
+        // 3d6 is drawn from its alias table
+        assertDistribution(new Dice(6, 3, 2));
+        assertDistribution(new Dice(10, 9, 3));
+    }
+
+    @Test
+    public void testBlockRolls() {
+        // Too many outcomes for one table, so the dice are split into blocks, or rolled separately
+        assertDistribution(new Dice(6, 1_000, 0));
+        assertDistribution(new Dice(10_000, 1, -5));
+    }
+
+    @Test
+    public void testFixedRolls() {
+        assertEquals(5, new DiceRoller(1).roll(new Dice(6, 0, 5)));
+        assertEquals(7, new DiceRoller(1).roll(new Dice(1, 4, 3)));
+        assertThrows(IllegalArgumentException.class, () -> new DiceRoller(1).roll(new Dice(1_000_000, 10_000, 0)));
+    }
+
+    @Test
+    public void testFaces() {
+        int[] faces = new int[60_000];
+        new DiceRoller(3).rollFaces(6, faces);
+        int[] counts = new int[7];
+        for (int face : faces) {
+            counts[face]++;
+        }
+        assertEquals(0, counts[0]);
+        for (int face = 1; face <= 6; face++) {
+            // Expected 10000 each, standard deviation about 91
+            assertEquals(10_000, counts[face], 500, "face " + face);
+        }
+    }
+
+    /**
+     * Roll dice many times, and check the range, mean and variance of the results.
+     * @param dice the dice
+     */
+    private static void assertDistribution(final Dice dice) {
+        int[] results = new DiceRoller(11).roll(dice, 200_000);
+        assertTrue(Arrays.stream(results).allMatch(r -> r >= dice.min() && r <= dice.max()), dice.toString());
+        double mean = Arrays.stream(results).average().orElseThrow();
+        double variance = Arrays.stream(results).mapToDouble(r -> (r - mean) * (r - mean)).sum() / results.length;
+        double expectedVariance = dice.amount() * ((double) dice.sides() * dice.sides() - 1) / 12;
+        double standardError = Math.sqrt(expectedVariance / results.length);
+        assertEquals(dice.mean(), mean, 5 * standardError, dice.toString());
+        assertEquals(expectedVariance, variance, expectedVariance * 0.02, dice.toString());
+    }
+}
@@ -0,0 +1,82 @@
+import nl.codevs.dndinventory.data.Dice;
+import nl.codevs.dndinventory.data.DiceDistribution;
+import nl.codevs.dndinventory.inventories.PlayerInventory;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TestDiceDistribution {
+
+    @Test
+    public void testExact() {
+        DiceDistribution distribution = DiceDistribution.of(new Dice(6, 3, 0));
+        assertEquals(3, distribution.getMin());
+        assertEquals(18, distribution.getMax());
+        assertEquals(1 / 216.0, distribution.probability(3), 1e-15);
+        assertEquals(27 / 216.0, distribution.probability(10), 1e-15);
+        assertEquals(0, distribution.probability(19));
+        assertEquals(1, distribution.cumulative(18), 1e-15);
+        assertEquals(108 / 216.0, distribution.cumulative(10), 1e-15);
+    }
+
+    @Test
+    public void testMoments() {
+        DiceDistribution distribution = DiceDistribution.of(new Dice(6, 3, 2));
+        assertEquals(12.5, distribution.getMean(), 1e-12);
+        assertEquals(35 / 4.0, distribution.getVariance(), 1e-12);
+
+        double[] pmf = distribution.getPmf();
+        double mean = 0;
+        double variance = 0;
+        for (int i = 0; i < pmf.length; i++) {
+            mean += pmf[i] * (distribution.getMin() + i);
+        }
+        for (int i = 0; i < pmf.length; i++) {
+            variance += pmf[i] * Math.pow(distribution.getMin() + i - mean, 2);
+        }
+        assertEquals(distribution.getMean(), mean, 1e-12);
+        assertEquals(distribution.getVariance(), variance, 1e-12);
+    }
+
+    @Test
+    public void testPercentile() {
+        DiceDistribution distribution = DiceDistribution.of(new Dice(6, 3, 2));
+        assertEquals(5, distribution.percentile(0));
+        assertEquals(12, distribution.percentile(0.5));
+        assertEquals(20, distribution.percentile(1));
+        assertThrows(IllegalArgumentException.class, () -> distribution.percentile(1.5));
+    }
+
+    @Test
+    public void testLargeMatchesBinomial() {
+        // 3000d2 has more outcomes than are convolved directly, its sum is binomial
+        int amount = 3000;
+        double[] pmf = DiceDistribution.of(new Dice(2, amount, 0)).getPmf();
+        assertEquals(amount + 1, pmf.length);
+        double logProbability = -amount * Math.log(2);
+        for (int k = 0; k <= amount; k++) {
+            double expected = Math.exp(logProbability);
+            assertEquals(expected, pmf[k], expected * 1e-9 + 1e-13, "k=" + k);
+            logProbability += Math.log((double) (amount - k) / (k + 1));
+        }
+    }
+
+    @Test
+    public void testCached() {
+        Dice dice = new Dice(8, 7, 4);
+        DiceDistribution distribution = DiceDistribution.of(dice);
+        int cached = DiceDistribution.cached();
+        assertSame(distribution, DiceDistribution.of(new Dice(8, 7, 4)));
+        assertEquals(cached, DiceDistribution.cached());
+    }
+
+    @Test
+    public void testHitPoints() {
+        PlayerInventory player = PlayerInventory.TEST_INVENTORY;
+        DiceDistribution hitPoints = player.getHitPointDistribution();
+        assertEquals(player.getHitPointDice(), hitPoints.getDice());
+        assertEquals(player.getHitPointDice().mean(), hitPoints.getMean(), 1e-12);
+    }
+}
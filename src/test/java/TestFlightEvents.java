@@ -0,0 +1,85 @@
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import nl.codevs.dndinventory.data.ItemDatabase;
+import nl.codevs.dndinventory.data.Money;
+import nl.codevs.dndinventory.inventories.Inventory;
+import nl.codevs.dndinventory.inventories.PlayerInventory;
+import nl.codevs.dndinventory.inventories.interfaces.ILevel;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestFlightEvents {
+
+    @Test
+    public void testEvents() throws IOException {
+        List<RecordedEvent> events;
+        Path file = Files.createTempFile("dndinventory", ".jfr");
+        try (Recording recording = new Recording()) {
+            for (String name : new String[]{"ItemMatch", "InventorySave", "InventoryRender", "MoneyParse"}) {
+                recording.enable("nl.codevs.dndinventory." + name).withThreshold(Duration.ZERO);
+            }
+            recording.start();
+
+            Money.fromString("5gp 3sp");
+            ItemDatabase.match(null, "short sword", 0.1, 5);
+            Inventory inventory = new PlayerInventory("Flight test player", new ArrayList<>(), new Money(1),
+                    ILevel.CharacterClass.FIGHTER, 0, 1, 10, 10, 10, 10, 10, 10, 10, 10);
+            try {
+                inventory.addItems(ItemDatabase.get().values().get(0), 2);
+                inventory.toString();
+                inventory.toString();
+                inventory.save(true);
+            } finally {
+                Inventory.LOADED_INVENTORIES.remove(inventory);
+                Files.deleteIfExists(Inventory.INVENTORY_DIRECTORY.toPath()
+                        .resolve("playerinventory").resolve("flight test player.json"));
+            }
+
+            recording.stop();
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        assertTrue(named(events, "MoneyParse").stream()
+                .anyMatch(e -> e.getInt("length") == 7 && e.getBoolean("valid")));
+
+        RecordedEvent match = only(events, "ItemMatch", 1).get(0);
+        assertEquals("short sword", match.getString("query"));
+        assertTrue(match.getInt("scored") >= match.getInt("results"));
+
+        List<RecordedEvent> renders = only(events, "InventoryRender", 2);
+        assertFalse(renders.get(0).getBoolean("cached"));
+        assertEquals(1, renders.get(0).getInt("rendered"));
+        assertTrue(renders.get(1).getBoolean("cached"));
+
+        RecordedEvent save = only(events, "InventorySave", 1).get(0);
+        assertEquals("Flight test player", save.getString("inventory"));
+        assertTrue(save.getBoolean("succeeded"));
+        assertTrue(save.getLong("bytes") > 0);
+    }
+
+    private static List<RecordedEvent> named(final List<RecordedEvent> events, final String name) {
+        return events.stream()
+                .filter(e -> e.getEventType().getName().equals("nl.codevs.dndinventory." + name))
+                .toList();
+    }
+
+    private static List<RecordedEvent> only(final List<RecordedEvent> events, final String name, final int expected) {
+        List<RecordedEvent> matching = named(events, name);
+        assertEquals(expected, matching.size(), name);
+        return matching;
+    }
+}
@@ -1,10 +1,20 @@
 import nl.codevs.dndinventory.data.*;
 import nl.codevs.dndinventory.inventories.Inventory;
 import nl.codevs.dndinventory.inventories.PlayerInventory;
+import nl.codevs.dndinventory.inventories.interfaces.ILevel;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
 public class TestInventory {
@@ -25,5 +35,122 @@ public class TestInventory {
         assertEquals(SUT.getItems().get(SUT.getItems().size() - 1).getItem().name, testItem.name);
     }
 
+    @Test
+    public void testAddMerges() {
+        Inventory inventory = emptyInventory();
+        Item item = Item.makeGetItem(ItemType.MISC, "Merge trinket", new Money(1), 1.0, "", false);
+        inventory.addItems(item, 2);
+        inventory.addItems(List.of(new Inventory.InventoryItem(item, 3), new Inventory.InventoryItem(testItem, 1)));
+        assertEquals(2, inventory.getItems().size());
+        assertEquals(5, inventory.getItem(item).getAmount());
+        assertTrue(inventory.contains(testItem));
+    }
+
+    @Test
+    public void testRemove() {
+        Inventory inventory = emptyInventory();
+        Item item = Item.makeGetItem(ItemType.MISC, "Remove trinket", new Money(1), 1.0, "", false);
+        inventory.addItems(item, 5);
+        inventory.addItems(testItem, 1);
+
+        assertNull(inventory.removeItem(item, 2));
+        assertEquals(3, inventory.getItem(item).getAmount());
+
+        Inventory.InventoryItem remaining = inventory.removeItem(item, 4);
+        assertNotNull(remaining);
+        assertEquals(1, remaining.getAmount());
+        assertFalse(inventory.contains(item));
+        assertEquals(1, inventory.getItems().size());
+
+        assertEquals(1, inventory.removeItemsBulk(List.of(new Inventory.InventoryItem(item, 1))).size());
+    }
+
+    @Test
+    public void testRemoveBulkSplitHolders() {
+        Inventory inventory = emptyInventory();
+        Item item = Item.makeGetItem(ItemType.MISC, "Split trinket", new Money(1), 1.0, "", false);
+        inventory.getItems().add(new Inventory.InventoryItem(item, 2));
+        inventory.getItems().add(new Inventory.InventoryItem(item, 2));
+
+        assertTrue(inventory.removeItemsBulk(List.of(new Inventory.InventoryItem(item, 3))).isEmpty());
+        assertEquals(1, inventory.getItems().size());
+        assertEquals(1, inventory.getItem(item).getAmount());
+
+        List<Inventory.InventoryItem> remaining = inventory.removeItemsBulk(List.of(new Inventory.InventoryItem(item, 4)));
+        assertEquals(1, remaining.size());
+        assertEquals(3, remaining.get(0).getAmount());
+        assertFalse(inventory.contains(item));
+    }
+
+    @Test
+    public void testRenderHoard() {
+        Inventory inventory = emptyInventory();
+        Item item = Item.makeGetItem(ItemType.MISC, "Hoard crown", new Money(1_000_000_000), 1.0, "", false);
+        inventory.addItems(item, 10);
+        assertTrue(inventory.toString().contains("10000000000gp"), inventory.toString());
+    }
+
+    @Test
+    public void testListViewUpdatesIndex() {
+        Inventory inventory = emptyInventory();
+        inventory.getItems().add(new Inventory.InventoryItem(testItem, 2));
+        assertTrue(inventory.contains(testItem));
+        inventory.getItems().remove(0);
+        assertFalse(inventory.contains(testItem));
+    }
+
+    @Test
+    public void testTotals() {
+        Inventory inventory = emptyInventory();
+        Item item = Item.makeGetItem(ItemType.MISC, "Total trinket", new Money(Money.Coin.SP, 3), 0.1, "", false);
+        inventory.addItems(item, 3);
+        inventory.addItems(testItem, 2);
+        assertEquals(5, inventory.getTotalAmount());
+        assertEquals(3 * 30 + 2 * 900, inventory.getTotalValue());
+        assertEquals(18.3, inventory.getTotalWeight());
+
+        inventory.getItem(testItem).setAmount(1);
+        inventory.removeItem(item, 1);
+        assertEquals(3, inventory.getTotalAmount());
+        assertEquals(2 * 30 + 900, inventory.getTotalValue());
+        assertEquals(9.2, inventory.getTotalWeight());
+
+        inventory.removeItemsBulk(List.of(new Inventory.InventoryItem(item, 5), new Inventory.InventoryItem(testItem, 1)));
+        assertEquals(0, inventory.getTotalAmount());
+        assertEquals(0, inventory.getTotalValue());
+        assertEquals(0, inventory.getTotalWeight());
+    }
+
+    @Test
+    public void testTable() {
+        Inventory inventory = emptyInventory();
+        inventory.addItems(testItem, 2);
+        String table = inventory.toString();
+        assertSame(table, inventory.toString());
+
+        inventory.addItems(Item.makeGetItem(ItemType.MISC, "Table trinket with a long name", new Money(1), 1.0, "", false), 1);
+        String changed = inventory.toString();
+        assertNotSame(table, changed);
+        assertTrue(changed.contains("Table trinket with a long name"));
+
+        String[] lines = changed.split("\n");
+        assertEquals("```asciidoc", lines[0]);
+        assertEquals("```", lines[lines.length - 1]);
+        // Separator, header, separator, 2 items, separator, totals
+        assertEquals(9, lines.length);
+        for (int i = 2; i < lines.length - 1; i++) {
+            assertEquals(lines[1].length(), lines[i].length());
+        }
+    }
+
+    private static Inventory emptyInventory() {
+        Inventory inventory = new PlayerInventory(
+                "Storage test", new ArrayList<>(), new Money(0), ILevel.CharacterClass.FIGHTER,
+                0, 1, 10, 1, 1, 1, 1, 1, 1, 1
+        );
+        Inventory.LOADED_INVENTORIES.remove(inventory);
+        return inventory;
+    }
+
     // TODO: TestInventoryItemSorter
 }
@@ -0,0 +1,90 @@
+import nl.codevs.dndinventory.data.Item;
+import nl.codevs.dndinventory.data.ItemType;
+import nl.codevs.dndinventory.data.Money;
+import nl.codevs.dndinventory.inventories.Inventory;
+import nl.codevs.dndinventory.inventories.InventoryExecutor;
+import nl.codevs.dndinventory.inventories.PlayerInventory;
+import nl.codevs.dndinventory.inventories.interfaces.ILevel;
+import nl.codevs.dndinventory.inventories.interfaces.IMoney;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class TestInventoryExecutor {
+
+    private static PlayerInventory player(String name, int gp) {
+        PlayerInventory player = new PlayerInventory(
+                name, new ArrayList<>(), new Money(gp), ILevel.CharacterClass.FIGHTER,
+                0, 1, 10, 1, 1, 1, 1, 1, 1, 1
+        );
+        Inventory.LOADED_INVENTORIES.remove(player);
+        return player;
+    }
+
+    @Test
+    public void testSerialPerInventory() {
+        PlayerInventory first = player("Executor first", 0);
+        PlayerInventory second = player("Executor second", 0);
+        Item item = Item.makeGetItem(ItemType.MISC, "Executor pebble", new Money(1), 1.0, "", false);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger overlaps = new AtomicInteger();
+
+        List<CompletableFuture<Void>> tasks = IntStream.range(0, 400).parallel()
+                .mapToObj(i -> {
+                    PlayerInventory target = i % 2 == 0 ? first : second;
+                    return InventoryExecutor.execute(target, () -> {
+                        if (target == first && running.incrementAndGet() > 1) {
+                            overlaps.incrementAndGet();
+                        }
+                        target.addItems(item, 1);
+                        if (target == first) {
+                            running.decrementAndGet();
+                        }
+                    });
+                })
+                .toList();
+        CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).join();
+
+        assertEquals(0, overlaps.get());
+        assertEquals(200, first.getItem(item).getAmount());
+        assertEquals(200, second.getItem(item).getAmount());
+        assertEquals(200, first.getTotalAmount());
+        assertFalse(InventoryExecutor.isBusy(first));
+    }
+
+    @Test
+    public void testOrder() {
+        PlayerInventory player = player("Executor order", 0);
+        List<Integer> order = new ArrayList<>();
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            int n = i;
+            tasks.add(InventoryExecutor.execute(player, () -> order.add(n)));
+        }
+        tasks.get(tasks.size() - 1).join();
+        assertEquals(IntStream.range(0, 100).boxed().toList(), order);
+    }
+
+    @Test
+    public void testPayRace() {
+        PlayerInventory player = player("Executor payer", 10);
+        AtomicInteger paid = new AtomicInteger();
+        IntStream.range(0, 100).parallel().forEach(i -> {
+            try {
+                player.pay(new Money(1));
+                paid.incrementAndGet();
+            } catch (IMoney.TooPoorException ignored) {
+                // Expected once the money runs out
+            }
+        });
+        assertEquals(10, paid.get());
+        assertEquals(0, player.getMoney().getValue());
+    }
+}
@@ -0,0 +1,80 @@
+import nl.codevs.dndinventory.data.Money;
+import nl.codevs.dndinventory.inventories.AnimalsInventory;
+import nl.codevs.dndinventory.inventories.Inventory;
+import nl.codevs.dndinventory.inventories.InventoryIndex;
+import nl.codevs.dndinventory.inventories.PlayerInventory;
+import nl.codevs.dndinventory.inventories.interfaces.ILevel;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestInventoryIndex {
+
+    private static File directory(Inventory... inventories) throws IOException {
+        File directory = Files.createTempDirectory("inventories").toFile();
+        directory.deleteOnExit();
+        for (Inventory inventory : inventories) {
+            Inventory.LOADED_INVENTORIES.remove(inventory);
+            File file = new File(directory, inventory.getName().toLowerCase() + ".json");
+            file.deleteOnExit();
+            Files.writeString(file.toPath(), inventory.toJson(false));
+        }
+        return directory;
+    }
+
+    @Test
+    public void testScanDoesNotLoad() throws IOException {
+        PlayerInventory first = new PlayerInventory(
+                "Index first", new ArrayList<>(), new Money(5), ILevel.CharacterClass.FIGHTER,
+                0, 1, 10, 1, 1, 1, 1, 1, 1, 1
+        );
+        PlayerInventory second = new PlayerInventory(
+                "Index second", new ArrayList<>(), new Money(7), ILevel.CharacterClass.THIEF,
+                0, 1, 10, 1, 1, 1, 1, 1, 1, 1
+        );
+        int loaded = Inventory.LOADED_INVENTORIES.size();
+        List<InventoryIndex.Entry> entries = new ArrayList<>(InventoryIndex.scan(directory(first, second), PlayerInventory.class));
+        entries.sort(Comparator.comparing(InventoryIndex.Entry::getName));
+        assertEquals(2, entries.size());
+        assertEquals("Index first", entries.get(0).getName());
+        assertEquals("Index second", entries.get(1).getName());
+        assertFalse(entries.get(0).isHydrated());
+        assertEquals(loaded - 2, Inventory.LOADED_INVENTORIES.size());
+    }
+
+    @Test
+    public void testHydrate() throws IOException {
+        AnimalsInventory animals = new AnimalsInventory(
+                "Index herd", new ArrayList<>(),
+                new ArrayList<>(List.of(new AnimalsInventory.Animal("Mule", 200, "slow"))), new Money(0)
+        );
+        InventoryIndex.Entry entry = InventoryIndex.scan(directory(animals), AnimalsInventory.class).get(0);
+        Inventory inventory = entry.get();
+        assertTrue(entry.isHydrated());
+        assertTrue(inventory instanceof AnimalsInventory);
+        assertEquals("Index herd", inventory.getName());
+        assertSame(inventory, entry.get());
+        Inventory.LOADED_INVENTORIES.remove(inventory);
+    }
+
+    @Test
+    public void testLegacyNameLast() throws IOException {
+        File directory = Files.createTempDirectory("inventories").toFile();
+        directory.deleteOnExit();
+        File file = new File(directory, "legacy.json");
+        file.deleteOnExit();
+        Files.writeString(file.toPath(), "{\"animals\":[{\"name\":\"Mule\",\"carries\":200,\"stats\":\"\"}],"
+                + "\"items\":[],\"name\":\"Legacy herd\"}");
+        assertEquals("Legacy herd", InventoryIndex.scan(directory, AnimalsInventory.class).get(0).getName());
+    }
+}
@@ -0,0 +1,113 @@
+import nl.codevs.dndinventory.data.Item;
+import nl.codevs.dndinventory.data.ItemDatabase;
+import nl.codevs.dndinventory.data.ItemType;
+import nl.codevs.dndinventory.data.Money;
+import nl.codevs.dndinventory.inventories.AnimalsInventory;
+import nl.codevs.dndinventory.inventories.Inventory;
+import nl.codevs.dndinventory.inventories.PlayerInventory;
+import nl.codevs.dndinventory.inventories.interfaces.ILevel;
+import org.junit.jupiter.api.Test;
+
+import javax.management.InstanceNotFoundException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestInventoryJson {
+
+    private static final Item CUSTOM = Item.makeGetItem(ItemType.MISC, "Json trinket", new Money(2), 0.5, "shiny", false);
+
+    private static Inventory roundTrip(Inventory inventory, boolean pretty) {
+        Inventory.LOADED_INVENTORIES.remove(inventory);
+        Inventory result = Inventory.fromJson(inventory.toJson(pretty));
+        Inventory.LOADED_INVENTORIES.remove(result);
+        return result;
+    }
+
+    @Test
+    public void testPlayerRoundTrip() throws InstanceNotFoundException {
+        Item known = ItemDatabase.fromName("Assegai");
+        List<Inventory.InventoryItem> items = new ArrayList<>(List.of(
+                new Inventory.InventoryItem(known, 3),
+                new Inventory.InventoryItem(CUSTOM, 1, true)
+        ));
+        PlayerInventory player = new PlayerInventory(
+                "Json player", items, new Money(Money.Coin.SP, 15, Money.Coin.CP, 3, Money.Coin.GP, 0, false),
+                ILevel.CharacterClass.DRUID, 2_500, 2, 12, 15, 13, 18, 9, 11, 10, 12
+        );
+        player.setHealth(7);
+
+        PlayerInventory read = (PlayerInventory) roundTrip(player, false);
+        assertEquals("Json player", read.getName());
+        assertEquals(ILevel.CharacterClass.DRUID, read.getCharacterClass());
+        assertEquals(2_500, read.getExperience());
+        assertEquals(7, read.getHealth());
+        assertEquals(15, read.getMoney().getSP());
+        assertEquals(2, read.getItems().size());
+        assertSame(known, read.getItems().stream().filter(i -> i.getAmount() == 3).findFirst().orElseThrow().getItem());
+        assertTrue(read.getItems().stream().anyMatch(i -> i.isLoot() && i.getItem().equals(CUSTOM)));
+    }
+
+    @Test
+    public void testKnownItemResolvesByContent() throws InstanceNotFoundException {
+        Item known = ItemDatabase.fromName("Assegai");
+        AnimalsInventory animals = new AnimalsInventory(
+                "Json herd",
+                new ArrayList<>(List.of(new Inventory.InventoryItem(known, 1))),
+                new ArrayList<>(List.of(AnimalsInventory.Animal.MULE)),
+                new Money(1)
+        );
+        Inventory.LOADED_INVENTORIES.remove(animals);
+        String compact = animals.toJson(false);
+        assertTrue(compact.contains("\"worth\""));
+        assertFalse(compact.contains("\n"));
+
+        AnimalsInventory read = (AnimalsInventory) roundTrip(animals, true);
+        assertEquals(250, read.getMaxWeight());
+        assertSame(known, read.getItems().get(0).getItem());
+    }
+
+    @Test
+    public void testSameNameAddedAfterSave() {
+        Item original = Item.makeGetItem(ItemType.MISC, "Json duplicate", new Money(1), 1.0, "", true);
+        AnimalsInventory animals = new AnimalsInventory(
+                "Json duplicate herd",
+                new ArrayList<>(List.of(new Inventory.InventoryItem(original, 2))),
+                new ArrayList<>(List.of(AnimalsInventory.Animal.MULE)),
+                new Money(1)
+        );
+        Inventory.LOADED_INVENTORIES.remove(animals);
+        String json = animals.toJson(false);
+
+        // Same category and name, different contents: the name no longer resolves to a single item
+        Item.makeGetItem(ItemType.MISC, "Json duplicate", new Money(5), 2.0, "heavier", true);
+        assertNull(ItemDatabase.get(ItemType.MISC, "Json duplicate"));
+
+        Inventory read = Inventory.fromJson(json);
+        Inventory.LOADED_INVENTORIES.remove(read);
+        assertSame(original, read.getItems().get(0).getItem());
+        assertEquals(2, read.getItems().get(0).getAmount());
+    }
+
+    @Test
+    public void testLegacyFormat() {
+        String legacy = "{\"money\":{\"cp\":1,\"sp\":2,\"ep\":0,\"gp\":3,\"pp\":0,\"simplify\":false},"
+                + "\"str\":15,\"dex\":13,\"con\":18,\"intl\":9,\"wis\":11,\"chr\":10,\"com\":12,"
+                + "\"health\":0,\"mHp\":39,\"cc\":\"FIGHTER\",\"exp\":8400,\"realLvl\":2,"
+                + "\"items\":[{\"item\":{\"category\":\"MISC\",\"name\":\"Legacy trinket\","
+                + "\"worth\":{\"cp\":0,\"sp\":0,\"ep\":0,\"gp\":1,\"pp\":0,\"simplify\":true},"
+                + "\"weight\":null,\"details\":\"\"},\"amount\":4,\"loot\":false}],"
+                + "\"name\":\"Legacy player\"}";
+        PlayerInventory read = Inventory.GSON.fromJson(legacy, PlayerInventory.class);
+        Inventory.LOADED_INVENTORIES.remove(read);
+        assertEquals("Legacy player", read.getName());
+        assertEquals(3, read.getMoney().getGP());
+        assertEquals(4, read.getItems().get(0).getAmount());
+        assertEquals("Legacy trinket", read.getItems().get(0).getItem().name);
+    }
+}
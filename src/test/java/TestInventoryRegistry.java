@@ -0,0 +1,68 @@
+import nl.codevs.dndinventory.data.Money;
+import nl.codevs.dndinventory.inventories.AnimalsInventory;
+import nl.codevs.dndinventory.inventories.Inventory;
+import nl.codevs.dndinventory.inventories.InventoryRegistry;
+import nl.codevs.dndinventory.inventories.PlayerInventory;
+import nl.codevs.dndinventory.inventories.interfaces.ILevel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestInventoryRegistry {
+
+    private static PlayerInventory player(String name) {
+        return new PlayerInventory(
+                name, new ArrayList<>(), new Money(0), ILevel.CharacterClass.FIGHTER,
+                0, 1, 10, 1, 1, 1, 1, 1, 1, 1
+        );
+    }
+
+    @Test
+    public void testLookups() {
+        InventoryRegistry registry = new InventoryRegistry();
+        PlayerInventory player = player("Registry Gandalf");
+        AnimalsInventory herd = new AnimalsInventory("Registry Shadowfax", new ArrayList<>(), new ArrayList<>(), new Money(0));
+        Inventory.LOADED_INVENTORIES.remove(player);
+        Inventory.LOADED_INVENTORIES.remove(herd);
+        registry.add(player);
+        registry.add(herd);
+
+        assertEquals(2, registry.size());
+        assertSame(player, registry.named("  registry GANDALF ").get(0));
+        assertTrue(registry.containsName("registry shadowfax"));
+        assertFalse(registry.containsName("registry"));
+        assertEquals(List.of(player), registry.find("DALF"));
+        assertEquals(List.of(herd), registry.find("fax"));
+        assertEquals(2, registry.find("registry").size());
+        assertEquals(2, registry.find("").size());
+        assertTrue(registry.find("frodo").isEmpty());
+        assertEquals(List.of(player), registry.ofType(PlayerInventory.class));
+        assertEquals(2, registry.ofType(Inventory.class).size());
+
+        assertTrue(registry.remove(player));
+        assertFalse(registry.remove(player));
+        assertFalse(registry.contains(player));
+        assertTrue(registry.find("dalf").isEmpty());
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    public void testConcurrentCreation() {
+        int before = Inventory.LOADED_INVENTORIES.size();
+        List<PlayerInventory> created = IntStream.range(0, 200).parallel()
+                .mapToObj(i -> player("Concurrent " + i))
+                .toList();
+        assertEquals(before + 200, Inventory.LOADED_INVENTORIES.size());
+        assertEquals(200, Inventory.LOADED_INVENTORIES.find("concurrent ").size());
+        assertEquals(111, Inventory.LOADED_INVENTORIES.find("concurrent 1").size());
+        created.forEach(Inventory.LOADED_INVENTORIES::remove);
+        assertEquals(before, Inventory.LOADED_INVENTORIES.size());
+    }
+}
@@ -0,0 +1,42 @@
+import nl.codevs.dndinventory.data.Money;
+import nl.codevs.dndinventory.inventories.Inventory;
+import nl.codevs.dndinventory.inventories.InventorySaver;
+import nl.codevs.dndinventory.inventories.PlayerInventory;
+import nl.codevs.dndinventory.inventories.interfaces.ILevel;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestInventorySaver {
+
+    @Test
+    public void testFlush() throws IOException {
+        PlayerInventory player = new PlayerInventory(
+                "Saver player", new ArrayList<>(), new Money(3), ILevel.CharacterClass.FIGHTER,
+                0, 1, 10, 1, 1, 1, 1, 1, 1, 1
+        );
+        Inventory.LOADED_INVENTORIES.remove(player);
+        File file = new File(Inventory.INVENTORY_DIRECTORY + "/playerinventory/saver player.json");
+        Files.deleteIfExists(file.toPath());
+
+        player.markDirty();
+        player.markDirty();
+        assertTrue(InventorySaver.isDirty(player));
+        assertFalse(file.exists());
+
+        InventorySaver.flush();
+        assertFalse(InventorySaver.isDirty(player));
+        assertTrue(file.exists());
+        Inventory saved = Inventory.fromJson(file);
+        Inventory.LOADED_INVENTORIES.remove(saved);
+        assertEquals(player.getName(), saved.getName());
+        Files.delete(file.toPath());
+    }
+}
@@ -4,6 +4,9 @@ import nl.codevs.dndinventory.data.Money;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 
 public class TestItem {
@@ -20,4 +23,20 @@ public class TestItem {
     public void testItemWeight() {
         assertEquals(9d, ITEM.weight);
     }
+
+    @Test
+    public void testInterned() {
+        Item copy = Item.makeGetItem(ItemType.WEAPONS, "Alhulak", new Money(Money.Coin.SP, 90), 9.0, "(SM) 1d6 (L) 1d6", false);
+        assertSame(ITEM, copy);
+    }
+
+    @Test
+    public void testNoAdditiveCollision() {
+        // Swapped name and details used to have the same (additive) hash, and were equal
+        Item a = Item.makeGetItem(ItemType.MISC, "Swap left", new Money(1), null, "Swap right", false);
+        Item b = Item.makeGetItem(ItemType.MISC, "Swap right", new Money(1), null, "Swap left", false);
+        assertNotEquals(a, b);
+        assertNotEquals(a.getFingerprint(), b.getFingerprint());
+        assertFalse(a.hasSameContents(b));
+    }
 }
@@ -1,13 +1,18 @@
+import nl.codevs.dndinventory.data.Item;
 import nl.codevs.dndinventory.data.ItemDatabase;
+import nl.codevs.dndinventory.data.ItemType;
 import nl.codevs.dndinventory.data.Money;
 import org.junit.jupiter.api.Test;
 
 import javax.management.InstanceAlreadyExistsException;
 import javax.management.InstanceNotFoundException;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class TestItemDatabase {
 
@@ -41,6 +46,36 @@ public class TestItemDatabase {
         assertEquals(new Money(5000).getAsGP(), ItemDatabase.match("Hunting cat").get(0).worth.getAsGP());
     }
 
+    @Test
+    public void testMatchingLimit() {
+        assertEquals(1, ItemDatabase.match(null, "sword", 0, 1).size());
+    }
+
+    @Test
+    public void testMatchingLimitIsPrefix() {
+        List<Item> all = ItemDatabase.match(null, "sword", 0.1);
+        assertEquals(all.subList(0, Math.min(all.size(), 2)), ItemDatabase.match(null, "sword", 0.1, 2));
+    }
+
+    @Test
+    public void testMatchingCategory() {
+        assertTrue(ItemDatabase.match(ItemType.ANIMALS, "sword", 0, 10).stream().allMatch(i -> i.category == ItemType.ANIMALS));
+    }
+
+    @Test
+    public void testCategoryCount() {
+        assertEquals(
+                ItemDatabase.get().values().stream().filter(i -> i.category == ItemType.WEAPONS).count(),
+                ItemDatabase.count(ItemType.WEAPONS)
+        );
+        assertEquals(ItemDatabase.count(ItemType.WEAPONS), ItemDatabase.get(ItemType.WEAPONS).size());
+    }
+
+    @Test
+    public void testCategoryRandom() {
+        assertEquals(ItemType.WEAPONS, ItemDatabase.random(ItemType.WEAPONS, new Random()).category);
+    }
+
     @Test
     public void testDuplicateItemAdd() {
         assertThrowsExactly(
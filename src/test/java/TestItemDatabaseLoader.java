@@ -0,0 +1,51 @@
+import nl.codevs.dndinventory.data.ItemDatabaseLoader;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestItemDatabaseLoader {
+
+    private static final String HEADER = "Category,Name,Value,Weight,Stats";
+
+    private static ItemDatabaseLoader.Result load(String content) throws IOException {
+        File file = File.createTempFile("itemdb", ".csv");
+        file.deleteOnExit();
+        try (FileWriter writer = new FileWriter(file)) {
+            writer.write(content);
+        }
+        return ItemDatabaseLoader.load(file, HEADER, ',');
+    }
+
+    @Test
+    public void testLoadValid() throws IOException {
+        ItemDatabaseLoader.Result result = load(HEADER + "\nWeapons,Dagger,2.0,1.0,(SM) 1d4\nAnimals,Ox,15.0,null,\n");
+        assertTrue(result.hasHeader());
+        assertEquals(2, result.items().size());
+        assertEquals(3, result.lines());
+        assertEquals("Dagger", result.items().get(0).name);
+    }
+
+    @Test
+    public void testLoadCollectsErrors() throws IOException {
+        ItemDatabaseLoader.Result result = load(HEADER + "\nWeapons,Dagger\nNope,Ox,15.0,null,\nWeapons,Club,x,1,\nWeapons,Axe,1,1,\n");
+        assertEquals(1, result.items().size());
+        assertEquals(3, result.errors().size());
+        assertEquals(2, result.errors().get(0).line());
+    }
+
+    @Test
+    public void testStatsKeepSeparators() throws IOException {
+        ItemDatabaseLoader.Result result = load(HEADER + "\nWeapons,Dagger,2.0,1.0,(SM) 1d4, (L) 1d3\n");
+        assertEquals("(SM) 1d4, (L) 1d3", result.items().get(0).details);
+    }
+
+    @Test
+    public void testMissingHeader() throws IOException {
+        assertTrue(!load("Weapons,Dagger,2.0,1.0,\n").hasHeader());
+    }
+}
@@ -0,0 +1,38 @@
+import nl.codevs.dndinventory.data.Item;
+import nl.codevs.dndinventory.data.ItemIndex;
+import nl.codevs.dndinventory.data.ItemType;
+import nl.codevs.dndinventory.data.Money;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestItemIndex {
+
+    private static final Item SWORD = Item.makeGetItem(ItemType.WEAPONS, "Index sword", new Money(1), null, "", false);
+    private static final Item SHIELD = Item.makeGetItem(ItemType.ARMOR, "Index shield", new Money(1), null, "", false);
+
+    @Test
+    public void testCandidatesShareGram() {
+        ItemIndex index = new ItemIndex();
+        index.add(SWORD);
+        index.add(SHIELD);
+        assertEquals(2, index.candidates("INDEX").size());
+        assertTrue(index.candidates("word").contains(SWORD));
+        assertFalse(index.candidates("word").contains(SHIELD));
+    }
+
+    @Test
+    public void testCandidatesNoMatch() {
+        ItemIndex index = new ItemIndex();
+        index.add(SWORD);
+        assertTrue(index.candidates("qq").isEmpty());
+    }
+
+    @Test
+    public void testIndexable() {
+        assertFalse(ItemIndex.isIndexable("a"));
+        assertTrue(ItemIndex.isIndexable("ab"));
+    }
+}
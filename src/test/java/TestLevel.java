@@ -1,7 +1,20 @@
+import nl.codevs.dndinventory.data.Money;
+import nl.codevs.dndinventory.inventories.Inventory;
+import nl.codevs.dndinventory.inventories.InventorySaver;
 import nl.codevs.dndinventory.inventories.PlayerInventory;
+import nl.codevs.dndinventory.inventories.interfaces.ILevel;
+import nl.codevs.dndinventory.inventories.interfaces.LevelTable;
 import org.junit.jupiter.api.Test;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class TestLevel {
     /**
@@ -24,4 +37,77 @@ public class TestLevel {
     public void testTrainableLevels() {
         assertEquals(2, PlayerInventory.TEST_INVENTORY.getTrainableLevels());
     }
+
+    @Test
+    public void testLevelTable() {
+        LevelTable fighter = LevelTable.of(ILevel.CharacterClass.FIGHTER);
+        assertEquals(1, fighter.levelFor(0));
+        assertEquals(1, fighter.levelFor(1_999));
+        assertEquals(2, fighter.levelFor(2_000));
+        assertEquals(20, fighter.levelFor(3_000_000));
+        // Past the table, every level takes the last increment
+        assertEquals(21, fighter.levelFor(3_250_000));
+        assertEquals(3_500_000, fighter.experienceFor(22));
+        assertEquals(22, fighter.levelFor(Math.toIntExact(fighter.experienceFor(22))));
+    }
+
+    @Test
+    public void testLevelTablesIncrease() {
+        for (ILevel.CharacterClass characterClass : ILevel.CharacterClass.values()) {
+            LevelTable table = LevelTable.of(characterClass);
+            for (int level = 1; level < table.size() + 5; level++) {
+                long experience = table.experienceFor(level);
+                assertTrue(table.experienceFor(level + 1) > experience, characterClass + " " + level);
+                assertEquals(level, table.levelFor((int) experience), characterClass + " " + level);
+                if (level > 1) {
+                    assertEquals(level - 1, table.levelFor((int) experience - 1), characterClass + " " + level);
+                }
+            }
+        }
+        assertEquals(17, LevelTable.of(ILevel.CharacterClass.DRUID).levelFor(4_000_000));
+    }
+
+    @Test
+    public void testInvalidLevelTable() {
+        assertThrows(IllegalArgumentException.class, () -> new LevelTable(new int[]{0, 100, 50}));
+        assertThrows(IllegalArgumentException.class, () -> new LevelTable(new int[]{10, 100}));
+        assertThrows(IllegalArgumentException.class, () -> new LevelTable(new int[]{0}));
+    }
+
+    @Test
+    public void testPotentialLevelCache() {
+        PlayerInventory player = player("Level cache player");
+        assertEquals(1, player.getPotentialLevel());
+        player.addExperience(4_000);
+        assertEquals(3, player.getPotentialLevel());
+        player.addExperience(4_000_000);
+        assertEquals(24, player.getPotentialLevel());
+    }
+
+    @Test
+    public void testAwardExperience() throws IOException {
+        List<PlayerInventory> party = List.of(player("Party player 1"), player("Party player 2"));
+        PlayerInventory.awardExperience(party, 2_500).join();
+        for (PlayerInventory player : party) {
+            assertEquals(2_500, player.getExperience());
+            assertEquals(2, player.getPotentialLevel());
+            assertTrue(InventorySaver.isDirty(player));
+        }
+        InventorySaver.flush();
+        for (PlayerInventory player : party) {
+            File file = new File(Inventory.INVENTORY_DIRECTORY + "/playerinventory/"
+                    + player.getName().toLowerCase() + ".json");
+            assertTrue(file.exists());
+            Files.delete(file.toPath());
+        }
+    }
+
+    private static PlayerInventory player(final String name) {
+        PlayerInventory player = new PlayerInventory(
+                name, new ArrayList<>(), new Money(0), ILevel.CharacterClass.FIGHTER,
+                0, 1, 10, 1, 1, 1, 1, 1, 1, 1
+        );
+        Inventory.LOADED_INVENTORIES.remove(player);
+        return player;
+    }
 }
@@ -1,7 +1,14 @@
 import nl.codevs.dndinventory.data.Money;
+import nl.codevs.dndinventory.data.MoneyMath;
 import org.junit.jupiter.api.Test;
 
+import java.security.InvalidParameterException;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
 public class TestMoney {
@@ -56,6 +63,13 @@ public class TestMoney {
         assertEquals(new Money(Money.Coin.CP, 1, Money.Coin.GP, 10, Money.Coin.PP, 1).getAsGP(), 15.01);
     }
 
+    @Test
+    public void fractionalRounding() {
+        assertEquals(1, new Money(Money.Coin.CP, 0.6).getAsCP());
+        assertEquals("3gp 3sp 3cp", new Money(10 / 3d).toString());
+        assertThrows(IllegalArgumentException.class, () -> new Money(-1.5));
+    }
+
     @Test
     public void valueToString() {
         assertEquals(Money.fromString("10gp").toString(), "10gp");
@@ -90,4 +104,75 @@ public class TestMoney {
     public void testFromValueAndFactor() {
         assertEquals(15, Money.fromValueAndFactor(new Money(Money.Coin.SP, 2), 0.75).getAsCP());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testLargeValue() {
+        // 50 million gp does not fit an int amount of CP
+        Money hoard = Money.ofCP(5_000_000_000L);
+        assertEquals(50_000_000, hoard.getGP());
+        assertEquals(5_000_000_000L, hoard.getValue());
+        assertThrows(ArithmeticException.class, hoard::getAsCP);
+    }
+
+    @Test
+    public void testMath() {
+        assertEquals(150, MoneyMath.add(100, 50));
+        assertEquals(-50, MoneyMath.subtract(50, 100));
+        assertEquals(38, MoneyMath.scale(50, 0.75));
+        assertTrue(MoneyMath.compare(10, 20) < 0);
+        assertThrows(ArithmeticException.class, () -> MoneyMath.multiply(Long.MAX_VALUE, 2));
+    }
+
+    @Test
+    public void testFormat() {
+        assertEquals("1gp 5sp 3cp", MoneyMath.format(153));
+        assertEquals("0gp", MoneyMath.format(0));
+        assertEquals("300000000000gp 5cp", MoneyMath.format(30_000_000_000_005L));
+        assertEquals(Money.fromString("15151cp").toString(), MoneyMath.format(15151));
+    }
+
+    @Test
+    public void testSubtract() {
+        assertEquals("1gp 5sp", new Money(2).subtract(Money.fromString("5sp")).toString());
+        assertThrows(IllegalArgumentException.class, () -> new Money(1).subtract(new Money(2)));
+    }
+
+    @Test
+    public void testWithSimplify() {
+        Money money = new Money(Money.Coin.SP, 15, Money.Coin.CP, 3, Money.Coin.GP, 0, false);
+        assertSame(money, money.withSimplify(false));
+        assertEquals("1gp 5sp 3cp", money.withSimplify(true).toString());
+        assertEquals("15sp 3cp", money.toString());
+    }
+
+    @Test
+    public void testFromStringFormats() {
+        assertEquals(500 + 60 + 4_500, Money.fromString("5gp 6sp 9pp").getValue());
+        assertEquals(500, Money.fromString("5g").getValue());
+        assertEquals(50_000, Money.fromString("500").getValue());
+        assertEquals(1_500, Money.fromString("5gp 5gp 5gp").getValue());
+        assertEquals(500 + 50 + 5 + 2_500, Money.fromString("5gp5sp5cp5pp").getValue());
+        assertEquals(250, Money.fromString("2,5 GP").getValue());
+        assertEquals(50, Money.fromString(".5g").getValue());
+    }
+
+    @Test
+    public void testFromStringNotSimplified() {
+        Money money = Money.fromString("1.5gp 3pp", false);
+        assertEquals(1, money.getGP());
+        assertEquals(1, money.getEP());
+        assertEquals(3, money.getPP());
+        assertFalse(money.isSimplify());
+    }
+
+    @Test
+    public void testFromStringErrors() {
+        InvalidParameterException e = assertThrows(InvalidParameterException.class, () -> Money.fromString("5gp 6xp"));
+        assertTrue(e.getMessage().contains("position 6"), e.getMessage());
+        assertThrows(InvalidParameterException.class, () -> Money.fromString(""));
+        assertThrows(InvalidParameterException.class, () -> Money.fromString("5gp 3"));
+        assertThrows(InvalidParameterException.class, () -> Money.fromString("5.gp"));
+        assertThrows(InvalidParameterException.class, () -> Money.fromString("0.001gp"));
+        assertThrows(InvalidParameterException.class, () -> Money.fromString("99999999999999999999gp"));
+    }
+}
@@ -1,6 +1,14 @@
+import nl.codevs.dndinventory.data.Item;
+import nl.codevs.dndinventory.data.ItemType;
+import nl.codevs.dndinventory.data.Money;
+import nl.codevs.dndinventory.inventories.AnimalsInventory;
+import nl.codevs.dndinventory.inventories.Inventory;
 import nl.codevs.dndinventory.inventories.PlayerInventory;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 public class TestWeighted {
@@ -8,4 +16,18 @@ public class TestWeighted {
     public void testWeightedMaxWeight() {
         assertEquals(55, PlayerInventory.TEST_INVENTORY.getMaxWeight());
     }
+
+    @Test
+    public void testHerdCapacity() {
+        AnimalsInventory herd = new AnimalsInventory(
+                "Weighted herd", new ArrayList<>(), new ArrayList<>(List.of(AnimalsInventory.Animal.MULE)), new Money(0)
+        );
+        Inventory.LOADED_INVENTORIES.remove(herd);
+        herd.addAnimal(AnimalsInventory.Animal.HORSE);
+        assertEquals(500, herd.getMaxWeight());
+        herd.addItems(Item.makeGetItem(ItemType.MISC, "Weighted sack", new Money(1), 12.5, "", false), 2);
+        assertEquals(475, herd.getRemainingWeight());
+        herd.removeAnimal(AnimalsInventory.Animal.MULE);
+        assertEquals(250, herd.getMaxWeight());
+    }
 }